@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * <p>A ZIP archive which receives all of the output of a batch run, instead of writing one file per input line.
+ * Entries are written sequentially, as they are produced, and are named using the batch output file name template,
+ * normalized to a relative path (see {@link #entryName(String)}). Adding two entries with the same name fails.
+ *
+ * <p>When the archive is closed, an <code>index.csv</code> entry is added, which maps each input line number to the
+ * name of the archive entry containing its symbol (lines which could not be encoded are not listed). Only the line
+ * numbers are kept in memory until then, since the entry names can be recalculated from the template. Entry names
+ * are quoted in the index wherever necessary, as described in RFC 4180.
+ *
+ * <p>If the batch run fails, the archive should be {@link #abort() aborted} before it is closed, in which case the
+ * index is not written: an archive without an index is the output of an incomplete run.
+ */
+class BatchArchive implements Closeable {
+
+    /** The name of the index entry. */
+    static final String INDEX = "index.csv";
+
+    private final Settings settings;
+    private final ZipOutputStream zip;
+    private final BitSet lines = new BitSet();
+    private boolean aborted;
+
+    /**
+     * Creates a new batch archive, writing to the specified file.
+     *
+     * @param settings the batch settings, used to recalculate the entry names for the index
+     * @param file the archive file to create
+     * @throws IOException if the file cannot be created
+     */
+    BatchArchive(Settings settings, File file) throws IOException {
+        this.settings = settings;
+        this.zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    }
+
+    /**
+     * Adds the output for the specified input line to the archive. Formats which are already compressed are stored
+     * as-is, rather than being compressed a second time.
+     *
+     * @param line the input line number (starting at 1)
+     * @param name the output file name, which is normalized to obtain the archive entry name
+     * @param data the entry content
+     * @throws IOException if there is an I/O error, or if the archive already contains an entry with the same name
+     */
+    void add(int line, String name, byte[] data) throws IOException {
+        ZipEntry entry = new ZipEntry(entryName(name));
+        if (isCompressed(MakeBarcode.getExtension(name))) {
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(data.length);
+            entry.setCompressedSize(data.length);
+            entry.setCrc(crc.getValue());
+        }
+        zip.putNextEntry(entry);
+        zip.write(data);
+        zip.closeEntry();
+        lines.set(line);
+    }
+
+    /**
+     * Marks the batch run as failed, so that the index is not written when the archive is closed.
+     */
+    void abort() {
+        aborted = true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (aborted) {
+                return;
+            }
+            zip.putNextEntry(new ZipEntry(INDEX));
+            StringBuilder sb = new StringBuilder("line,entry\n");
+            for (int line = lines.nextSetBit(0); line >= 0; line = lines.nextSetBit(line + 1)) {
+                sb.append(line).append(',').append(quote(entryName(OkapiBarcode.calcFileName(settings, line)))).append('\n');
+                if (sb.length() > 8192) {
+                    zip.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+                    sb.setLength(0);
+                }
+            }
+            zip.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        } finally {
+            zip.close();
+        }
+    }
+
+    /**
+     * Returns the archive entry name to use for the specified output file name: a relative path using <code>/</code>
+     * as the separator, without any drive letter, root, <code>.</code> or <code>..</code> segments, so that the
+     * archive cannot be used to write files outside of the directory it is extracted to.
+     *
+     * @param fileName the output file name
+     * @return the corresponding archive entry name
+     */
+    static String entryName(String fileName) {
+        String path = fileName.replace('\\', '/');
+        if (path.length() >= 2 && path.charAt(1) == ':') {
+            path = path.substring(2);
+        }
+        List< String > segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (segment.equals("..")) {
+                if (!segments.isEmpty()) {
+                    segments.remove(segments.size() - 1);
+                }
+            } else if (!segment.isEmpty() && !segment.equals(".")) {
+                segments.add(segment);
+            }
+        }
+        StringBuilder sb = new StringBuilder(path.length());
+        for (String segment : segments) {
+            if (sb.length() > 0) {
+                sb.append('/');
+            }
+            sb.append(segment);
+        }
+        return sb.toString();
+    }
+
+    /** Quotes the specified index field, if necessary. */
+    private static String quote(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return '"' + field.replace("\"", "\"\"") + '"';
+            }
+        }
+        return field;
+    }
+
+    private static boolean isCompressed(String extension) {
+        switch (extension) {
+            case "png":
+            case "gif":
+            case "jpg":
+            case "pdf":
+                return true;
+            default:
+                return false;
+        }
+    }
+}
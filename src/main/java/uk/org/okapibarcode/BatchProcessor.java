@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import uk.org.okapibarcode.backend.Symbol;
+
+/**
+ * <p>Encodes each line of a batch input file as a separate symbol, using a pipeline of three stages connected by
+ * bounded queues: the calling thread reads the input lines and names the output files, a configurable number of
+ * worker threads encode and render the symbols in memory, and a single writer thread writes the output files.
+ *
+ * <p>Output file names are assigned in input order, using the same numbering as the sequential batch mode, so the
+ * output is the same regardless of the number of worker threads; only the order in which the files are written
+ * (and in which any error messages are printed) may vary. The bounded queues keep memory use constant, no matter
+ * how large the input file is.
+ *
+ * <p>If a {@link BatchArchive} is provided, the writer thread adds the output to the archive instead of writing one
+ * file per input line. Since a failed archive cannot be written to any further, archive errors end the batch.
+ *
+ * <p>If any stage fails unexpectedly, the first failure is recorded, the other stages are stopped, and the failure is
+ * reported to the caller; the pipeline never waits on a stage which is no longer running.
+ */
+class BatchProcessor {
+
+    /** Marker which tells a worker thread that there are no more input lines. */
+    private static final Job NO_MORE_JOBS = new Job(0, null, null);
+
+    /** Marker which tells the writer thread that there are no more output files. */
+    private static final Result NO_MORE_RESULTS = new Result(0, null, null);
+
+    /** The number of queue slots per worker thread. */
+    private static final int QUEUE_SIZE_PER_THREAD = 16;
+
+    private final Settings settings;
+    private final int threads;
+    private final BlockingQueue< Job > jobs;
+    private final BlockingQueue< Result > results;
+    private final BatchArchive archive;
+    private final List< Thread > stages = new ArrayList<>();
+    private final AtomicReference< Throwable > failure = new AtomicReference<>();
+    private Thread reader;
+
+    /**
+     * Creates a new batch processor which writes one output file per input line.
+     *
+     * @param settings the symbology and output options
+     * @param threads the number of worker threads to use for encoding and rendering
+     */
+    BatchProcessor(Settings settings, int threads) {
+        this(settings, threads, null);
+    }
+
+    /**
+     * Creates a new batch processor.
+     *
+     * @param settings the symbology and output options
+     * @param threads the number of worker threads to use for encoding and rendering
+     * @param archive the archive to write the output to, or <code>null</code> to write one file per input line
+     */
+    BatchProcessor(Settings settings, int threads, BatchArchive archive) {
+        this.settings = settings;
+        this.archive = archive;
+        this.threads = Math.max(1, threads);
+        this.jobs = new ArrayBlockingQueue<>(this.threads * QUEUE_SIZE_PER_THREAD);
+        this.results = new ArrayBlockingQueue<>(this.threads * QUEUE_SIZE_PER_THREAD);
+    }
+
+    /**
+     * Encodes each line of the specified input as a separate symbol, returning once all of the output files have
+     * been written.
+     *
+     * @param in the input to read from
+     * @throws IOException if there is an error reading the input
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the other stages
+     * @throws ExecutionException if one of the worker or writer threads fails unexpectedly; the exception cause is
+     *         the first failure
+     */
+    void process(BufferedReader in) throws IOException, InterruptedException, ExecutionException {
+
+        reader = Thread.currentThread();
+
+        List< Thread > workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(new Thread(new Worker(), "okapi-batch-worker-" + (i + 1)));
+        }
+        Thread writer = new Thread(new Writer(), "okapi-batch-writer");
+
+        stages.addAll(workers);
+        stages.add(writer);
+        for (Thread stage : stages) {
+            stage.start();
+        }
+
+        boolean completed = false;
+        try {
+            String inputData;
+            int counter = 0;
+            while ((inputData = in.readLine()) != null) {
+                counter++;
+                jobs.put(new Job(counter, inputData, OkapiBarcode.calcFileName(settings, counter)));
+            }
+            for (int i = 0; i < threads; i++) {
+                jobs.put(NO_MORE_JOBS);
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            results.put(NO_MORE_RESULTS);
+            writer.join();
+            completed = true;
+        } catch (InterruptedException e) {
+            if (failure.get() == null) {
+                throw e;
+            }
+            // interrupted by a failed stage, reported below
+        } finally {
+            if (!completed) {
+                stop();
+            }
+        }
+
+        Throwable t = failure.get();
+        if (t != null) {
+            Thread.interrupted(); // clear any interrupt sent by the failed stage
+            throw new ExecutionException("Batch processing failed: " + t, t);
+        }
+    }
+
+    /** Records the specified stage failure, and stops the other stages, unless a failure has already been recorded. */
+    private void fail(Throwable t) {
+        if (failure.compareAndSet(null, t)) {
+            for (Thread stage : stages) {
+                if (stage != Thread.currentThread()) {
+                    stage.interrupt();
+                }
+            }
+            reader.interrupt();
+        }
+    }
+
+    /** Stops all of the stages, and waits for them to finish. */
+    private void stop() {
+        for (Thread stage : stages) {
+            stage.interrupt();
+        }
+        boolean interrupted = false;
+        for (Thread stage : stages) {
+            while (stage.isAlive()) {
+                try {
+                    stage.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Encodes and renders symbols, until told that there are no more input lines. */
+    private final class Worker implements Runnable {
+        @Override
+        public void run() {
+            try {
+                for (Job job = jobs.take(); job != NO_MORE_JOBS; job = jobs.take()) {
+                    Result result = encode(job);
+                    if (result != null) {
+                        results.put(result);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable t) {
+                fail(t);
+            }
+        }
+    }
+
+    /** Writes output files, until told that there are no more output files. */
+    private final class Writer implements Runnable {
+        @Override
+        public void run() {
+            try {
+                for (Result result = results.take(); result != NO_MORE_RESULTS; result = results.take()) {
+                    write(result);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable t) {
+                fail(t);
+            }
+        }
+    }
+
+    /** Encodes and renders the specified job, returning <code>null</code> if the symbol could not be created. */
+    private Result encode(Job job) {
+
+        MakeBarcode mb = new MakeBarcode();
+        Symbol symbol;
+        try {
+            symbol = mb.encode(settings, job.inputData);
+        } catch (RuntimeException e) {
+            System.out.printf("Encoding error: %s\n", e.getMessage());
+            return null;
+        }
+        if (symbol == null) {
+            return null;
+        }
+
+        String extension = MakeBarcode.getExtension(job.outputFileName);
+        if (!MakeBarcode.isSupportedFormat(extension)) {
+            System.out.println("Unsupported output format");
+            return null;
+        }
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try {
+            mb.write(settings, symbol, extension, baos);
+        } catch (IOException | RuntimeException e) {
+            System.out.printf("Write Error\n");
+            return null;
+        }
+
+        return new Result(job.line, job.outputFileName, baos.toByteArray());
+    }
+
+    /** Writes the specified result to its output file, or adds it to the archive. */
+    private void write(Result result) throws IOException {
+        if (archive != null) {
+            archive.add(result.line, result.outputFileName, result.data);
+            return;
+        }
+        try (FileOutputStream fos = new FileOutputStream(new File(result.outputFileName))) {
+            fos.write(result.data);
+        } catch (FileNotFoundException e) {
+            System.out.printf("File Not Found\n");
+        } catch (IOException e) {
+            System.out.printf("Write Error\n");
+        }
+    }
+
+    /** An input line to encode, and the name of the file to write the resultant symbol to. */
+    private static final class Job {
+
+        final int line;
+        final String inputData;
+        final String outputFileName;
+
+        Job(int line, String inputData, String outputFileName) {
+            this.line = line;
+            this.inputData = inputData;
+            this.outputFileName = outputFileName;
+        }
+    }
+
+    /** A rendered symbol, and the name of the file to write it to. */
+    private static final class Result {
+
+        final int line;
+        final String outputFileName;
+        final byte[] data;
+
+        Result(int line, String outputFileName, byte[] data) {
+            this.line = line;
+            this.outputFileName = outputFileName;
+            this.data = data;
+        }
+    }
+}
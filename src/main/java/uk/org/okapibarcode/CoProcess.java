@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.beust.jcommander.ParameterException;
+
+import uk.org.okapibarcode.backend.Symbol;
+
+/**
+ * <p>Long-running co-process mode, which allows a single JVM to create any number of symbols on behalf of another
+ * process, avoiding the JVM startup and warm-up costs of launching the command line tool once per symbol.
+ *
+ * <p>Requests are read from the input stream, one per line (UTF-8). Each request consists of three tab-separated
+ * fields: the symbology id (the same ids as the <code>-b</code> option), any other command line options, separated by
+ * spaces (may be empty), and the data to encode (which may itself contain tabs, and in which the usual escape
+ * sequences are processed unless <code>--binary</code> is given). The output format is taken from the extension of the
+ * <code>-o</code> option, as in the normal command line mode (PNG by default), but nothing is written to disk.
+ *
+ * <p>Exactly one response is written to the output stream for each request, in request order. Each response consists
+ * of a header line, either <code>OK &lt;length&gt;</code> or <code>ERR &lt;length&gt;</code>, followed by exactly
+ * <code>length</code> bytes: the rendered symbol, or a UTF-8 error message. Clients may pipeline requests; the output
+ * is only flushed once all of the requests received so far have been answered.
+ *
+ * <p>While the co-process is running, anything else printed to {@link System#out} is captured, so that it cannot
+ * corrupt the responses; it is used as the error message for a failed request, and is otherwise sent to
+ * {@link System#err}.
+ */
+class CoProcess {
+
+    /** The field separator used in requests. */
+    private static final char SEPARATOR = '\t';
+
+    /** The maximum number of distinct option sets whose parsed settings are kept. */
+    private static final int MAX_CACHED_SETTINGS = 64;
+
+    private final BufferedReader in;
+    private final OutputStream out;
+    private final ByteArrayOutputStream diagnostics = new ByteArrayOutputStream();
+    private final Map< String, Settings > settingsCache = new LinkedHashMap< String, Settings >(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+        @Override
+        protected boolean removeEldestEntry(Map.Entry< String, Settings > eldest) {
+            return size() > MAX_CACHED_SETTINGS;
+        }
+    };
+
+    /**
+     * Creates a new co-process, reading requests from the specified input stream and writing responses to the
+     * specified output stream.
+     *
+     * @param in the stream to read requests from
+     * @param out the stream to write responses to
+     */
+    CoProcess(InputStream in, OutputStream out) {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.out = out;
+    }
+
+    /**
+     * Answers requests until the end of the input stream is reached.
+     *
+     * @throws IOException if there is an error reading requests or writing responses
+     */
+    void run() throws IOException {
+        PrintStream stdout = System.out;
+        try {
+            System.setOut(new PrintStream(diagnostics, true, StandardCharsets.UTF_8.name()));
+        } catch (UnsupportedEncodingException e) {
+            throw new IOException(e);
+        }
+        try {
+            String request;
+            while ((request = in.readLine()) != null) {
+                handle(request);
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } finally {
+            System.setOut(stdout);
+        }
+    }
+
+    /** Answers the specified request. */
+    private void handle(String request) throws IOException {
+
+        diagnostics.reset();
+
+        int first = request.indexOf(SEPARATOR);
+        int second = first != -1 ? request.indexOf(SEPARATOR, first + 1) : -1;
+        if (second == -1) {
+            respond("ERR", "Invalid request, expected: <symbology> TAB <options> TAB <data>");
+            return;
+        }
+
+        Settings settings;
+        try {
+            settings = getSettings(request.substring(0, first).trim(), request.substring(first + 1, second).trim());
+        } catch (ParameterException e) {
+            respond("ERR", e.getMessage());
+            return;
+        }
+
+        String data = request.substring(second + 1);
+        if (data.isEmpty()) {
+            respond("ERR", "No data received, no symbol generated");
+            return;
+        }
+        if (!settings.isDataBinaryMode()) {
+            data = OkapiBarcode.escapeCharProcess(data);
+        }
+
+        String extension = MakeBarcode.getExtension(settings.getOutputFile());
+        if (!MakeBarcode.isSupportedFormat(extension)) {
+            respond("ERR", "Unsupported output format");
+            return;
+        }
+
+        MakeBarcode mb = new MakeBarcode();
+        Symbol symbol;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try {
+            symbol = mb.encode(settings, data);
+            if (symbol != null) {
+                mb.write(settings, symbol, extension, baos);
+            }
+        } catch (RuntimeException e) {
+            System.out.printf("Encoding error: %s\n", e.getMessage());
+            symbol = null;
+        } catch (IOException e) {
+            // rendering failed (e.g. no image writer for the format), not the co-process output
+            System.out.printf("Output error: %s\n", e.getMessage());
+            symbol = null;
+        }
+
+        String messages = new String(diagnostics.toByteArray(), StandardCharsets.UTF_8).trim();
+        if (symbol == null) {
+            respond("ERR", messages.isEmpty() ? "Symbol could not be created" : messages);
+        } else {
+            if (!messages.isEmpty()) {
+                System.err.println(messages);
+            }
+            respond("OK", baos.toByteArray());
+        }
+    }
+
+    /**
+     * Returns the settings for the specified symbology and command line options, parsing the options only the first
+     * time that they are seen.
+     */
+    private Settings getSettings(String symbology, String options) {
+        String key = symbology + SEPARATOR + options;
+        Settings settings = settingsCache.get(key);
+        if (settings == null) {
+            String[] args = options.isEmpty() ? new String[0] : options.split(" +");
+            String[] all = new String[args.length + 2];
+            all[0] = "-b";
+            all[1] = symbology;
+            System.arraycopy(args, 0, all, 2, args.length);
+            settings = OkapiBarcode.parseClientSettings(all);
+            settingsCache.put(key, settings);
+        }
+        return settings;
+    }
+
+    private void respond(String status, String message) throws IOException {
+        respond(status, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void respond(String status, byte[] content) throws IOException {
+        out.write((status + " " + content.length + "\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(content);
+    }
+}
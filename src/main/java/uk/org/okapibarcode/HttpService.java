@@ -0,0 +1,343 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.beust.jcommander.ParameterException;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import uk.org.okapibarcode.backend.Symbol;
+
+/**
+ * <p>Small HTTP rendering service, built on the HTTP server included in the JDK. Symbols are requested with
+ * <code>GET /barcode?b=58&amp;d=Hello&amp;format=svg</code>, where each query parameter corresponds to the command
+ * line option of the same name (without the leading dashes; flags are enabled by an empty value or <code>true</code>),
+ * <code>d</code> (or <code>data</code>) is the data to encode, and <code>format</code> is the output format
+ * (<code>png</code> by default). Options which refer to files or to other modes of operation are rejected, as are
+ * options and values starting with <code>@</code>, which JCommander would otherwise replace with the contents of the
+ * named file. Unless another address is specified, the service only listens on the loopback interface.
+ *
+ * <p>Requests are handled by a fixed pool of worker threads, and connections are kept alive between requests. The
+ * rendered bytes are kept in an LRU cache, keyed by the request query, so repeated requests for the same symbol are
+ * served without encoding it again. Each response carries an <code>ETag</code> derived from a hash of its content, and
+ * conditional requests whose <code>If-None-Match</code> header matches are answered with <code>304 Not Modified</code>.
+ */
+class HttpService {
+
+    /** The path at which symbols are served. */
+    static final String PATH = "/barcode";
+
+    /** The maximum total size of the cached responses, in bytes. */
+    private static final int MAX_CACHE_BYTES = 32 * 1024 * 1024;
+
+    /** Command line options which may not be used in requests. */
+    private static final Set< String > FORBIDDEN = new HashSet<>(Arrays.asList(
+        "cli", "t", "types", "i", "input", "o", "output", "batch", "threads", "archive", "coprocess", "http", "http-address"));
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Cache cache = new Cache(MAX_CACHE_BYTES);
+
+    /**
+     * Creates a new HTTP service.
+     *
+     * @param address the address to listen on, or an empty string to listen on the loopback interface only
+     * @param port the port to listen on
+     * @param threads the number of worker threads to use
+     * @throws IOException if the address cannot be resolved or the server socket cannot be opened
+     */
+    HttpService(String address, int port, int threads) throws IOException {
+        InetAddress bind = address.isEmpty() ? InetAddress.getLoopbackAddress() : InetAddress.getByName(address);
+        this.server = HttpServer.create(new InetSocketAddress(bind, port), 0);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        this.server.createContext(PATH, new Handler());
+        this.server.setExecutor(executor);
+    }
+
+    /**
+     * Starts serving requests in the background.
+     */
+    void start() {
+        server.start();
+    }
+
+    /**
+     * Stops serving requests.
+     */
+    void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    /**
+     * Returns the port that the service is listening on.
+     *
+     * @return the port that the service is listening on
+     */
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the host name or address that the service is listening on.
+     *
+     * @return the host name or address that the service is listening on
+     */
+    String getHost() {
+        return server.getAddress().getHostString();
+    }
+
+    /** Handles requests for symbols. */
+    private final class Handler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                drain(exchange.getRequestBody());
+                String method = exchange.getRequestMethod();
+                if (!method.equals("GET") && !method.equals("HEAD")) {
+                    exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                    sendText(exchange, 405, "Method not allowed");
+                    return;
+                }
+
+                String query = exchange.getRequestURI().getRawQuery();
+                if (query == null) {
+                    query = "";
+                }
+
+                Rendered rendered = cache.get(query);
+                if (rendered == null) {
+                    try {
+                        rendered = render(query);
+                    } catch (IllegalArgumentException | ParameterException e) {
+                        sendText(exchange, 400, e.getMessage());
+                        return;
+                    }
+                    cache.put(query, rendered);
+                }
+
+                Headers headers = exchange.getResponseHeaders();
+                headers.set("ETag", rendered.etag);
+                if (rendered.etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+                headers.set("Content-Type", rendered.contentType);
+                if (method.equals("HEAD")) {
+                    headers.set("Content-Length", Integer.toString(rendered.data.length));
+                    exchange.sendResponseHeaders(200, -1);
+                } else {
+                    exchange.sendResponseHeaders(200, rendered.data.length);
+                    try (OutputStream body = exchange.getResponseBody()) {
+                        body.write(rendered.data);
+                    }
+                }
+            } catch (RuntimeException e) {
+                sendText(exchange, 500, "Internal error");
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+
+    /** Encodes and renders the symbol described by the specified query. */
+    private static Rendered render(String query) throws UnsupportedEncodingException {
+
+        String data = null;
+        String format = "png";
+        List< String > args = new ArrayList<>();
+
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq == -1 ? pair : pair.substring(0, eq), "UTF-8");
+            String value = eq == -1 ? "" : URLDecoder.decode(pair.substring(eq + 1), "UTF-8");
+            if (name.equals("d") || name.equals("data")) {
+                data = value;
+            } else if (name.equals("format")) {
+                format = value;
+            } else if (FORBIDDEN.contains(name)) {
+                throw new IllegalArgumentException("Option not allowed: " + name);
+            } else if (value.isEmpty() || value.equals("true")) {
+                args.add(toOption(name));
+            } else if (!value.equals("false")) {
+                args.add(toOption(name));
+                args.add(value);
+            }
+        }
+
+        if (data == null || data.isEmpty()) {
+            throw new IllegalArgumentException("No data received, no symbol generated");
+        }
+        String contentType = getContentType(format);
+        if (contentType == null || !MakeBarcode.isSupportedFormat(format)) {
+            throw new IllegalArgumentException("Unsupported output format");
+        }
+
+        Settings settings = OkapiBarcode.parseClientSettings(args.toArray(new String[args.size()]));
+        if (!settings.isDataBinaryMode()) {
+            data = OkapiBarcode.escapeCharProcess(data);
+        }
+
+        MakeBarcode mb = new MakeBarcode();
+        Symbol symbol = mb.encode(settings, data);
+        if (symbol == null) {
+            throw new IllegalArgumentException("Symbol could not be created");
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try {
+            mb.write(settings, symbol, format, baos);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Symbol could not be rendered");
+        }
+
+        byte[] bytes = baos.toByteArray();
+        return new Rendered(bytes, contentType, etag(bytes));
+    }
+
+    private static String toOption(String name) {
+        return (name.length() == 1 ? "-" : "--") + name;
+    }
+
+    private static String getContentType(String format) {
+        switch (format) {
+            case "png":
+                return "image/png";
+            case "gif":
+                return "image/gif";
+            case "bmp":
+                return "image/bmp";
+            case "jpg":
+                return "image/jpeg";
+            case "svg":
+                return "image/svg+xml";
+            case "eps":
+                return "application/postscript";
+            case "pdf":
+                return "application/pdf";
+            default:
+                return null;
+        }
+    }
+
+    /** Returns a strong entity tag for the specified content, based on its SHA-1 hash. */
+    private static String etag(byte[] data) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-1").digest(data);
+            StringBuilder sb = new StringBuilder(2 + (hash.length * 2));
+            sb.append('"');
+            for (byte b : hash) {
+                sb.append(Character.forDigit((b >> 4) & 0xf, 16));
+                sb.append(Character.forDigit(b & 0xf, 16));
+            }
+            sb.append('"');
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-1
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] bytes = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(bytes);
+        }
+    }
+
+    /** Reads any request body, so that the connection can be reused. */
+    private static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[1024];
+        while (in.read(buffer) != -1) {
+            // discard
+        }
+        in.close();
+    }
+
+    /** A rendered symbol, ready to be sent. */
+    static final class Rendered {
+
+        final byte[] data;
+        final String contentType;
+        final String etag;
+
+        Rendered(byte[] data, String contentType, String etag) {
+            this.data = data;
+            this.contentType = contentType;
+            this.etag = etag;
+        }
+    }
+
+    /** LRU cache of rendered symbols, bounded by the total size of the rendered bytes. */
+    static final class Cache {
+
+        private final LinkedHashMap< String, Rendered > entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final long maxBytes;
+        private long bytes;
+
+        Cache(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized Rendered get(String key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(String key, Rendered value) {
+            if (value.data.length > maxBytes) {
+                return;
+            }
+            Rendered old = entries.put(key, value);
+            if (old != null) {
+                bytes -= old.data.length;
+            }
+            bytes += value.data.length;
+            for (Iterator< Map.Entry< String, Rendered > > i = entries.entrySet().iterator(); bytes > maxBytes; ) {
+                bytes -= i.next().getValue().data.length;
+                i.remove();
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 
 import javax.imageio.ImageIO;
 
@@ -72,7 +73,10 @@ import uk.org.okapibarcode.backend.Telepen;
 import uk.org.okapibarcode.backend.Upc;
 import uk.org.okapibarcode.backend.UspsOneCode;
 import uk.org.okapibarcode.backend.UspsPackage;
+import uk.org.okapibarcode.output.BitmapRenderer;
 import uk.org.okapibarcode.output.Java2DRenderer;
+import uk.org.okapibarcode.output.PdfRenderer;
+import uk.org.okapibarcode.output.PngRenderer;
 import uk.org.okapibarcode.output.PostScriptRenderer;
 import uk.org.okapibarcode.output.SvgRenderer;
 /**
@@ -82,19 +86,39 @@ import uk.org.okapibarcode.output.SvgRenderer;
 public class MakeBarcode {
 
     public void process(Settings settings, String dataInput, String outputFileName) {
-        int type = settings.getSymbolType();
-        Symbol symbol;
-        String extension = "";
-        HumanReadableLocation hrtLocation = settings.getHrtPosition();
 
-        Color ink = settings.getForegroundColour();
-        Color paper = settings.getBackgroundColour();
+        Symbol symbol = encode(settings, dataInput);
+        if (symbol == null) {
+            return;
+        }
 
-        if (settings.isReverseColour()) {
-            ink = Color.WHITE;
-            paper = Color.BLACK;
+        String extension = getExtension(outputFileName);
+        if (!isSupportedFormat(extension)) {
+            System.out.println("Unsupported output format");
+            return;
         }
 
+        try (FileOutputStream fos = new FileOutputStream(new File(outputFileName))) {
+            write(settings, symbol, extension, fos);
+        } catch (FileNotFoundException e){
+            System.out.printf("File Not Found\n");
+        } catch (IOException e) {
+            System.out.printf("Write Error\n");
+        }
+    }
+
+    /**
+     * Encodes the specified data using the symbology and options in the specified settings.
+     *
+     * @param settings the symbology and encoding options
+     * @param dataInput the data to encode
+     * @return the encoded symbol, or <code>null</code> if the data could not be encoded
+     */
+    public Symbol encode(Settings settings, String dataInput) {
+        int type = settings.getSymbolType();
+        Symbol symbol;
+        HumanReadableLocation hrtLocation = settings.getHrtPosition();
+
         try {
             /* values marked "Legacy" are for compatability purposes
                and should not be documented.
@@ -774,59 +798,137 @@ public class MakeBarcode {
                 default:
                     // Invalid
                     System.out.println("Invaid barcode type");
-                    return;
+                    return null;
             }
         } catch (OkapiException e) {
             System.out.printf("Encoding error: %s\n", e.getMessage());
-            return;
+            return null;
         }
 
-        File file = new File(outputFileName);
+        return symbol;
+    }
 
-        try {
-            int i = file.getName().lastIndexOf('.');
-            if (i > 0) {
-                extension = file.getName().substring(i + 1);
-            }
+    /**
+     * Returns the output format extension of the specified file name (the text after the last period), or an empty
+     * string if the file name has no extension.
+     *
+     * @param outputFileName the output file name
+     * @return the output format extension
+     */
+    public static String getExtension(String outputFileName) {
+        String name = new File(outputFileName).getName();
+        int i = name.lastIndexOf('.');
+        if (i > 0) {
+            return name.substring(i + 1);
+        } else {
+            return "";
+        }
+    }
 
-            switch (extension) {
-                case "png":
-                case "gif":
-                case "jpg":
-                case "bmp":
-                    BufferedImage image = new BufferedImage(symbol.getWidth(),
-                            symbol.getHeight(), BufferedImage.TYPE_INT_RGB);
-                    Graphics2D g2d = image.createGraphics();
-                    //g2d.setBackground(paper);
-                    g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    /**
+     * Returns whether or not the specified output format extension is supported by
+     * {@link #write(Settings, Symbol, String, OutputStream)}.
+     *
+     * @param extension the output format extension
+     * @return whether or not the output format is supported
+     */
+    public static boolean isSupportedFormat(String extension) {
+        switch (extension) {
+            case "png":
+            case "gif":
+            case "bmp":
+            case "jpg":
+            case "svg":
+            case "eps":
+            case "pdf":
+                return true;
+            default:
+                return false;
+        }
+    }
 
-                    Java2DRenderer renderer = new Java2DRenderer(g2d, 1, paper, ink);
-                    System.out.printf("MakeBarcode\n");
-                    renderer.render(symbol);
+    /**
+     * Renders the specified symbol to the specified stream, in the specified output format, using the colors in the
+     * specified settings. The stream may be closed once the symbol has been written. The SVG, EPS and PDF formats are
+     * written without loading any AWT classes, as are PNG images of symbols which consist only of bars or modules; the
+     * GIF, BMP and JPEG formats, and PNG images of symbols with human-readable text, MaxiCode hexagons or a target, are
+     * drawn with Java 2D and so load AWT.
+     *
+     * @param settings the output options
+     * @param symbol the symbol to render
+     * @param extension the output format extension
+     * @param out the stream to write to
+     * @throws IOException if there is an I/O error
+     */
+    public void write(Settings settings, Symbol symbol, String extension, OutputStream out) throws IOException {
 
-                    try {
-                        ImageIO.write(image, extension, file);
-                    } catch (IOException e) {
-                        System.out.printf("Error outputting to file\n");
-                    }
-                    break;
-                case "svg":
-                    SvgRenderer svg = new SvgRenderer(new FileOutputStream(file), 1, paper, ink);
-                    svg.render(symbol);
-                    break;
-                case "eps":
-                    PostScriptRenderer eps = new PostScriptRenderer(new FileOutputStream(file), 1, paper, ink);
-                    eps.render(symbol);
-                    break;
-                default:
-                    System.out.println("Unsupported output format");
-                    break;
-            }
+        int ink = settings.getForegroundRgb();
+        int paper = settings.getBackgroundRgb();
 
-        } catch (FileNotFoundException e){
-            System.out.printf("File Not Found\n");
-        } catch (IOException e) {
-            System.out.printf("Write Error\n");
+        if (settings.isReverseColour()) {
+            ink = 0xFFFFFF;
+            paper = 0x000000;
+        }
+
+        switch (extension) {
+            case "png":
+                PngRenderer png = new PngRenderer(out, 1, paper, ink);
+                png.render(symbol);
+                break;
+            case "gif":
+            case "bmp":
+            case "jpg":
+                writeImage(symbol, extension, out, paper, ink);
+                break;
+            case "svg":
+                SvgRenderer svg = new SvgRenderer(out, 1, paper, ink, false);
+                svg.render(symbol);
+                break;
+            case "eps":
+                PostScriptRenderer eps = new PostScriptRenderer(out, 1, paper, ink);
+                eps.render(symbol);
+                break;
+            case "pdf":
+                PdfRenderer pdf = new PdfRenderer(out, 1, paper, ink);
+                pdf.render(symbol);
+                break;
+            default:
+                System.out.println("Unsupported output format");
+                break;
+        }
+    }
+
+    /** Renders the specified symbol to one of the image formats supported by {@link ImageIO}. */
+    private static void writeImage(Symbol symbol, String extension, OutputStream out, int paperRgb, int inkRgb)
+            throws IOException {
+
+        Color paper = new Color(paperRgb);
+        Color ink = new Color(inkRgb);
+
+        switch (extension) {
+            case "gif":
+            case "bmp":
+                BufferedImage bitmap = BitmapRenderer.createImage(symbol, 1, paper, ink);
+                new BitmapRenderer(bitmap, 1).render(symbol);
+                writeImage(bitmap, extension, out);
+                break;
+            case "jpg":
+                BufferedImage image = new BufferedImage(symbol.getWidth(),
+                        symbol.getHeight(), BufferedImage.TYPE_INT_RGB);
+                Graphics2D g2d = image.createGraphics();
+                //g2d.setBackground(paper);
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+                Java2DRenderer renderer = new Java2DRenderer(g2d, 1, paper, ink);
+                renderer.render(symbol);
+                writeImage(image, extension, out);
+                break;
+        }
+    }
+
+    private static void writeImage(BufferedImage image, String extension, OutputStream out) throws IOException {
+        if (!ImageIO.write(image, extension, out)) {
+            throw new IOException("No image writer available for format: " + extension);
         }
     }
 
@@ -18,12 +18,16 @@ package uk.org.okapibarcode;
 
 import uk.org.okapibarcode.gui.OkapiUI;
 import com.beust.jcommander.*;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileDescriptor;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Starts the Okapi Barcode UI.
@@ -42,9 +46,23 @@ public class OkapiBarcode {
         Settings settings = new Settings();
         new JCommander(settings, args);
 
-        if (!settings.isGuiSupressed()) {
-            OkapiUI okapiUi = new OkapiUI();
-            okapiUi.setVisible(true);
+        if (settings.isCoProcessMode()) {
+            try {
+                new CoProcess(System.in, new BufferedOutputStream(new FileOutputStream(FileDescriptor.out))).run();
+            } catch (IOException e) {
+                System.err.println("Co-process I/O error: " + e.getMessage());
+            }
+        } else if (settings.getHttpPort() > 0) {
+            int threads = settings.getThreads() > 1 ? settings.getThreads() : Runtime.getRuntime().availableProcessors();
+            try {
+                HttpService service = new HttpService(settings.getHttpAddress(), settings.getHttpPort(), threads);
+                service.start();
+                System.out.println("Serving symbols at http://" + service.getHost() + ":" + service.getPort() + HttpService.PATH);
+            } catch (IOException e) {
+                System.out.println("HTTP server error: " + e.getMessage());
+            }
+        } else if (!settings.isGuiSupressed()) {
+            startGui();
         } else {
             int returnValue;
             
@@ -56,6 +74,36 @@ public class OkapiBarcode {
         }
     }
 
+    /**
+     * Parses command line options received from a client in co-process or HTTP mode. Unlike the options given on the
+     * actual command line, these options are untrusted: JCommander replaces any argument starting with <code>@</code>
+     * with the contents of the named file, so such arguments are rejected rather than giving clients access to local
+     * files.
+     *
+     * @param args the options to parse
+     * @return the parsed settings
+     * @throws ParameterException if the options are invalid
+     */
+    static Settings parseClientSettings(String... args) {
+        for (String arg : args) {
+            if (arg.startsWith("@")) {
+                throw new ParameterException("Options and values may not start with '@'");
+            }
+        }
+        Settings settings = new Settings();
+        new JCommander(settings, args);
+        return settings;
+    }
+
+    /**
+     * Starts the Swing UI. This is kept out of {@link #main(String[])} so that the command line, co-process and HTTP
+     * modes never load the UI classes.
+     */
+    private static void startGui() {
+        OkapiUI okapiUi = new OkapiUI();
+        okapiUi.setVisible(true);
+    }
+
     private static int commandLine(Settings settings) {
         
         String inputData = settings.getInputData();
@@ -133,25 +181,47 @@ public class OkapiBarcode {
                     new InputStreamReader(
                         new FileInputStream(name), "UTF8"))) {                
 
-                while ((inputData = in.readLine()) != null) {
-                    counter++;
-                    MakeBarcode mb = new MakeBarcode();
-                    mb.process(settings, inputData, calcFileName(settings, counter));
+                if (!settings.getArchiveFile().isEmpty()) {
+                    try (BatchArchive archive = new BatchArchive(settings, new File(settings.getArchiveFile()))) {
+                        boolean complete = false;
+                        try {
+                            new BatchProcessor(settings, settings.getThreads(), archive).process(in);
+                            complete = true;
+                        } finally {
+                            if (!complete) {
+                                archive.abort();
+                            }
+                        }
+                    }
+                } else if (settings.getThreads() > 1) {
+                    new BatchProcessor(settings, settings.getThreads()).process(in);
+                } else {
+                    while ((inputData = in.readLine()) != null) {
+                        counter++;
+                        MakeBarcode mb = new MakeBarcode();
+                        mb.process(settings, inputData, calcFileName(settings, counter));
+                    }
                 }
             } catch (UnsupportedEncodingException e) {
                 System.out.println("Encoding exception");
             } catch (IOException e) {
                 System.out.println("File Read Error");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.out.println("Batch processing interrupted");
+            } catch (ExecutionException e) {
+                System.out.println(e.getMessage());
             }
         }
     }    
     
-    private static String calcFileName(Settings settings, int counter) {
+    static String calcFileName(Settings settings, int counter) {
         String fileName = "";
         String number;
         int spaces = 0;
         int blanks;
         int blankPosition;
+        String overflow;
         String template;
         
         number = Integer.toString(counter);
@@ -173,11 +243,19 @@ public class OkapiBarcode {
         }
         
         blanks = spaces - number.length();
+        overflow = "";
         
         if (blanks < 0) {
-            // Not enough room in template for file number
-            System.out.println("Invalid output filename");
-            return "out.png";
+            if (spaces == 0) {
+                // No room in template for file number
+                System.out.println("Invalid output filename");
+                return "out.png";
+            }
+            // Not enough room in template for file number, so widen the first
+            // placeholder to hold the extra leading digits, keeping names unique
+            overflow = number.substring(0, -blanks);
+            number = number.substring(-blanks);
+            blanks = 0;
         }
         
         blankPosition = 0;
@@ -186,6 +264,9 @@ public class OkapiBarcode {
             switch(template.charAt(i)) {
                 case '#':
                     if (blankPosition >= blanks) {
+                        if (blankPosition == 0) {
+                            fileName += overflow;
+                        }
                         fileName += number.charAt(blankPosition - blanks);
                     } else {
                         fileName += ' ';
@@ -194,6 +275,9 @@ public class OkapiBarcode {
                     break;
                 case '~':
                     if (blankPosition >= blanks) {
+                        if (blankPosition == 0) {
+                            fileName += overflow;
+                        }
                         fileName += number.charAt(blankPosition - blanks);
                     } else {
                         fileName += '0';
@@ -209,7 +293,7 @@ public class OkapiBarcode {
         return fileName;
     }
     
-    private static String escapeCharProcess(String inputString) {
+    static String escapeCharProcess(String inputString) {
         String outputString = "";
         int i = 0;
         
@@ -113,6 +113,21 @@ public class Settings {
     @Parameter(names = "--batch", description = "Treat each line of input as a separate data set", required = false)
     private boolean batchMode = false;
 
+    @Parameter(names = "--threads", description = "Number of worker threads to use in batch and HTTP modes", required = false)
+    private int threads = 1;
+
+    @Parameter(names = "--archive", description = "Write all batch mode output to a single ZIP archive", required = false)
+    private String archiveFile = "";
+
+    @Parameter(names = "--coprocess", description = "Read requests from standard input and write symbols to standard output", required = false)
+    private boolean coProcessMode = false;
+
+    @Parameter(names = "--http", description = "Serve symbols over HTTP on the specified port", required = false)
+    private int httpPort = 0;
+
+    @Parameter(names = "--http-address", description = "Address to bind the HTTP service to (loopback only by default)", required = false)
+    private String httpAddress = "";
+
     /**
      * @return the supressGui
      */
@@ -201,13 +216,20 @@ public class Settings {
      * @return the foregroundColour
      */
     public Color getForegroundColour() {
-        Color inkColour = Color.BLACK;
+        return new Color(getForegroundRgb());
+    }
+
+    /**
+     * @return the foregroundColour, as an RGB value
+     */
+    public int getForegroundRgb() {
+        int inkColour = 0x000000;
         String fgColour;
         
         fgColour = foregroundColour.toUpperCase();
         
         if (fgColour.matches("[0-9A-F]+") && (fgColour.length() == 6)) {
-            inkColour = Color.decode("0x" + fgColour);
+            inkColour = Integer.parseInt(fgColour, 16);
         }
         
         return inkColour;
@@ -217,13 +239,20 @@ public class Settings {
      * @return the backgroundColour
      */
     public Color getBackgroundColour() {
-        Color paperColour = Color.WHITE;
+        return new Color(getBackgroundRgb());
+    }
+
+    /**
+     * @return the backgroundColour, as an RGB value
+     */
+    public int getBackgroundRgb() {
+        int paperColour = 0xFFFFFF;
         String bgColour;
         
         bgColour = backgroundColour.toUpperCase();
         
         if (bgColour.matches("[0-9A-F]+") && (bgColour.length() == 6)) {
-            paperColour = Color.decode("0x" + bgColour);
+            paperColour = Integer.parseInt(bgColour, 16);
         }
         
         return paperColour;
@@ -329,5 +358,40 @@ public class Settings {
     public boolean isBatchMode() {
         return batchMode;
     }
+
+    /**
+     * @return the threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return the archiveFile
+     */
+    public String getArchiveFile() {
+        return archiveFile;
+    }
+
+    /**
+     * @return the coProcessMode
+     */
+    public boolean isCoProcessMode() {
+        return coProcessMode;
+    }
+
+    /**
+     * @return the httpPort
+     */
+    public int getHttpPort() {
+        return httpPort;
+    }
+
+    /**
+     * @return the httpAddress
+     */
+    public String getHttpAddress() {
+        return httpAddress;
+    }
     
 }
\ No newline at end of file
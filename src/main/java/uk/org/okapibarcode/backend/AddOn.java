@@ -16,6 +16,8 @@
 
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+
 /**
  * Encodes add-on barcodes for UPC/EAN.
  *
@@ -48,7 +50,7 @@ public final class AddOn {
 
     public static String calcAddOn(String content) {
 
-        if (!content.matches("[0-9]{1,5}")) {
+        if (content.length() > 5 || !DIGITS.matches(content)) {
             return "";
         }
 
@@ -16,7 +16,11 @@
 
 package uk.org.okapibarcode.backend;
 
-import java.awt.geom.Rectangle2D;
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+import static uk.org.okapibarcode.util.CharacterClass.LOWER_CASE;
+import static uk.org.okapibarcode.util.CharacterClass.UPPER_CASE;
+
+import uk.org.okapibarcode.util.CharacterClass;
 
 /**
  * Implements the <a href="http://auspost.com.au/media/documents/a-guide-to-printing-the-4state-barcode-v31-mar2012.pdf">Australia Post 4-State barcode</a>.
@@ -25,6 +29,10 @@ import java.awt.geom.Rectangle2D;
  */
 public class AustraliaPost extends Symbol {
 
+    /** The characters which can be encoded. */
+    private static final CharacterClass VALID_CHARACTERS =
+        DIGITS.with(UPPER_CASE).with(LOWER_CASE).with(" #");
+
     private static final char[] CHARACTER_SET = {
         '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D',
         'E', 'F', 'G', 'H', 'I', 'J', 'K', 'L', 'M', 'N', 'O', 'P', 'Q', 'R', 'S', 'T', 'U', 'V',
@@ -146,6 +154,12 @@ public class AustraliaPost extends Symbol {
         mode = ausMode.AUSREDIRECT;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return VALID_CHARACTERS;
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void encode() {
@@ -163,14 +177,14 @@ public class AustraliaPost extends Symbol {
                     case 13: formatControlCode = "59";
                         break;
                     case 16: formatControlCode = "59";
-                        if (!content.matches("[0-9]+")) {
+                        if (!DIGITS.matches(content)) {
                             throw new OkapiException("Invalid characters in data");
                         }
                         break;
                     case 18: formatControlCode = "62";
                         break;
                     case 23: formatControlCode = "62";
-                        if (!content.matches("[0-9]+")) {
+                        if (!DIGITS.matches(content)) {
                             throw new OkapiException("Invalid characters in data");
                         }
                         break;
@@ -209,14 +223,14 @@ public class AustraliaPost extends Symbol {
         }
         zeroPaddedInput += content;
 
-        if (!content.matches("[0-9A-Za-z #]+")) {
+        if (!VALID_CHARACTERS.matches(content)) {
             throw new OkapiException("Invalid characters in data");
         }
 
         /* Verify that the first 8 characters are numbers */
         deliveryPointId = zeroPaddedInput.substring(0, 8);
 
-        if (!deliveryPointId.matches("[0-9]+")) {
+        if (!DIGITS.matches(deliveryPointId)) {
             throw new OkapiException("Invalid characters in DPID");
         }
 
@@ -356,7 +370,7 @@ public class AustraliaPost extends Symbol {
                     break;
             }
 
-            Rectangle2D.Double rect = new Rectangle2D.Double(x, y, w, h);
+            Rectangle rect = new Rectangle(x, y, w, h);
             rectangles.add(rect);
 
             x += 2;
@@ -281,7 +281,7 @@ public class AztecCode extends Symbol {
         preferredEccLevel = eccLevel;
     }
 
-    private final int[] CompactAztecMap = { //27 x 27 data grid
+    private static final int[] CompactAztecMap = { //27 x 27 data grid
         609, 608, 411, 413, 415, 417, 419, 421, 423, 425, 427, 429, 431, 433, 435, 437, 439, 441, 443, 445, 447, 449, 451, 453, 455, 457, 459,
         607, 606, 410, 412, 414, 416, 418, 420, 422, 424, 426, 428, 430, 432, 434, 436, 438, 440, 442, 444, 446, 448, 450, 452, 454, 456, 458,
         605, 604, 409, 408, 243, 245, 247, 249, 251, 253, 255, 257, 259, 261, 263, 265, 267, 269, 271, 273, 275, 277, 279, 281, 283, 460, 461,
@@ -311,9 +311,7 @@ public class AztecCode extends Symbol {
         559, 557, 555, 553, 551, 549, 547, 545, 543, 541, 539, 537, 535, 533, 531, 529, 527, 525, 523, 521, 519, 517, 515, 513, 511, 508, 509
     };
 
-    private final int[][] AztecMap = new int[151][151];
-
-    private final int[] AztecCodeSet = { /* From Table 2 */
+    private static final int[] AztecCodeSet = { /* From Table 2 */
         32, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 12, 32, 32, 32, 32, 32, 32,
         32, 32, 32, 32, 32, 32, 32, 4, 4, 4, 4, 4, 23, 8, 8, 8, 8, 8, 8, 8,
         8, 8, 8, 8, 24, 8, 24, 8, 16, 16, 16, 16, 16, 16, 16, 16, 16, 16, 8, 8,
@@ -323,7 +321,7 @@ public class AztecCode extends Symbol {
         2, 2, 2, 8, 4, 8, 4, 4
     };
 
-    private final int[] AztecSymbolChar = { /* From Table 2 */
+    private static final int[] AztecSymbolChar = { /* From Table 2 */
         0, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 300, 14, 15, 16, 17, 18, 19,
         20, 21, 22, 23, 24, 25, 26, 15, 16, 17, 18, 19, 1, 6, 7, 8, 9, 10, 11, 12,
         13, 14, 15, 16, 301, 18, 302, 20, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 21, 22,
@@ -338,85 +336,89 @@ public class AztecCode extends Symbol {
      301: Comma (ASCII 44)
      302: Full Stop (ASCII 46)
      */
-    private final String[] pentbit = {
+    private static final String[] pentbit = {
         "00000", "00001", "00010", "00011", "00100", "00101", "00110", "00111", "01000", "01001",
         "01010", "01011", "01100", "01101", "01110", "01111", "10000", "10001", "10010", "10011", "10100", "10101",
         "10110", "10111", "11000", "11001", "11010", "11011", "11100", "11101", "11110", "11111"
     };
 
-    private final String[] quadbit = {
+    private static final String[] quadbit = {
         "0000", "0001", "0010", "0011", "0100", "0101", "0110", "0111", "1000", "1001",
         "1010", "1011", "1100", "1101", "1110", "1111"
     };
 
-    private final String[] tribit = {
+    private static final String[] tribit = {
         "000", "001", "010", "011", "100", "101", "110", "111"
     };
 
-    private final int[] AztecSizes = { /* Codewords per symbol */
+    private static final int[] AztecSizes = { /* Codewords per symbol */
         21, 48, 60, 88, 120, 156, 196, 240, 230, 272, 316, 364, 416, 470, 528, 588, 652, 720, 790,
         864, 940, 1020, 920, 992, 1066, 1144, 1224, 1306, 1392, 1480, 1570, 1664
     };
 
-    private final int[] AztecCompactSizes = {
+    private static final int[] AztecCompactSizes = {
         17, 40, 51, 76
     };
 
-    private final int[] Aztec10DataSizes = { /* Data bits per symbol maximum with 10% error correction */
+    private static final int[] Aztec10DataSizes = { /* Data bits per symbol maximum with 10% error correction */
         96, 246, 408, 616, 840, 1104, 1392, 1704, 2040, 2420, 2820, 3250, 3720, 4200, 4730,
         5270, 5840, 6450, 7080, 7750, 8430, 9150, 9900, 10680, 11484, 12324, 13188, 14076,
         15000, 15948, 16920, 17940
     };
 
-    private final int[] Aztec23DataSizes = { /* Data bits per symbol maximum with 23% error correction */
+    private static final int[] Aztec23DataSizes = { /* Data bits per symbol maximum with 23% error correction */
         84, 204, 352, 520, 720, 944, 1184, 1456, 1750, 2070, 2410, 2780, 3180, 3590, 4040,
         4500, 5000, 5520, 6060, 6630, 7210, 7830, 8472, 9132, 9816, 10536, 11280, 12036,
         12828, 13644, 14472, 15348
     };
 
-    private final int[] Aztec36DataSizes = { /* Data bits per symbol maximum with 36% error correction */
+    private static final int[] Aztec36DataSizes = { /* Data bits per symbol maximum with 36% error correction */
         66, 168, 288, 432, 592, 776, 984, 1208, 1450, 1720, 2000, 2300, 2640, 2980, 3350,
         3740, 4150, 4580, 5030, 5500, 5990, 6500, 7032, 7584, 8160, 8760, 9372, 9996, 10656,
         11340, 12024, 12744
     };
 
-    private final int[] Aztec50DataSizes = { /* Data bits per symbol maximum with 50% error correction */
+    private static final int[] Aztec50DataSizes = { /* Data bits per symbol maximum with 50% error correction */
         48, 126, 216, 328, 456, 600, 760, 936, 1120, 1330, 1550, 1790, 2050, 2320, 2610,
         2910, 3230, 3570, 3920, 4290, 4670, 5070, 5484, 5916, 6360, 6828, 7308, 7800, 8316,
         8844, 9384, 9948
     };
 
-    private final int[] AztecCompact10DataSizes = {
+    private static final int[] AztecCompact10DataSizes = {
         78, 198, 336, 520
     };
-    private final int[] AztecCompact23DataSizes = {
+    private static final int[] AztecCompact23DataSizes = {
         66, 168, 288, 440
     };
-    private final int[] AztecCompact36DataSizes = {
+    private static final int[] AztecCompact36DataSizes = {
         48, 138, 232, 360
     };
-    private final int[] AztecCompact50DataSizes = {
+    private static final int[] AztecCompact50DataSizes = {
         36, 102, 176, 280
     };
 
-    private final int[] AztecOffset = {
+    private static final int[] AztecOffset = {
         66, 64, 62, 60, 57, 55, 53, 51, 49, 47, 45, 42, 40, 38, 36, 34, 32, 30, 28, 25, 23, 21,
         19, 17, 15, 13, 10, 8, 6, 4, 2, 0
     };
 
-    private final int[] AztecCompactOffset = {
+    private static final int[] AztecCompactOffset = {
         6, 4, 2, 0
     };
 
-    public AztecCode() {
+    /**
+     * Lazily-initialized holder for the full-range reference grid map, which is expensive to build and is shared
+     * by all instances (and only needed for full-range symbols).
+     */
+    private static final class AztecMapHolder {
+        static final int[][] AztecMap = createAztecMap();
+    }
+
+    private static int[][] createAztecMap() {
         int layer, start, length, n, i;
         int x, y;
 
-        for (x = 0; x < 151; x++) {
-            for (y = 0; y < 151; y++) {
-                AztecMap[x][y] = 0;
-            }
-        }
+        int[][] AztecMap = new int[151][151];
 
         for (layer = 1; layer < 33; layer++) {
             start = (112 * (layer - 1)) + (16 * (layer - 1) * (layer - 1)) + 2;
@@ -524,9 +526,11 @@ public class AztecCode extends Symbol {
         AztecMap[avoidReferenceGrid(77)][avoidReferenceGrid(64)] = 1;
         AztecMap[avoidReferenceGrid(77)][avoidReferenceGrid(65)] = 1;
         AztecMap[avoidReferenceGrid(77)][avoidReferenceGrid(76)] = 1;
+
+        return AztecMap;
     }
 
-    private int avoidReferenceGrid(int input) {
+    private static int avoidReferenceGrid(int input) {
         int output;
 
         output = input;
@@ -576,7 +580,6 @@ public class AztecCode extends Symbol {
         int[] desc_data = new int[4];
         int[] desc_ecc = new int[6];
         int y, x, weight;
-        String bin;
         int t;
         boolean done;
 
@@ -942,10 +945,7 @@ public class AztecCode extends Symbol {
                 }
                 rs.init_gf(0x43);
                 rs.init_code(ecc_blocks, 1);
-                rs.encode(data_blocks, data_part);
-                for (i = 0; i < ecc_blocks; i++) {
-                    ecc_part[i] = rs.getResult(i);
-                }
+                rs.encode(data_blocks, data_part, ecc_part);
                 for (i = (ecc_blocks - 1); i >= 0; i--) {
                     for (weight = 0x20; weight > 0; weight = weight >> 1) {
                         if ((ecc_part[i] & weight) != 0) {
@@ -966,10 +966,7 @@ public class AztecCode extends Symbol {
                 }
                 rs.init_gf(0x12d);
                 rs.init_code(ecc_blocks, 1);
-                rs.encode(data_blocks, data_part);
-                for (i = 0; i < ecc_blocks; i++) {
-                    ecc_part[i] = rs.getResult(i);
-                }
+                rs.encode(data_blocks, data_part, ecc_part);
                 for (i = (ecc_blocks - 1); i >= 0; i--) {
                     for (weight = 0x80; weight > 0; weight = weight >> 1) {
                         if ((ecc_part[i] & weight) != 0) {
@@ -990,10 +987,7 @@ public class AztecCode extends Symbol {
                 }
                 rs.init_gf(0x409);
                 rs.init_code(ecc_blocks, 1);
-                rs.encode(data_blocks, data_part);
-                for (i = 0; i < ecc_blocks; i++) {
-                    ecc_part[i] = rs.getResult(i);
-                }
+                rs.encode(data_blocks, data_part, ecc_part);
                 for (i = (ecc_blocks - 1); i >= 0; i--) {
                     for (weight = 0x200; weight > 0; weight = weight >> 1) {
                         if ((ecc_part[i] & weight) != 0) {
@@ -1014,10 +1008,7 @@ public class AztecCode extends Symbol {
                 }
                 rs.init_gf(0x1069);
                 rs.init_code(ecc_blocks, 1);
-                rs.encode(data_blocks, data_part);
-                for (i = 0; i < ecc_blocks; i++) {
-                    ecc_part[i] = rs.getResult(i);
-                }
+                rs.encode(data_blocks, data_part, ecc_part);
                 for (i = (ecc_blocks - 1); i >= 0; i--) {
                     for (weight = 0x800; weight > 0; weight = weight >> 1) {
                         if ((ecc_part[i] & weight) != 0) {
@@ -1148,73 +1139,59 @@ public class AztecCode extends Symbol {
         /* Plot all of the data into the symbol in pre-defined spiral pattern */
         if (compact) {
 
-            row_count = 27 - (2 * AztecCompactOffset[layers - 1]);
+            int offset = AztecCompactOffset[layers - 1];
+            row_count = 27 - (2 * offset);
             row_height = new int[row_count];
-            row_height[0] = -1;
-            pattern = new String[row_count];
-            bin = "";
-            for (y = AztecCompactOffset[layers - 1]; y < (27 - AztecCompactOffset[layers - 1]); y++) {
-                for (x = AztecCompactOffset[layers - 1]; x < (27 - AztecCompactOffset[layers - 1]); x++) {
+            modules = new ModuleMatrix(row_count, row_count);
+            for (y = offset; y < (27 - offset); y++) {
+                for (x = offset; x < (27 - offset); x++) {
                     j = CompactAztecMap[(y * 27) + x];
-
-                    if (j == 0) {
-                        bin += "0";
-                    }
-                    if (j == 1) {
-                        bin += "1";
-                    }
-
-                    if (j >= 2) {
-                        if ((j - 2) < bit_pattern.length()) {
-                            bin += bit_pattern.charAt(j - 2);
-                        } else {
-                            if (j > 2000) {
-                                bin += descriptor.charAt(j - 2000);
-                            } else {
-                                bin += "0";
-                            }
-                        }
+                    if (isDark(j, 2000, bit_pattern, descriptor)) {
+                        modules.set(x - offset, y - offset);
                     }
                 }
-                row_height[y - AztecCompactOffset[layers - 1]] = 1;
-                pattern[y - AztecCompactOffset[layers - 1]] = bin2pat(bin);
-                bin = "";
+                row_height[y - offset] = 1;
             }
 
         } else {
-            row_count = 151 - (2 * AztecOffset[layers - 1]);
+
+            int offset = AztecOffset[layers - 1];
+            row_count = 151 - (2 * offset);
             row_height = new int[row_count];
-            row_height[0] = -1;
-            pattern = new String[row_count];
-            bin = "";
-            for (y = AztecOffset[layers - 1]; y < (151 - AztecOffset[layers - 1]); y++) {
-                for (x = AztecOffset[layers - 1]; x < (151 - AztecOffset[layers - 1]); x++) {
-                    j = AztecMap[x][y];
-                    if (j == 1) {
-                        bin += "1";
-                    }
-                    if (j == 0) {
-                        bin += "0";
-                    }
-                    if (j >= 2) {
-                        if ((j - 2) < bit_pattern.length()) {
-                            bin += bit_pattern.charAt(j - 2);
-                        } else {
-                            if (j > 20000) {
-                                bin += descriptor.charAt(j - 20000);
-                            } else {
-                                bin += "0";
-                            }
-                        }
+            modules = new ModuleMatrix(row_count, row_count);
+            for (y = offset; y < (151 - offset); y++) {
+                for (x = offset; x < (151 - offset); x++) {
+                    j = AztecMapHolder.AztecMap[x][y];
+                    if (isDark(j, 20000, bit_pattern, descriptor)) {
+                        modules.set(x - offset, y - offset);
                     }
                 }
-                row_height[y - AztecOffset[layers - 1]] = 1;
-                pattern[y - AztecOffset[layers - 1]] = bin2pat(bin);
-                bin = "";
+                row_height[y - offset] = 1;
             }
         }
     }
 
+    /**
+     * Returns whether the module with the specified reference grid value is dark.
+     *
+     * @param j the reference grid value (0 = light, 1 = dark, 2+ = data or descriptor bit)
+     * @param descriptorBase the reference grid value at which descriptor bits start
+     * @param bitPattern the data bits
+     * @param descriptor the mode message (descriptor) bits
+     * @return whether the module is dark
+     */
+    private static boolean isDark(int j, int descriptorBase, String bitPattern, String descriptor) {
+        if (j < 2) {
+            return j == 1;
+        } else if ((j - 2) < bitPattern.length()) {
+            return bitPattern.charAt(j - 2) == '1';
+        } else if (j > descriptorBase) {
+            return descriptor.charAt(j - descriptorBase) == '1';
+        } else {
+            return false;
+        }
+    }
+
     private String generateAztecBinary() {
 
         /* Encode input data into a binary string */
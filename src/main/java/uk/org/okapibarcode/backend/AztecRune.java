@@ -15,6 +15,10 @@
  */
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * Implements Aztec Runes bar code symbology
  * According to ISO/IEC 24778:2008 Annex A
@@ -40,6 +44,11 @@ public class AztecRune extends Symbol {
          0, 0, 22, 21, 20, 19, 18, 17, 16, 0, 0
     };
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return DIGITS;
+    }
+
     @Override
     protected void encode() {
         int decimalValue = 0;
@@ -51,13 +60,12 @@ public class AztecRune extends Symbol {
         int[] dataCodeword = new int[3];
         int[] errorCorrectionCodeword = new int[6];
         ReedSolomon rs = new ReedSolomon();
-        String rowBinary;
 
         if (content.length() > 3) {
             throw new OkapiException("Input too large");
         }
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid input data");
         }
 
@@ -153,26 +161,18 @@ public class AztecRune extends Symbol {
 
         encodeInfo += "Binary: " + reversedBinaryDataStream + "\n";
 
-        rowBinary = "";
         readable = "";
-        pattern = new String[11];
+        modules = new ModuleMatrix(11, 11);
         row_count = 11;
         row_height = new int[11];
         for (row = 0; row < 11; row++) {
             for (column = 0; column < 11; column++) {
-                if (BIT_PLACEMENT_MAP[(row * 11) + column] == 1) {
-                    rowBinary += "1";
-                }
-                if (BIT_PLACEMENT_MAP[(row * 11) + column] == 0) {
-                    rowBinary += "0";
-                }
-                if (BIT_PLACEMENT_MAP[(row * 11) + column] >= 2) {
-                    rowBinary += reversedBinaryDataStream.charAt(BIT_PLACEMENT_MAP[(row * 11) + column] - 2);
+                int bit = BIT_PLACEMENT_MAP[(row * 11) + column];
+                if (bit == 1 || (bit >= 2 && reversedBinaryDataStream.charAt(bit - 2) == '1')) {
+                    modules.set(column, row);
                 }
             }
-            pattern[row] = bin2pat(rowBinary);
             row_height[row] = 1;
-            rowBinary = "";
         }
     }
 }
@@ -15,6 +15,10 @@
  */
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * Implements Channel Code according to ANSI/AIM BC12-1998. Channel code encodes whole integer values
  * between 0 and 7,742,862.
@@ -23,10 +27,46 @@ package uk.org.okapibarcode.backend;
  */
 public class ChannelCode extends Symbol {
 
-    private int[] space = new int[11];
-    private int[] bar = new int[11];
-    private double currentValue;
-    private double targetValue;
+    /** The highest value which can be encoded using each number of channels. */
+    private static final int[] MAX_VALUES = { 0, 0, 0, 26, 292, 3493, 44072, 576688, 7742862 };
+
+    /** Bar state: the previous bar, space and bar are all 1 module wide. */
+    private static final int ALL_ONES = 0;
+
+    /** Bar state: the previous bar is 1 module wide, but the previous bar, space and bar are not all 1 module wide. */
+    private static final int LAST_BAR_ONE = 1;
+
+    /** Bar state: the previous bar is more than 1 module wide. */
+    private static final int LAST_BAR_WIDE = 2;
+
+    /**
+     * The number of valid patterns which complete a partial pattern, indexed by number of channels, element index,
+     * maximum space width, maximum bar width and {@link #ALL_ONES bar state}. Patterns are numbered in the order in
+     * which they are enumerated by the standard's reference algorithm, so these counts allow a value to be converted
+     * directly into its pattern (unranked), one element at a time.
+     */
+    private static final int[][][][][] COUNTS = new int[9][][][][];
+
+    static {
+        for (int channels = 3; channels <= 8; channels++) {
+            int[][][][] counts = new int[channels + 4][channels + 1][channels + 1][3];
+            for (int i = channels + 2; i >= 3; i--) {
+                for (int maxSpace = 1; maxSpace <= channels; maxSpace++) {
+                    for (int maxBar = 1; maxBar <= channels; maxBar++) {
+                        for (int state = 0; state < 3; state++) {
+                            int count = 0;
+                            for (int s = firstSpace(channels, i, maxSpace); s <= maxSpace; s++) {
+                                count += countBars(counts, channels, i, s, maxSpace + 1 - s, maxBar, state);
+                            }
+                            counts[i][maxSpace][maxBar][state] = count;
+                        }
+                    }
+                }
+            }
+            COUNTS[channels] = counts;
+        }
+    }
+
     private int requestedNumberOfChannels;
 
     /**
@@ -41,6 +81,11 @@ public class ChannelCode extends Symbol {
         }
     }
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return DIGITS;
+    }
+
     @Override
     protected void encode() {
 
@@ -52,7 +97,7 @@ public class ChannelCode extends Symbol {
             throw new OkapiException("Input too long");
         }
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -62,33 +107,10 @@ public class ChannelCode extends Symbol {
             channels = requestedNumberOfChannels;
         }
 
-        targetValue = Integer.parseInt(content);
+        int targetValue = Integer.parseInt(content);
 
-        switch (channels) {
-            case 3:
-                if (targetValue > 26) {
-                    channels++;
-                }
-            case 4:
-                if (targetValue > 292) {
-                    channels++;
-                }
-            case 5:
-                if (targetValue > 3493) {
-                    channels++;
-                }
-            case 6:
-                if (targetValue > 44072) {
-                    channels++;
-                }
-            case 7:
-                if (targetValue > 576688) {
-                    channels++;
-                }
-            case 8:
-                if (targetValue > 7742862) {
-                    channels++;
-                }
+        while (channels <= 8 && targetValue > MAX_VALUES[channels]) {
+            channels++;
         }
 
         if (channels == 9) {
@@ -97,15 +119,7 @@ public class ChannelCode extends Symbol {
 
         encodeInfo += "Channels Used: " + channels + '\n';
 
-        for (i = 0; i < 11; i++) {
-            bar[i] = 0;
-            space[i] = 0;
-        }
-
-        bar[0] = space[1] = bar[1] = space[2] = bar[2] = 1;
-        currentValue = 0;
-        pattern = new String[1];
-        nextSpace(channels, 3, channels, channels);
+        pattern = new String[] { unrank(channels, targetValue) };
 
         leadingZeroCount = channels - 1 - content.length();
 
@@ -119,37 +133,90 @@ public class ChannelCode extends Symbol {
         row_height = new int[] { -1 };
     }
 
-    private void nextSpace(int channels, int i, int maxSpace, int maxBar) {
-        for (int s = (i < channels + 2) ? 1 : maxSpace; s <= maxSpace; s++) {
+    /**
+     * Returns the pattern for the specified value, which is the pattern that the standard's reference algorithm
+     * (which enumerates all valid bar and space combinations in order) generates at the specified position. Rather
+     * than enumerating the preceding patterns, each element width is chosen by skipping over the number of patterns
+     * which start with each narrower width, using the precomputed {@link #COUNTS}.
+     */
+    private static String unrank(int channels, int value) {
+
+        int[] space = new int[11];
+        int[] bar = new int[11];
+        bar[0] = space[1] = bar[1] = space[2] = bar[2] = 1;
+
+        int[][][][] counts = COUNTS[channels];
+        int maxSpace = channels;
+        int maxBar = channels;
+        int state = ALL_ONES;
+
+        for (int i = 3; i <= channels + 2; i++) {
+
+            int s = firstSpace(channels, i, maxSpace);
+            for (int count; value >= (count = countBars(counts, channels, i, s, maxSpace + 1 - s, maxBar, state)); s++) {
+                value -= count;
+            }
             space[i] = s;
-            nextBar(channels, i, maxBar, maxSpace + 1 - s);
-        }
-    }
+            maxSpace = maxSpace + 1 - s;
 
-    private void nextBar(int channels, int i, int maxBar, int maxSpace) {
-        int b = (space[i] + bar[i - 1] + space[i - 1] + bar[i - 2] > 4) ? 1 : 2;
-        if (i < channels + 2) {
-            for (; b <= maxBar; b++) {
+            if (i < channels + 2) {
+                int b = firstBar(s, state);
+                for (int count; value >= (count = counts[i + 1][maxSpace][maxBar + 1 - b][nextState(state, s, b)]); b++) {
+                    value -= count;
+                }
                 bar[i] = b;
-                nextSpace(channels, i + 1, maxSpace, maxBar + 1 - b);
+                state = nextState(state, s, b);
+                maxBar = maxBar + 1 - b;
+            } else {
+                bar[i] = maxBar;
             }
-        } else if (b <= maxBar) {
-            bar[i] = maxBar;
-            checkIfDone();
-            currentValue++;
         }
+
+        StringBuilder sb = new StringBuilder(27);
+        sb.append("11110");
+        for (int i = 0; i < 11; i++) {
+            sb.append((char) (space[i] + '0'));
+            sb.append((char) (bar[i] + '0'));
+        }
+        return sb.toString();
     }
 
-    private void checkIfDone() {
-        if (currentValue == targetValue) {
-            /* Target reached - save the generated pattern */
-            StringBuilder sb = new StringBuilder();
-            sb.append("11110");
-            for (int i = 0; i < 11; i++) {
-                sb.append((char) (space[i] + '0'));
-                sb.append((char) (bar[i] + '0'));
+    /** Returns the narrowest space allowed at the specified element index (the last space must use up all modules). */
+    private static int firstSpace(int channels, int i, int maxSpace) {
+        return (i < channels + 2) ? 1 : maxSpace;
+    }
+
+    /** Returns the narrowest bar allowed after a space of the specified width, given the preceding bar state. */
+    private static int firstBar(int s, int state) {
+        // a bar can only be 1 module wide if the last 4 elements add up to more than 4 modules
+        return (state == ALL_ONES && s == 1) ? 2 : 1;
+    }
+
+    /** Returns the bar state after a space and bar of the specified widths. */
+    private static int nextState(int state, int s, int b) {
+        if (b > 1) {
+            return LAST_BAR_WIDE;
+        } else if (s == 1 && state != LAST_BAR_WIDE) {
+            return ALL_ONES;
+        } else {
+            return LAST_BAR_ONE;
+        }
+    }
+
+    /**
+     * Returns the number of valid patterns which complete a partial pattern whose space at the specified element index
+     * is <code>s</code> modules wide.
+     */
+    private static int countBars(int[][][][] counts, int channels, int i, int s, int maxSpace, int maxBar, int state) {
+        int first = firstBar(s, state);
+        if (i < channels + 2) {
+            int count = 0;
+            for (int b = first; b <= maxBar; b++) {
+                count += counts[i + 1][maxSpace][maxBar + 1 - b][nextState(state, s, b)];
             }
-            pattern[0] = sb.toString();
+            return count;
+        } else {
+            return first <= maxBar ? 1 : 0;
         }
     }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.backend;
+
+/**
+ * A circle in a symbol (e.g. one of the rings of a MaxiCode bullseye). This is a lightweight replacement for
+ * <code>java.awt.geom.Ellipse2D</code>, so that symbols can be encoded without loading any AWT classes.
+ */
+public class Circle {
+
+    /** The X position of the circle's centre. */
+    public final double centreX;
+
+    /** The Y position of the circle's centre. */
+    public final double centreY;
+
+    /** The circle's radius. */
+    public final double radius;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param centreX the X position of the circle's centre
+     * @param centreY the Y position of the circle's centre
+     * @param radius the circle's radius
+     */
+    public Circle(double centreX, double centreY, double radius) {
+        this.centreX = centreX;
+        this.centreY = centreY;
+        this.radius = radius;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Circle)) {
+            return false;
+        }
+        Circle other = (Circle) obj;
+        return Double.doubleToLongBits(centreX) == Double.doubleToLongBits(other.centreX) &&
+               Double.doubleToLongBits(centreY) == Double.doubleToLongBits(other.centreY) &&
+               Double.doubleToLongBits(radius) == Double.doubleToLongBits(other.radius);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        long bits = Double.doubleToLongBits(centreX);
+        bits = (31 * bits) + Double.doubleToLongBits(centreY);
+        bits = (31 * bits) + Double.doubleToLongBits(radius);
+        return (int) (bits ^ (bits >>> 32));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "Circle[centreX=" + centreX + ", centreY=" + centreY + ", radius=" + radius + "]";
+    }
+}
@@ -15,6 +15,10 @@
  */
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * <p>Implements Codabar barcode symbology according to BS EN 798:1996.
  *
@@ -35,6 +39,15 @@ public class Codabar extends Symbol {
         "11212121", "11221211", "12121121", "11121221", "11122211"
     };
 
+    /** The characters which can be used as start and stop characters. */
+    private static final CharacterClass START_STOP_CHARACTERS = CharacterClass.range('A', 'D');
+
+    /** The characters which can be used between the start and stop characters. */
+    private static final CharacterClass DATA_CHARACTERS = DIGITS.with("-$:/.+");
+
+    /** All of the characters which can be encoded. */
+    private static final CharacterClass VALID_CHARACTERS = DATA_CHARACTERS.with(START_STOP_CHARACTERS);
+
     private static final char[] CHARACTER_SET = {
         '0', '1', '2', '3', '4',
         '5', '6', '7', '8', '9',
@@ -64,11 +77,21 @@ public class Codabar extends Symbol {
         return moduleWidthRatio;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return VALID_CHARACTERS;
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void encode() {
 
-        if (!content.matches("[A-D]{1}[0-9:/\\$\\.\\+\u002D]+[A-D]{1}")) {
+        int length = content.length();
+        if (length < 3 ||
+            !START_STOP_CHARACTERS.contains(content.charAt(0)) ||
+            !START_STOP_CHARACTERS.contains(content.charAt(length - 1)) ||
+            !DATA_CHARACTERS.matches(content.subSequence(1, length - 1))) {
             throw new OkapiException("Invalid characters in input");
         }
 
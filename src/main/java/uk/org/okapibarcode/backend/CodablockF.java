@@ -15,9 +15,12 @@
  */
 package uk.org.okapibarcode.backend;
 
-import java.awt.geom.Rectangle2D;
+import static uk.org.okapibarcode.util.CharacterClass.LATIN_1;
+
 import java.nio.charset.StandardCharsets;
 
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * <p>Implements Codablock-F according to AIM Europe "Uniform Symbology Specification - Codablock F", 1995.
  *
@@ -59,6 +62,19 @@ public class CodablockF extends Symbol {
     private CfMode final_mode;
     private CfMode[] subset_selector = new CfMode[44];
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return LATIN_1;
+    }
+
+    @Override
+    protected void resetWorkingState() {
+        super.resetWorkingState();
+        blockmatrix = new int[44][62];
+        source = null;
+        subset_selector = new CfMode[44];
+    }
+
     @Override
     protected void encode() {
 
@@ -79,7 +95,7 @@ public class CodablockF extends Symbol {
             throw new OkapiException("Input data too long");
         }
 
-        if (!content.matches("[\u0000-\u00FF]+")) {
+        if (!LATIN_1.matches(content)) {
             throw new OkapiException("Invalid characters in input data");
         }
 
@@ -817,7 +833,7 @@ public class CodablockF extends Symbol {
                         h = row_height[yBlock];
                     }
                     if (w != 0 && h != 0) {
-                        Rectangle2D.Double rect = new Rectangle2D.Double(x, y, w, h);
+                        Rectangle rect = new Rectangle(x, y, w, h);
                         rectangles.add(rect);
                     }
                     if ((x + w) > symbol_width) {
@@ -834,15 +850,15 @@ public class CodablockF extends Symbol {
             }
             /* Add bars between rows */
             if (yBlock != (row_count - 1)) {
-                Rectangle2D.Double rect = new Rectangle2D.Double(11, y - 1, (symbol_width - 24), 2);
+                Rectangle rect = new Rectangle(11, y - 1, (symbol_width - 24), 2);
                 rectangles.add(rect);
             }
         }
 
         /* Add top and bottom binding bars */
-        Rectangle2D.Double top = new Rectangle2D.Double(0, 0, symbol_width, 2);
+        Rectangle top = new Rectangle(0, 0, symbol_width, 2);
         rectangles.add(top);
-        Rectangle2D.Double bottom = new Rectangle2D.Double(0, y - 1, symbol_width, 2);
+        Rectangle bottom = new Rectangle(0, y - 1, symbol_width, 2);
         rectangles.add(bottom);
         symbol_height += 1;
     }
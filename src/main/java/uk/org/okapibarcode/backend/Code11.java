@@ -16,6 +16,10 @@
 
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * Implements Code 11 bar code symbology.
  * <p>
@@ -27,6 +31,9 @@ package uk.org.okapibarcode.backend;
  */
 public class Code11 extends Symbol {
 
+    /** The characters which can be encoded. */
+    private static final CharacterClass VALID_CHARACTERS = DIGITS.with("-");
+
     private static final String[] CODE_11_TABLE = {
         "111121", "211121", "121121", "221111", "112121", "212111",
         "122111", "111221", "211211", "211111", "112111"
@@ -124,11 +131,17 @@ public class Code11 extends Symbol {
         return stopDelimiter;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return VALID_CHARACTERS;
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void encode() {
 
-        if (!content.matches("[0-9-]+")) {
+        if (!VALID_CHARACTERS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
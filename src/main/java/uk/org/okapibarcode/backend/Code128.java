@@ -16,12 +16,15 @@
 package uk.org.okapibarcode.backend;
 
 import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static uk.org.okapibarcode.util.CharacterClass.LATIN_1;
 
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CoderResult;
 
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * <p>Implements Code 128 bar code symbology according to ISO/IEC 15417:2007.
  *
@@ -62,6 +65,8 @@ public class Code128 extends Symbol {
      */
     public static final char FNC4 = '\u014D';
 
+    private static final CharacterClass VALID_CHARACTERS = LATIN_1.with(new String(new char[] { FNC1, FNC2, FNC3, FNC4 }));
+
     private enum Mode {
         NULL, SHIFTA, LATCHA, SHIFTB, LATCHB, SHIFTC, LATCHC, AORB, ABORC
     }
@@ -130,6 +135,18 @@ public class Code128 extends Symbol {
         compositeMode = Composite.OFF;
     }
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return VALID_CHARACTERS;
+    }
+
+    @Override
+    protected void resetWorkingState() {
+        super.resetWorkingState();
+        mode_type = new Mode[200];
+        mode_length = new int[200];
+    }
+
     @Override
     protected void encode() {
         int sourcelen = content.length();
@@ -15,9 +15,12 @@
  */
 package uk.org.okapibarcode.backend;
 
-import java.awt.geom.Rectangle2D;
+import static uk.org.okapibarcode.util.CharacterClass.LATIN_1;
+
 import java.nio.charset.StandardCharsets;
 
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * <p>Implements Code 16K symbology according to BS EN 12323:2005.
  *
@@ -70,6 +73,18 @@ public class Code16k extends Symbol {
     private int[] block_length = new int[170]; /* RENAME block_length */
     private int block_count;
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return LATIN_1;
+    }
+
+    @Override
+    protected void resetWorkingState() {
+        super.resetWorkingState();
+        block_mode = new Mode[170];
+        block_length = new int[170];
+    }
+
     @Override
     protected void encode() {
 
@@ -91,7 +106,7 @@ public class Code16k extends Symbol {
         boolean f_state;
         int[] inputData;
 
-        if (!content.matches("[\u0000-\u00FF]+")) {
+        if (!LATIN_1.matches(content)) {
             throw new OkapiException("Invalid characters in input data");
         }
 
@@ -757,7 +772,7 @@ public class Code16k extends Symbol {
                         h = row_height[yBlock];
                     }
                     if (w != 0 && h != 0) {
-                        Rectangle2D.Double rect = new Rectangle2D.Double(x, y, w, h);
+                        Rectangle rect = new Rectangle(x, y, w, h);
                         rectangles.add(rect);
                     }
                     if ((x + w) > symbol_width) {
@@ -774,15 +789,15 @@ public class Code16k extends Symbol {
             }
             /* Add bars between rows */
             if (yBlock != (row_count - 1)) {
-                Rectangle2D.Double rect = new Rectangle2D.Double(15, y - 1, (symbol_width - 15), 2);
+                Rectangle rect = new Rectangle(15, y - 1, (symbol_width - 15), 2);
                 rectangles.add(rect);
             }
         }
 
         /* Add top and bottom binding bars */
-        Rectangle2D.Double top = new Rectangle2D.Double(0, 0, (symbol_width + 15), 2);
+        Rectangle top = new Rectangle(0, 0, (symbol_width + 15), 2);
         rectangles.add(top);
-        Rectangle2D.Double bottom = new Rectangle2D.Double(0, y - 1, (symbol_width + 15), 2);
+        Rectangle bottom = new Rectangle(0, y - 1, (symbol_width + 15), 2);
         rectangles.add(bottom);
         symbol_width += 15;
         symbol_height += 1;
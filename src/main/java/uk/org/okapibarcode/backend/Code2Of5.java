@@ -17,8 +17,9 @@ package uk.org.okapibarcode.backend;
 
 import static uk.org.okapibarcode.backend.HumanReadableLocation.NONE;
 import static uk.org.okapibarcode.backend.HumanReadableLocation.TOP;
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
 
-import java.awt.geom.Rectangle2D;
+import uk.org.okapibarcode.util.CharacterClass;
 
 /**
  * Implements the Code 2 of 5 family of barcode standards.
@@ -135,6 +136,11 @@ public class Code2Of5 extends Symbol {
         mode = ToFMode.DPIDENT;
     }
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return DIGITS;
+    }
+
     @Override
     protected void encode() {
         switch (mode) {
@@ -167,7 +173,7 @@ public class Code2Of5 extends Symbol {
 
     private void dataMatrixTof() {
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -186,7 +192,7 @@ public class Code2Of5 extends Symbol {
 
     private void industrialTof() {
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -206,7 +212,7 @@ public class Code2Of5 extends Symbol {
 
     private void iataTof() {
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -226,7 +232,7 @@ public class Code2Of5 extends Symbol {
 
     private void dataLogic() {
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -253,7 +259,7 @@ public class Code2Of5 extends Symbol {
         } else {
             readable = "0" + content;
         }
-        if (!readable.matches("[0-9]+")) {
+        if (!DIGITS.matches(readable)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -291,7 +297,7 @@ public class Code2Of5 extends Symbol {
         int input_length = content.length();
         String dest;
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -335,7 +341,7 @@ public class Code2Of5 extends Symbol {
         int input_length = content.length();
         String dest;
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -380,7 +386,7 @@ public class Code2Of5 extends Symbol {
         int input_length = content.length();
         String dest;
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -454,7 +460,7 @@ public class Code2Of5 extends Symbol {
                     h = row_height[0];
                 }
                 if (w != 0 && h != 0) {
-                    Rectangle2D.Double rect = new Rectangle2D.Double(x + offset, y, w, h);
+                    Rectangle rect = new Rectangle(x + offset, y, w, h);
                     rectangles.add(rect);
                 }
                 symbol_width = (int) Math.ceil(x + w + (2 * offset));
@@ -467,10 +473,10 @@ public class Code2Of5 extends Symbol {
 
         if (mode == ToFMode.ITF14) {
             // Add bounding box
-            Rectangle2D.Double topBar = new Rectangle2D.Double(0, baseY, symbol_width, 4);
-            Rectangle2D.Double bottomBar = new Rectangle2D.Double(0, baseY + symbol_height - 4, symbol_width, 4);
-            Rectangle2D.Double leftBar = new Rectangle2D.Double(0, baseY, 4, symbol_height);
-            Rectangle2D.Double rightBar = new Rectangle2D.Double(symbol_width - 4, baseY, 4, symbol_height);
+            Rectangle topBar = new Rectangle(0, baseY, symbol_width, 4);
+            Rectangle bottomBar = new Rectangle(0, baseY + symbol_height - 4, symbol_width, 4);
+            Rectangle leftBar = new Rectangle(0, baseY, 4, symbol_height);
+            Rectangle rightBar = new Rectangle(symbol_width - 4, baseY, 4, symbol_height);
             rectangles.add(topBar);
             rectangles.add(bottomBar);
             rectangles.add(leftBar);
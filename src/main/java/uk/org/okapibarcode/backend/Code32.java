@@ -15,6 +15,10 @@
  */
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * <p>Implements Code 32, also known as Italian Pharmacode, A variation of Code
  * 39 used by the Italian Ministry of Health ("Ministero della Sanità")
@@ -32,6 +36,11 @@ public class Code32 extends Symbol {
         'W', 'X', 'Y', 'Z'
     };
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return DIGITS;
+    }
+
     @Override
     protected void encode() {
         int i, checksum, checkpart, checkdigit;
@@ -44,7 +53,7 @@ public class Code32 extends Symbol {
             throw new OkapiException("Input too long");
         }
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
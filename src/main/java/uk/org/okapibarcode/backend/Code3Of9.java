@@ -15,6 +15,11 @@
  */
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+import static uk.org.okapibarcode.util.CharacterClass.UPPER_CASE;
+
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * Implements Code 39 bar code symbology
  * According to ISO/IEC 16388:2007
@@ -28,6 +33,9 @@ package uk.org.okapibarcode.backend;
  */
 public class Code3Of9 extends Symbol {
 
+    /** The characters which can be encoded. */
+    private static final CharacterClass VALID_CHARACTERS = DIGITS.with(UPPER_CASE).with("-. $/+%");
+
     public enum CheckDigit {
         NONE, MOD43
     }
@@ -52,7 +60,7 @@ public class Code3Of9 extends Symbol {
     };
 
     private CheckDigit checkOption = CheckDigit.NONE;
-
+
     /** Ratio of wide bar width to narrow bar width. */
     private double moduleWidthRatio = 2;
 
@@ -84,10 +92,15 @@ public class Code3Of9 extends Symbol {
         checkOption = checkMode;
     }
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return VALID_CHARACTERS;
+    }
+
     @Override
     protected void encode() {
 
-        if (!content.matches("[0-9A-Z\\. \\-$/+%]+")) {
+        if (!VALID_CHARACTERS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
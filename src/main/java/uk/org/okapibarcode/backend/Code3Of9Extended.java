@@ -15,6 +15,10 @@
  */
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.ASCII;
+
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * <p>Implements Code 3 of 9 Extended, also known as Code 39e and Code39+.
  *
@@ -54,6 +58,11 @@ public class Code3Of9Extended extends Symbol {
         checkOption = checkMode;
     }
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return ASCII;
+    }
+
     @Override
     protected void encode() {
         String buffer = "";
@@ -65,7 +74,7 @@ public class Code3Of9Extended extends Symbol {
             c.setCheckDigit(Code3Of9.CheckDigit.MOD43);
         }
 
-        if (!content.matches("[\u0000-\u007F]+")) {
+        if (!ASCII.matches(content)) {
             throw new OkapiException("Invalid characters in input data");
         }
 
@@ -15,7 +15,9 @@
  */
 package uk.org.okapibarcode.backend;
 
-import java.awt.geom.Rectangle2D;
+import static uk.org.okapibarcode.util.CharacterClass.ASCII;
+
+import uk.org.okapibarcode.util.CharacterClass;
 
 /**
  * <p>Implements Code 49 according to ANSI/AIM-BC6-2000.
@@ -990,6 +992,11 @@ public class Code49 extends Symbol {
         '%', '!', '&', '*'
     };
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return ASCII;
+    }
+
     @Override
     protected void encode() {
         int length = content.length();
@@ -1001,7 +1008,7 @@ public class Code49 extends Symbol {
         int[][] c_grid = new int[8][8];
         int[][] w_grid = new int[8][4];
 
-        if (!content.matches("[\u0000-\u007F]+")) {
+        if (!ASCII.matches(content)) {
             throw new OkapiException("Invalid characters in input data");
         }
 
@@ -1330,7 +1337,7 @@ public class Code49 extends Symbol {
                         h = row_height[yBlock];
                     }
                     if (w != 0 && h != 0) {
-                        Rectangle2D.Double rect = new Rectangle2D.Double(x, y, w, h);
+                        Rectangle rect = new Rectangle(x, y, w, h);
                         rectangles.add(rect);
                     }
                     if (x + w > symbol_width) {
@@ -1347,15 +1354,15 @@ public class Code49 extends Symbol {
             }
             /* Add bars between rows */
             if (yBlock != row_count - 1) {
-                Rectangle2D.Double rect = new Rectangle2D.Double(15, y - 1, symbol_width - 15, 2);
+                Rectangle rect = new Rectangle(15, y - 1, symbol_width - 15, 2);
                 rectangles.add(rect);
             }
         }
 
         /* Add top and bottom binding bars */
-        Rectangle2D.Double top = new Rectangle2D.Double(0, 0, symbol_width + 15, 2);
+        Rectangle top = new Rectangle(0, 0, symbol_width + 15, 2);
         rectangles.add(top);
-        Rectangle2D.Double bottom = new Rectangle2D.Double(0, y - 1, symbol_width + 15, 2);
+        Rectangle bottom = new Rectangle(0, y - 1, symbol_width + 15, 2);
         rectangles.add(bottom);
         symbol_width += 15;
         symbol_height += 1;
@@ -16,6 +16,10 @@
 
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.ASCII;
+
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * Implements <a href="http://en.wikipedia.org/wiki/Code_93">Code 93</a>.
  * <p>
@@ -113,15 +117,21 @@ public class Code93 extends Symbol {
 
     /** {@inheritDoc} */
     @Override
-    protected void encode() {
+    protected CharacterClass getValidCharacters() {
+        return ASCII;
+    }
 
-        char[] controlChars = toControlChars(content);
-        int l = controlChars.length;
+    /** {@inheritDoc} */
+    @Override
+    protected void encode() {
 
-        if (!content.matches("[\u0000-\u007F]+")) {
+        if (!ASCII.matches(content)) {
             throw new OkapiException("Invalid characters in input data");
         }
 
+        char[] controlChars = toControlChars(content);
+        int l = controlChars.length;
+
         int[] values = new int[controlChars.length + 2];
         for (int i = 0; i < l; i++) {
             values[i] = positionOf(controlChars[i], CODE_93_LOOKUP);
@@ -15,8 +15,13 @@
  */
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+import static uk.org.okapibarcode.util.CharacterClass.LATIN_1;
+
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+
+import uk.org.okapibarcode.util.CharacterClass;
 /**
  * <p>Implements Code One.
  *
@@ -122,6 +127,20 @@ public class CodeOne extends Symbol {
         preferredVersion = version;
     }
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return preferredVersion == Version.S ? DIGITS : LATIN_1;
+    }
+
+    @Override
+    protected void resetWorkingState() {
+        super.resetWorkingState();
+        data = new int[1500];
+        source = null;
+        datagrid = new int[136][120];
+        outputGrid = new boolean[148][134];
+    }
+
     @Override
     protected void encode() {
         int size = 1, i, j, data_blocks;
@@ -138,9 +157,8 @@ public class CodeOne extends Symbol {
         int data_length;
         int data_cw, ecc_cw;
         int[] sub_data = new int[190];
-        String bin;
 
-        if (!content.matches("[\u0000-\u00FF]+")) {
+        if (!LATIN_1.matches(content)) {
             throw new OkapiException("Invalid characters in input data");
         }
 
@@ -153,7 +171,7 @@ public class CodeOne extends Symbol {
                 throw new OkapiException("Input data too long");
             }
 
-            if (!content.matches("[0-9]+?")) {
+            if (!DIGITS.matches(content)) {
                 throw new OkapiException("Invalid characters in input");
             }
 
@@ -704,18 +722,14 @@ public class CodeOne extends Symbol {
         }
 
         readable = "";
-        pattern = new String[row_count];
+        modules = new ModuleMatrix(symbol_width, row_count);
         row_height = new int[row_count];
         for (i = 0; i < row_count; i++) {
-            bin = "";
             for (j = 0; j < symbol_width; j++) {
                 if (outputGrid[i][j]) {
-                    bin += "1";
-                } else {
-                    bin += "0";
+                    modules.set(j, i);
                 }
             }
-            pattern[i] = bin2pat(bin);
             row_height[i] = 1;
         }
     }
@@ -15,7 +15,6 @@
  */
 package uk.org.okapibarcode.backend;
 
-import java.awt.geom.Rectangle2D;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
@@ -524,12 +523,22 @@ public class Composite extends Symbol {
         userPreferredMode = userMode;
     }
 
+    @Override
+    protected void resetWorkingState() {
+        super.resetWorkingState();
+        general_field_type = null;
+        codeWords = new int[180];
+        pwr928 = new int[69][7];
+        bitStr = new int[13];
+        inputData = null;
+    }
+
     @Override
     protected void encode() {
 
-        List < Rectangle2D.Double > linear_rect = new ArrayList<>();
+        List < Rectangle > linear_rect = new ArrayList<>();
         List < TextBox > linear_txt = new ArrayList<>();
-        List < Rectangle2D.Double > combine_rect = new ArrayList<>();
+        List < Rectangle > combine_rect = new ArrayList<>();
         List < TextBox > combine_txt = new ArrayList<>();
         String linear_encodeInfo = null;
         int linear_height = 0;
@@ -695,7 +704,7 @@ public class Composite extends Symbol {
         }
 
         for (i = 0; i < rectangles.size(); i++) {
-            Rectangle2D.Double comprect = new Rectangle2D.Double(rectangles.get(i).x + top_shift, rectangles.get(i).y, rectangles.get(i).width, rectangles.get(i).height);
+            Rectangle comprect = new Rectangle(rectangles.get(i).x + top_shift, rectangles.get(i).y, rectangles.get(i).width, rectangles.get(i).height);
             if ((rectangles.get(i).x + top_shift + rectangles.get(i).width) > max_x) {
                 max_x = (int) (rectangles.get(i).x + top_shift + rectangles.get(i).width);
             }
@@ -703,7 +712,7 @@ public class Composite extends Symbol {
         }
 
         for (i = 0; i < linear_rect.size(); i++) {
-            Rectangle2D.Double linrect = new Rectangle2D.Double(linear_rect.get(i).x + bottom_shift, linear_rect.get(i).y, linear_rect.get(i).width, linear_rect.get(i).height);
+            Rectangle linrect = new Rectangle(linear_rect.get(i).x + bottom_shift, linear_rect.get(i).y, linear_rect.get(i).width, linear_rect.get(i).height);
             linrect.y += symbol_height;
             if ((linear_rect.get(i).x + bottom_shift + linear_rect.get(i).width) > max_x) {
                 max_x = (int) (linear_rect.get(i).x + bottom_shift + linear_rect.get(i).width);
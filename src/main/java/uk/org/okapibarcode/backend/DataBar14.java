@@ -16,9 +16,12 @@
 package uk.org.okapibarcode.backend;
 
 import static uk.org.okapibarcode.backend.DataBarLimited.getWidths;
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
 
 import java.math.BigInteger;
 
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * <p>Implements GS1 DataBar Omnidirectional and GS1 DataBar Truncated according to ISO/IEC 24724:2011.
  *
@@ -105,6 +108,17 @@ public class DataBar14 extends Symbol {
         symbolType = Mode.STACKED;
     }
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return DIGITS;
+    }
+
+    @Override
+    protected void resetWorkingState() {
+        super.resetWorkingState();
+        grid = new boolean[5][100];
+    }
+
     @Override
     protected void encode() {
         BigInteger accum;
@@ -133,7 +147,7 @@ public class DataBar14 extends Symbol {
             throw new OkapiException("Input too long");
         }
 
-        if (!content.matches("[0-9]+?")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -16,6 +16,10 @@
 package uk.org.okapibarcode.backend;
 
 import static uk.org.okapibarcode.backend.DataBarLimited.getWidths;
+import static uk.org.okapibarcode.util.CharacterClass.LOWER_CASE;
+import static uk.org.okapibarcode.util.CharacterClass.range;
+
+import uk.org.okapibarcode.util.CharacterClass;
 
 /**
  * <p>Implements GS1 DataBar Expanded Omnidirectional and GS1 Expanded Stacked Omnidirectional
@@ -27,6 +31,10 @@ import static uk.org.okapibarcode.backend.DataBarLimited.getWidths;
  */
 public class DataBarExpanded extends Symbol {
 
+    /** The characters which can be encoded in the general purpose data field (ISO/IEC 646 subset, plus FNC1). */
+    private static final CharacterClass VALID_CHARACTERS =
+        range(' ', '"').with(range('%', '?')).with(range('A', '[')).with("]_").with(LOWER_CASE);
+
     private static final int[] G_SUM_EXP = {
         0, 348, 1388, 2948, 3988
     };
@@ -118,6 +126,11 @@ public class DataBarExpanded extends Symbol {
         // Do nothing!
     }
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return VALID_CHARACTERS;
+    }
+
     /**
      * Set the width of a stacked symbol by selecting the number
      * of "columns" or symbol segments in each row of data.
@@ -149,6 +162,12 @@ public class DataBarExpanded extends Symbol {
         linkageFlag = false;
     }
 
+    @Override
+    protected void resetWorkingState() {
+        super.resetWorkingState();
+        generalFieldType = null;
+    }
+
     @Override
     protected void encode() {
         int i;
@@ -15,8 +15,12 @@
  */
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+
 import java.math.BigInteger;
 
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * <p>Implements GS1 DataBar Limited according to ISO/IEC 24724:2011.
  *
@@ -159,6 +163,11 @@ public class DataBarLimited extends Symbol {
         linkageFlag = false;
     }
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return DIGITS;
+    }
+
     @Override
     protected void encode() {
         BigInteger accum;
@@ -191,7 +200,7 @@ public class DataBarLimited extends Symbol {
             throw new OkapiException("Input too long");
         }
 
-        if (!content.matches("[0-9]+?")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -190,6 +190,16 @@ public class DataMatrix extends Symbol {
         return preferredSize;
     }
 
+    @Override
+    protected void resetWorkingState() {
+        super.resetWorkingState();
+        target = new int[2200];
+        binary = new int[2200];
+        places = null;
+        inputData = null;
+        process_buffer = new int[8];
+    }
+
     @Override
     protected void encode() {
 
@@ -199,7 +209,6 @@ public class DataMatrix extends Symbol {
         int H, W, FH, FW, datablock, bytes, rsblock;
         int x, y, NC, NR, v;
         int[] grid;
-        String bin;
 
         eciProcess(); // Get ECI mode
 
@@ -306,19 +315,15 @@ public class DataMatrix extends Symbol {
         }
 
         readable = "";
-        pattern = new String[H];
+        modules = new ModuleMatrix(W, H);
         row_count = H;
         row_height = new int[H];
         for (y = H - 1; y >= 0; y--) {
-            bin = "";
             for (x = 0; x < W; x++) {
                 if (grid[W * y + x] == 1) {
-                    bin += "1";
-                } else {
-                    bin += "0";
+                    modules.set(x, (H - y) - 1);
                 }
             }
-            pattern[(H - y) - 1] = bin2pat(bin);
             row_height[(H - y) - 1] = 1;
         }
 
@@ -1313,10 +1318,7 @@ public class DataMatrix extends Symbol {
             for (n = b; n < bytes; n += blocks) {
                 buf[p++] = target[n];
             }
-            rs.encode(p, buf);
-            for (n = 0; n < rsblock; n++) {
-                ecc[n] = rs.getResult(n);
-            }
+            rs.encode(p, buf, ecc);
             p = rsblock - 1; // comes back reversed
             for (n = b; n < rsblock * blocks; n += blocks) {
                 if (skew == 1) {
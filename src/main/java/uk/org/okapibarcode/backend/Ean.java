@@ -17,8 +17,10 @@ package uk.org.okapibarcode.backend;
 
 import static uk.org.okapibarcode.backend.HumanReadableLocation.NONE;
 import static uk.org.okapibarcode.backend.HumanReadableLocation.TOP;
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+
+import uk.org.okapibarcode.util.CharacterClass;
 
-import java.awt.geom.Rectangle2D;
 /**
  * <p>Implements EAN bar code symbology according to BS EN 797:1996.
  *
@@ -31,6 +33,9 @@ import java.awt.geom.Rectangle2D;
  */
 public class Ean extends Symbol {
 
+    /** The characters which can be entered, including the <code>'+'</code> which separates any add-on data. */
+    private static final CharacterClass VALID_INPUT = DIGITS.with("+");
+
     public enum Mode {
         EAN8, EAN13
     };
@@ -82,6 +87,11 @@ public class Ean extends Symbol {
         }
     }
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return VALID_INPUT;
+    }
+
     @Override
     protected void encode() {
 
@@ -134,7 +144,7 @@ public class Ean extends Symbol {
         String dest, parity;
         int i;
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -187,7 +197,7 @@ public class Ean extends Symbol {
         int i;
         String dest;
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -301,7 +311,7 @@ public class Ean extends Symbol {
                         }
                     }
                 }
-                Rectangle2D.Double rect = new Rectangle2D.Double(x + 6, y + compositeOffset, w, h);
+                Rectangle rect = new Rectangle(x + 6, y + compositeOffset, w, h);
                 rectangles.add(rect);
                 if ((x + w + 12) > symbol_width) {
                     symbol_width = x + w + 12;
@@ -316,15 +326,15 @@ public class Ean extends Symbol {
         if (linkageFlag) {
             // Add separator for composite symbology
             if (mode == Mode.EAN13) {
-                rectangles.add(new Rectangle2D.Double(0 + 6, 0, 1, 2));
-                rectangles.add(new Rectangle2D.Double(94 + 6, 0, 1, 2));
-                rectangles.add(new Rectangle2D.Double(-1 + 6, 2, 1, 2));
-                rectangles.add(new Rectangle2D.Double(95 + 6, 2, 1, 2));
+                rectangles.add(new Rectangle(0 + 6, 0, 1, 2));
+                rectangles.add(new Rectangle(94 + 6, 0, 1, 2));
+                rectangles.add(new Rectangle(-1 + 6, 2, 1, 2));
+                rectangles.add(new Rectangle(95 + 6, 2, 1, 2));
             } else {
-                rectangles.add(new Rectangle2D.Double(0 + 6, 0, 1, 2));
-                rectangles.add(new Rectangle2D.Double(66 + 6, 0, 1, 2));
-                rectangles.add(new Rectangle2D.Double(-1 + 6, 2, 1, 2));
-                rectangles.add(new Rectangle2D.Double(67 + 6, 2, 1, 2));
+                rectangles.add(new Rectangle(0 + 6, 0, 1, 2));
+                rectangles.add(new Rectangle(66 + 6, 0, 1, 2));
+                rectangles.add(new Rectangle(-1 + 6, 2, 1, 2));
+                rectangles.add(new Rectangle(67 + 6, 2, 1, 2));
             }
         }
 
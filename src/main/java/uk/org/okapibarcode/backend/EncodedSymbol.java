@@ -0,0 +1,318 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.backend;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import uk.org.okapibarcode.backend.Symbol.DataType;
+
+/**
+ * <p>The immutable result of encoding some data in a bar code symbol: the symbol geometry, the module matrix (for
+ * matrix symbologies), the human-readable text, and the relevant encoding metadata, together with the rendering
+ * settings (quiet zones, font, text alignment) which were in effect when the symbol was encoded.
+ *
+ * <p>Instances are created by {@link Symbol#encode(String)}, which can be called concurrently from multiple threads
+ * on a single configured symbol, or by {@link #of(Symbol)}, which takes a snapshot of a symbol which has already been
+ * encoded via {@link Symbol#setContent(String)}.
+ *
+ * <p>Instances do not share any mutable state with the symbol which they were created from, or with their callers:
+ * the module matrix, the rectangles and the hexagons are copied each time they are requested (text boxes and
+ * circles are immutable), so callers which need them more than once should keep the returned copy.
+ */
+public final class EncodedSymbol {
+
+    private final Class< ? extends Symbol > symbolType;
+    private final DataType dataType;
+    private final String content;
+    private final String readable;
+    private final int eciMode;
+    private final String encodeInfo;
+    private final int width;
+    private final int height;
+    private final int humanReadableHeight;
+    private final int quietZoneHorizontal;
+    private final int quietZoneVertical;
+    private final int moduleWidth;
+    private final String fontName;
+    private final int fontSize;
+    private final HumanReadableLocation humanReadableLocation;
+    private final HumanReadableAlignment humanReadableAlignment;
+    private final ModuleMatrix modules;
+    private final List< Rectangle > rectangles;
+    private final List< TextBox > texts;
+    private final List< Hexagon > hexagons;
+    private final List< Circle > target;
+
+    /**
+     * Creates a new instance from the current state of the specified symbol.
+     *
+     * @param symbol the symbol whose state is to be captured
+     * @param owned whether the caller gives up ownership of the symbol's internal state, in which case no copies are made
+     */
+    EncodedSymbol(Symbol symbol, boolean owned) {
+        this.symbolType = symbol.getClass();
+        this.dataType = symbol.getDataType();
+        this.content = symbol.getContent();
+        this.readable = symbol.readable;
+        this.eciMode = symbol.getEciMode();
+        this.encodeInfo = symbol.getEncodeInfo();
+        this.width = symbol.getWidth();
+        this.height = symbol.getHeight();
+        this.humanReadableHeight = symbol.getHumanReadableHeight();
+        this.quietZoneHorizontal = symbol.getQuietZoneHorizontal();
+        this.quietZoneVertical = symbol.getQuietZoneVertical();
+        this.moduleWidth = symbol.getModuleWidth();
+        this.fontName = symbol.getFontName();
+        this.fontSize = symbol.getFontSize();
+        this.humanReadableLocation = symbol.getHumanReadableLocation();
+        this.humanReadableAlignment = symbol.getHumanReadableAlignment();
+        if (owned) {
+            this.modules = symbol.modules;
+            this.rectangles = Collections.unmodifiableList(symbol.rectangles);
+            this.texts = Collections.unmodifiableList(symbol.texts);
+            this.hexagons = Collections.unmodifiableList(symbol.hexagons);
+            this.target = Collections.unmodifiableList(symbol.target);
+        } else {
+            this.modules = (symbol.modules != null ? new ModuleMatrix(symbol.modules) : null);
+            this.rectangles = Collections.unmodifiableList(copyRectangles(symbol.rectangles));
+            this.texts = Collections.unmodifiableList(new ArrayList<>(symbol.texts));
+            this.hexagons = Collections.unmodifiableList(copyHexagons(symbol.hexagons));
+            this.target = Collections.unmodifiableList(new ArrayList<>(symbol.target));
+        }
+    }
+
+    private static List< Rectangle > copyRectangles(List< Rectangle > rectangles) {
+        List< Rectangle > copy = new ArrayList<>(rectangles.size());
+        for (Rectangle rect : rectangles) {
+            copy.add(new Rectangle(rect));
+        }
+        return copy;
+    }
+
+    private static List< Hexagon > copyHexagons(List< Hexagon > hexagons) {
+        List< Hexagon > copy = new ArrayList<>(hexagons.size());
+        for (Hexagon hexagon : hexagons) {
+            copy.add(new Hexagon(hexagon.centreX, hexagon.centreY));
+        }
+        return copy;
+    }
+
+    /**
+     * Returns a snapshot of the current encoded state of the specified symbol.
+     *
+     * @param symbol the symbol to take a snapshot of
+     * @return a snapshot of the current encoded state of the specified symbol
+     */
+    public static EncodedSymbol of(Symbol symbol) {
+        return new EncodedSymbol(symbol, false);
+    }
+
+    /**
+     * Returns the type of symbol which produced this encoded symbol.
+     *
+     * @return the type of symbol which produced this encoded symbol
+     */
+    public Class< ? extends Symbol > getSymbolType() {
+        return symbolType;
+    }
+
+    /**
+     * Returns the type of input data which was encoded.
+     *
+     * @return the type of input data which was encoded
+     */
+    public DataType getDataType() {
+        return dataType;
+    }
+
+    /**
+     * Returns the content which was encoded, after any GS1 or HIBC pre-processing.
+     *
+     * @return the content which was encoded
+     */
+    public String getContent() {
+        return content;
+    }
+
+    /**
+     * Returns the human-readable text, or an empty string if this symbol has no human-readable text.
+     *
+     * @return the human-readable text
+     */
+    public String getReadable() {
+        return readable;
+    }
+
+    /**
+     * Returns the ECI mode used, or <code>-1</code> if ECI was not used.
+     *
+     * @return the ECI mode used
+     */
+    public int getEciMode() {
+        return eciMode;
+    }
+
+    /**
+     * Returns a human readable summary of the decisions made by the encoder.
+     *
+     * @return a human readable summary of the decisions made by the encoder
+     */
+    public String getEncodeInfo() {
+        return encodeInfo;
+    }
+
+    /**
+     * Returns the width of the symbol, including the horizontal quiet zone.
+     *
+     * @return the width of the symbol
+     * @see Symbol#getWidth()
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the height of the symbol, including the human-readable text and the vertical quiet zone.
+     *
+     * @return the height of the symbol
+     * @see Symbol#getHeight()
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the height of the human-readable text, including the space between the text and other symbols.
+     *
+     * @return the height of the human-readable text
+     * @see Symbol#getHumanReadableHeight()
+     */
+    public int getHumanReadableHeight() {
+        return humanReadableHeight;
+    }
+
+    /**
+     * Returns the horizontal quiet zone (white space) added to the left and to the right of the symbol.
+     *
+     * @return the horizontal quiet zone
+     */
+    public int getQuietZoneHorizontal() {
+        return quietZoneHorizontal;
+    }
+
+    /**
+     * Returns the vertical quiet zone (white space) added above and below the symbol.
+     *
+     * @return the vertical quiet zone
+     */
+    public int getQuietZoneVertical() {
+        return quietZoneVertical;
+    }
+
+    /**
+     * Returns the module width used.
+     *
+     * @return the module width used
+     */
+    public int getModuleWidth() {
+        return moduleWidth;
+    }
+
+    /**
+     * Returns the name of the font to use to render the human-readable text.
+     *
+     * @return the name of the font to use to render the human-readable text
+     */
+    public String getFontName() {
+        return fontName;
+    }
+
+    /**
+     * Returns the size of the font to use to render the human-readable text.
+     *
+     * @return the size of the font to use to render the human-readable text
+     */
+    public int getFontSize() {
+        return fontSize;
+    }
+
+    /**
+     * Returns the location of the human-readable text.
+     *
+     * @return the location of the human-readable text
+     */
+    public HumanReadableLocation getHumanReadableLocation() {
+        return humanReadableLocation;
+    }
+
+    /**
+     * Returns the text alignment of the human-readable text.
+     *
+     * @return the text alignment of the human-readable text
+     */
+    public HumanReadableAlignment getHumanReadableAlignment() {
+        return humanReadableAlignment;
+    }
+
+    /**
+     * Returns a copy of the module matrix, or <code>null</code> if the symbology does not use a module matrix.
+     *
+     * @return a copy of the module matrix, or <code>null</code> if the symbology does not use a module matrix
+     * @see Symbol#getModules()
+     */
+    public ModuleMatrix getModules() {
+        return modules != null ? new ModuleMatrix(modules) : null;
+    }
+
+    /**
+     * Returns a copy of the render information about the rectangles in this symbol.
+     *
+     * @return render information about the rectangles in this symbol
+     */
+    public List< Rectangle > getRectangles() {
+        return copyRectangles(rectangles);
+    }
+
+    /**
+     * Returns render information about the text elements in this symbol.
+     *
+     * @return render information about the text elements in this symbol
+     */
+    public List< TextBox > getTexts() {
+        return texts;
+    }
+
+    /**
+     * Returns a copy of the render information about the hexagons in this symbol.
+     *
+     * @return render information about the hexagons in this symbol
+     */
+    public List< Hexagon > getHexagons() {
+        return copyHexagons(hexagons);
+    }
+
+    /**
+     * Returns render information about the target circles in this symbol.
+     *
+     * @return render information about the target circles in this symbol
+     */
+    public List< Circle > getTarget() {
+        return target;
+    }
+}
@@ -338,6 +338,14 @@ public class GridMatrix extends Symbol {
         preferredEccLevel = eccLevel;
     }
 
+    @Override
+    protected void resetWorkingState() {
+        super.resetWorkingState();
+        inputIntArray = null;
+        word = new int[1460];
+        grid = null;
+    }
+
     @Override
     protected void encode() {
         int size, modules, dark, error_number;
@@ -346,7 +354,6 @@ public class GridMatrix extends Symbol {
         int data_cw, input_latch = 0;
         int data_max;
         int length;
-        String bin;
         int qmarksBefore, qmarksAfter;
 
         for (i = 0; i < 1460; i++) {
@@ -540,19 +547,15 @@ public class GridMatrix extends Symbol {
         symbol_width = size;
         row_count = size;
         row_height = new int[row_count];
-        pattern = new String[row_count];
+        this.modules = new ModuleMatrix(size, size);
 
         for (x = 0; x < size; x++) {
-            bin = "";
             for (y = 0; y < size; y++) {
                 if (grid[(x * size) + y]) {
-                    bin += "1";
-                } else {
-                    bin += "0";
+                    this.modules.set(y, x);
                 }
             }
             row_height[x] = 1;
-            pattern[x] = bin2pat(bin);
         }
     }
 
@@ -1935,10 +1938,7 @@ public class GridMatrix extends Symbol {
             /* Calculate ECC data for this block */
             rs.init_gf(0x89);
             rs.init_code(ecc_size, 1);
-            rs.encode(data_size, data_block);
-            for (j = 0; j < ecc_size; j++) {
-                ecc_block[j] = rs.getResult(j);
-            }
+            rs.encode(data_size, data_block, ecc_block);
 
             /* Correct error correction data but in reverse order */
             for (j = 0; j < data_size; j++) {
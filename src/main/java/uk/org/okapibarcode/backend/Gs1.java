@@ -0,0 +1,432 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.backend;
+
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+import static uk.org.okapibarcode.util.CharacterClass.LOWER_CASE;
+import static uk.org.okapibarcode.util.CharacterClass.UPPER_CASE;
+
+import uk.org.okapibarcode.util.CharacterClass;
+
+/**
+ * <p>Parses and validates GS1 data in bracketed form (e.g. <code>[01]12345678901234[10]ABC</code>) according to the
+ * GS1 General Specifications, using a precompiled dictionary of Application Identifiers (AIs) which records the length
+ * and content of the data expected for each AI, and whether or not the data needs to be terminated by an FNC1.
+ *
+ * <p>The data is checked and converted in a single pass, producing the string used by the symbologies which support
+ * GS1 data, in which the AIs are not delimited and the character <code>'['</code> represents FNC1.
+ *
+ * <p>AIs which are not in the dictionary are accepted as long as they are well formed, unless they fall in one of the
+ * ranges which have never been valid; their data is not checked, and they are followed by an FNC1 unless their first
+ * two digits identify a predefined length AI.
+ *
+ * @see Symbol#gs1SanityCheck(String)
+ */
+final class Gs1 {
+
+    /** GS1 AI encodable character set 82, used by alphanumeric data fields. */
+    private static final CharacterClass CSET_82 =
+        DIGITS.with(UPPER_CASE).with(LOWER_CASE).with("!\"%&'()*+,-./:;<=>?_");
+
+    /** GS1 AI encodable character set 39, used by a few alphanumeric data fields. */
+    private static final CharacterClass CSET_39 = DIGITS.with(UPPER_CASE).with("#-/");
+
+    /** The AI dictionary, indexed by {@link #index(int, int)}. */
+    private static final Ai[] AIS = new Ai[11100];
+
+    static {
+        numeric("00", 18);
+        numeric("01", 14);
+        numeric("02", 14);
+        numeric("03", 14);
+        numeric("04", 16);
+        text("10", 20);
+        numeric("11", 6);
+        numeric("12", 6);
+        numeric("13", 6);
+        numeric("15", 6);
+        numeric("16", 6);
+        numeric("17", 6);
+        numeric("20", 2);
+        text("21", 20);
+        text("22", 20);
+        text("235", 28);
+        text("240", 30);
+        text("241", 30);
+        numeric("242", 1, 6);
+        text("243", 20);
+        text("250", 30);
+        text("251", 30);
+        add("253", 13, 30, 13, CSET_82);
+        text("254", 20);
+        numeric("255", 13, 25);
+        numeric("30", 1, 8);
+        numeric("37", 1, 8);
+        for (int n = 0; n <= 5; n++) {
+            for (int i = 310; i <= 369; i++) {
+                if (i <= 316 || (i >= 320 && i <= 337) || (i >= 340 && i <= 357) || i >= 360) {
+                    numeric(i + "" + n, 6);
+                }
+            }
+            numeric("395" + n, 6);
+        }
+        for (int n = 0; n <= 9; n++) {
+            numeric("390" + n, 1, 15);
+            numeric("391" + n, 4, 18);
+            numeric("392" + n, 1, 15);
+            numeric("393" + n, 4, 18);
+        }
+        for (int n = 0; n <= 3; n++) {
+            numeric("394" + n, 4);
+        }
+        text("400", 30);
+        text("401", 30);
+        numeric("402", 17);
+        text("403", 30);
+        for (int i = 410; i <= 417; i++) {
+            numeric(String.valueOf(i), 13);
+        }
+        text("420", 20);
+        add("421", 4, 12, 3, CSET_82);
+        numeric("422", 3);
+        numeric("423", 3, 15);
+        numeric("424", 3);
+        numeric("425", 3, 15);
+        numeric("426", 3);
+        text("427", 3);
+        text("4300", 35);
+        text("4301", 35);
+        for (int i = 4302; i <= 4306; i++) {
+            text(String.valueOf(i), 70);
+        }
+        add("4307", 2, 2, 0, CSET_82);
+        text("4308", 30);
+        text("4310", 35);
+        text("4311", 35);
+        for (int i = 4312; i <= 4316; i++) {
+            text(String.valueOf(i), 70);
+        }
+        add("4317", 2, 2, 0, CSET_82);
+        text("4318", 20);
+        text("4319", 30);
+        text("4320", 35);
+        numeric("4321", 1);
+        numeric("4322", 1);
+        numeric("4323", 1);
+        numeric("4324", 10);
+        numeric("4325", 10);
+        numeric("4326", 6);
+        numeric("7001", 13);
+        text("7002", 30);
+        numeric("7003", 10);
+        numeric("7004", 1, 4);
+        text("7005", 12);
+        numeric("7006", 6);
+        numeric("7007", 6, 12);
+        text("7008", 3);
+        text("7009", 10);
+        text("7010", 2);
+        numeric("7011", 6, 10);
+        text("7020", 20);
+        text("7021", 20);
+        text("7022", 20);
+        text("7023", 30);
+        for (int i = 7030; i <= 7039; i++) {
+            add(String.valueOf(i), 4, 30, 3, CSET_82);
+        }
+        add("7040", 4, 4, 1, CSET_82);
+        for (int i = 710; i <= 715; i++) {
+            text(String.valueOf(i), 20);
+        }
+        for (int i = 7230; i <= 7239; i++) {
+            add(String.valueOf(i), 3, 30, 0, CSET_82);
+        }
+        text("7240", 20);
+        numeric("7241", 2);
+        text("7242", 25);
+        numeric("8001", 14);
+        text("8002", 20);
+        add("8003", 14, 30, 14, CSET_82);
+        text("8004", 30);
+        numeric("8005", 6);
+        numeric("8006", 18);
+        text("8007", 34);
+        numeric("8008", 8, 12);
+        text("8009", 50);
+        add("8010", 1, 30, 0, CSET_39);
+        numeric("8011", 1, 12);
+        text("8012", 20);
+        text("8013", 25);
+        text("8014", 25);
+        numeric("8017", 18);
+        numeric("8018", 18);
+        numeric("8019", 1, 10);
+        text("8020", 25);
+        numeric("8026", 18);
+        text("8110", 70);
+        numeric("8111", 4);
+        text("8112", 70);
+        text("8200", 70);
+        text("90", 30);
+        for (int i = 91; i <= 99; i++) {
+            text(String.valueOf(i), 90);
+        }
+    }
+
+    private Gs1() {
+        // utility class
+    }
+
+    /**
+     * Validates the specified GS1 data and converts it to the form used by the symbologies which support GS1 data, in
+     * which the AIs are not delimited and the character <code>'['</code> represents FNC1. An FNC1 is only inserted
+     * after data whose length is not predefined, and only if it is followed by another AI.
+     *
+     * @param source the GS1 data to convert, with each AI enclosed in square brackets
+     * @return the converted data
+     * @throws OkapiException if the data is not valid GS1 data
+     */
+    static String verify(String source) {
+
+        int length = source.length();
+        if (length == 0 || source.charAt(0) != '[') {
+            throw new OkapiException("Data does not start with an AI");
+        }
+
+        StringBuilder reduced = new StringBuilder(length);
+        boolean fnc1 = false;
+
+        for (int i = 0; i < length; ) {
+
+            /* The AI, starting after the '[' at position i */
+            int aiStart = i + 1;
+            int aiEnd = aiStart;
+            int value = 0;
+            for (char c; aiEnd < length && (c = source.charAt(aiEnd)) != ']'; aiEnd++) {
+                checkCharacter(c);
+                if (c == '[') {
+                    throw new OkapiException("Found nested brackets in input data");
+                }
+                if (c < '0' || c > '9') {
+                    throw new OkapiException("Invalid AI in input data (non-numeric characters in AI)");
+                }
+                value = (value * 10) + (c - '0');
+            }
+            if (aiEnd == length) {
+                throw new OkapiException("Malformed AI in input data (brackets don't match)");
+            }
+            int aiLength = aiEnd - aiStart;
+            if (aiLength > 4) {
+                throw new OkapiException("Invalid AI in input data (AI too long)");
+            }
+            if (aiLength < 2) {
+                throw new OkapiException("Invalid AI in input data (AI too short)");
+            }
+
+            /* The data, up to the start of the next AI */
+            int dataStart = aiEnd + 1;
+            int dataEnd = dataStart;
+            for (char c; dataEnd < length && (c = source.charAt(dataEnd)) != '['; dataEnd++) {
+                checkCharacter(c);
+                if (c == ']') {
+                    throw new OkapiException("Malformed AI in input data (brackets don't match)");
+                }
+            }
+            int dataLength = dataEnd - dataStart;
+            if (dataLength == 0) {
+                throw new OkapiException("Empty data field in input data");
+            }
+
+            if (fnc1) {
+                reduced.append('[');
+            }
+
+            Ai ai = AIS[index(value, aiLength)];
+            if (ai != null) {
+                if (dataLength < ai.minLength || dataLength > ai.maxLength) {
+                    throw new OkapiException("Invalid data length for AI");
+                }
+                for (int j = 0; j < dataLength; j++) {
+                    char c = source.charAt(dataStart + j);
+                    if (j < ai.numericLength ? (c < '0' || c > '9') : !ai.characters.contains(c)) {
+                        throw new OkapiException("Invalid characters in data for AI");
+                    }
+                }
+                fnc1 = ai.fnc1;
+            } else {
+                checkUnknown(value, dataLength);
+                fnc1 = !isPredefinedLength(((source.charAt(aiStart) - '0') * 10) + (source.charAt(aiStart + 1) - '0'));
+            }
+
+            reduced.append(source, aiStart, aiEnd);
+            reduced.append(source, dataStart, dataEnd);
+            i = dataEnd;
+        }
+
+        return reduced.toString();
+    }
+
+    private static void checkCharacter(char c) {
+        if (c >= 128) {
+            throw new OkapiException("Extended ASCII characters are not supported by GS1");
+        }
+        if (c < 32) {
+            throw new OkapiException("Control characters are not supported by GS1");
+        }
+    }
+
+    /**
+     * Checks an AI which is not in the dictionary, rejecting the AI values which have never been valid, and the data
+     * lengths which are known to be wrong.
+     */
+    private static void checkUnknown(int value, int dataLength) {
+        switch (value) {
+            case 0:
+                checkLength(dataLength, 18);
+                break;
+            case 1:
+            case 2:
+            case 3:
+                checkLength(dataLength, 14);
+                break;
+            case 4:
+                checkLength(dataLength, 16);
+                break;
+            case 11:
+            case 12:
+            case 13:
+            case 14:
+            case 15:
+            case 16:
+            case 17:
+            case 18:
+            case 19:
+                checkLength(dataLength, 6);
+                break;
+            case 20:
+                checkLength(dataLength, 2);
+                break;
+            case 23:
+            case 24:
+            case 25:
+            case 39:
+            case 40:
+            case 41:
+            case 42:
+            case 70:
+            case 80:
+            case 81:
+                throw new OkapiException("Invalid AI value");
+        }
+        if ((value >= 100 && value <= 179) || (value >= 1000 && value <= 1799) ||
+            (value >= 200 && value <= 229) || (value >= 2000 && value <= 2299) ||
+            (value >= 300 && value <= 309) || (value >= 3000 && value <= 3099) ||
+            (value >= 31 && value <= 36) || (value >= 310 && value <= 369) ||
+            (value >= 370 && value <= 379) || (value >= 3700 && value <= 3799) ||
+            (value >= 4100 && value <= 4199) || (value >= 700 && value <= 703) ||
+            (value >= 800 && value <= 810) || (value >= 900 && value <= 999) ||
+            (value >= 9000 && value <= 9999)) {
+            throw new OkapiException("Invalid AI value");
+        }
+        if (value >= 3100 && value <= 3699) {
+            checkLength(dataLength, 6);
+        }
+        if (value >= 410 && value <= 415) {
+            checkLength(dataLength, 13);
+        }
+    }
+
+    private static void checkLength(int dataLength, int expected) {
+        if (dataLength != expected) {
+            throw new OkapiException("Invalid data length for AI");
+        }
+    }
+
+    /**
+     * Returns whether or not the AIs starting with the specified two digits have a predefined length, and so do not
+     * need to be followed by an FNC1 (see GS1 General Specifications, section 5.3.8.2.1).
+     */
+    private static boolean isPredefinedLength(int prefix) {
+        return prefix <= 4 || (prefix >= 11 && prefix <= 20) || prefix == 23 || (prefix >= 31 && prefix <= 36) ||
+               prefix == 41;
+    }
+
+    /** Returns the dictionary index of the AI with the specified value and number of digits. */
+    private static int index(int value, int digits) {
+        switch (digits) {
+            case 2:
+                return value;
+            case 3:
+                return 100 + value;
+            default:
+                return 1100 + value;
+        }
+    }
+
+    /** Adds an AI whose data consists only of digits, and has a fixed length. */
+    private static void numeric(String ai, int length) {
+        add(ai, length, length, length, DIGITS);
+    }
+
+    /** Adds an AI whose data consists only of digits, and has a variable length. */
+    private static void numeric(String ai, int minLength, int maxLength) {
+        add(ai, minLength, maxLength, maxLength, DIGITS);
+    }
+
+    /** Adds an AI whose data consists of characters from character set 82, and has a variable length. */
+    private static void text(String ai, int maxLength) {
+        add(ai, 1, maxLength, 0, CSET_82);
+    }
+
+    /**
+     * Adds an AI to the dictionary. The AI's data needs to be followed by an FNC1 unless it has a fixed length and the
+     * AI belongs to one of the predefined length groups; variable length AIs in those groups (such as 235) still need
+     * an FNC1.
+     */
+    private static void add(String ai, int minLength, int maxLength, int numericLength, CharacterClass characters) {
+        boolean predefined = minLength == maxLength && isPredefinedLength(Integer.parseInt(ai.substring(0, 2)));
+        AIS[index(Integer.parseInt(ai), ai.length())] =
+            new Ai(minLength, maxLength, numericLength, characters, !predefined);
+    }
+
+    /** The data expected for an AI. */
+    private static final class Ai {
+
+        /** The minimum length of the data. */
+        final int minLength;
+
+        /** The maximum length of the data. */
+        final int maxLength;
+
+        /** The number of leading characters in the data which must be digits. */
+        final int numericLength;
+
+        /** The characters allowed in the rest of the data. */
+        final CharacterClass characters;
+
+        /** Whether or not the data must be followed by an FNC1 if another AI follows (i.e. is not of predefined length). */
+        final boolean fnc1;
+
+        Ai(int minLength, int maxLength, int numericLength, CharacterClass characters, boolean fnc1) {
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+            this.numericLength = numericLength;
+            this.characters = characters;
+            this.fnc1 = fnc1;
+        }
+    }
+}
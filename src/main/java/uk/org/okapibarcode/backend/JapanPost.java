@@ -15,9 +15,14 @@
  */
 package uk.org.okapibarcode.backend;
 
-import java.awt.geom.Rectangle2D;
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+import static uk.org.okapibarcode.util.CharacterClass.LOWER_CASE;
+import static uk.org.okapibarcode.util.CharacterClass.UPPER_CASE;
+
 import java.util.Locale;
 
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * Implements the Japanese Postal Code symbology as used to encode address
  * data for mail items in Japan. Valid input characters are digits 0-9,
@@ -27,6 +32,12 @@ import java.util.Locale;
  */
 public class JapanPost extends Symbol {
 
+    /** The characters which can be encoded. */
+    private static final CharacterClass VALID_CHARACTERS = DIGITS.with(UPPER_CASE).with("-");
+
+    /** The characters which can be entered (lower case letters are converted to upper case before encoding). */
+    private static final CharacterClass VALID_INPUT = VALID_CHARACTERS.with(LOWER_CASE);
+
     private static final String[] JAPAN_TABLE = {
         "FFT", "FDA", "DFA", "FAD", "FTF", "DAF", "AFD", "ADF", "TFF", "FTT",
         "TFT", "DAT", "DTA", "ADT", "TDA", "ATD", "TAD", "TTF", "FFF"
@@ -42,6 +53,11 @@ public class JapanPost extends Symbol {
         'd', 'e', 'f', 'g', 'h'
     };
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return VALID_INPUT;
+    }
+
     @Override
     protected void encode() {
         String dest;
@@ -50,7 +66,7 @@ public class JapanPost extends Symbol {
         char c;
 
         content = content.toUpperCase(Locale.ENGLISH);
-        if(!content.matches("[0-9A-Z\\-]+")) {
+        if(!VALID_CHARACTERS.matches(content)) {
             throw new OkapiException("Invalid characters in data");
         }
 
@@ -141,7 +157,7 @@ public class JapanPost extends Symbol {
                 break;
             }
 
-            Rectangle2D.Double rect = new Rectangle2D.Double(x, y, w, h);
+            Rectangle rect = new Rectangle(x, y, w, h);
             rectangles.add(rect);
 
             x += 2;
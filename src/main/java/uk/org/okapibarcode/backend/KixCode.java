@@ -15,9 +15,14 @@
  */
 package uk.org.okapibarcode.backend;
 
-import java.awt.geom.Rectangle2D;
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+import static uk.org.okapibarcode.util.CharacterClass.LOWER_CASE;
+import static uk.org.okapibarcode.util.CharacterClass.UPPER_CASE;
+
 import java.util.Locale;
 
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * <p>Implements Dutch Post KIX Code as used by Royal Dutch TPG Post (Netherlands).
  *
@@ -31,6 +36,12 @@ import java.util.Locale;
  */
 public class KixCode extends Symbol {
 
+    /** The characters which can be encoded. */
+    private static final CharacterClass VALID_CHARACTERS = DIGITS.with(UPPER_CASE);
+
+    /** The characters which can be entered (lower case letters are converted to upper case before encoding). */
+    private static final CharacterClass VALID_INPUT = VALID_CHARACTERS.with(LOWER_CASE);
+
     private static final String[] ROYAL_TABLE = {
         "TTFF", "TDAF", "TDFA", "DTAF", "DTFA", "DDAA", "TADF", "TFTF", "TFDA",
         "DATF", "DADA", "DFTA", "TAFD", "TFAD", "TFFT", "DAAD", "DAFT", "DFAT",
@@ -44,12 +55,17 @@ public class KixCode extends Symbol {
         'S', 'T', 'U', 'V', 'W', 'X', 'Y', 'Z'
     };
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return VALID_INPUT;
+    }
+
     @Override
     protected void encode() {
 
         content = content.toUpperCase(Locale.ENGLISH);
 
-        if(!content.matches("[0-9A-Z]+")) {
+        if(!VALID_CHARACTERS.matches(content)) {
             throw new OkapiException("Invalid characters in data");
         }
 
@@ -100,7 +116,7 @@ public class KixCode extends Symbol {
                 default:
                     throw new IllegalStateException("Unknown pattern character: " + c);
             }
-            rectangles.add(new Rectangle2D.Double(x, y, w, h));
+            rectangles.add(new Rectangle(x, y, w, h));
             x += 2;
         }
         symbol_width = ((pattern[0].length() - 1) * 2) + 1; // final bar doesn't need extra whitespace
@@ -15,6 +15,10 @@
  */
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * <p>Implements Korea Post Barcode. Input should consist of of a six-digit number. A Modulo-10
  * check digit is calculated and added, and should not form part of the input data.
@@ -28,10 +32,15 @@ public class KoreaPost extends Symbol {
         "17171313", "1315061313", "0413131713", "17131713", "13171713"
     };
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return DIGITS;
+    }
+
     @Override
     protected void encode() {
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
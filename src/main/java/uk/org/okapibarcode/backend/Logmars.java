@@ -15,6 +15,11 @@
  */
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+import static uk.org.okapibarcode.util.CharacterClass.UPPER_CASE;
+
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * Implements the LOGMARS (Logistics Applications of Automated Marking
  * and Reading Symbols) standard used by the US Department of Defense.
@@ -27,6 +32,9 @@ package uk.org.okapibarcode.backend;
  */
 public class Logmars extends Symbol {
 
+    /** The characters which can be encoded. */
+    private static final CharacterClass VALID_CHARACTERS = DIGITS.with(UPPER_CASE).with("-. $/+%");
+
     private static final String[] CODE39LM = {
         "1113313111", "3113111131", "1133111131", "3133111111", "1113311131",
         "3113311111", "1133311111", "1113113131", "3113113111", "1133113111",
@@ -78,11 +86,17 @@ public class Logmars extends Symbol {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return VALID_CHARACTERS;
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void encode() {
 
-        if (!content.matches("[0-9A-Z\\. \\-$/+%]+")) {
+        if (!VALID_CHARACTERS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
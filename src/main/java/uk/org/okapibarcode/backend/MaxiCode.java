@@ -16,7 +16,6 @@
 
 package uk.org.okapibarcode.backend;
 
-import java.awt.geom.Ellipse2D;
 import java.util.Arrays;
 
 /**
@@ -217,6 +216,16 @@ public class MaxiCode extends Symbol {
         return primaryData;
     }
 
+    @Override
+    protected void resetWorkingState() {
+        super.resetWorkingState();
+        codewords = null;
+        source = null;
+        set = new int[144];
+        character = new int[144];
+        grid = new boolean[33][30];
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void encode() {
@@ -912,9 +921,7 @@ public class MaxiCode extends Symbol {
         // circles
         double[] radii = { 10.85, 8.97, 7.10, 5.22, 3.31, 1.43 };
         for (int i = 0; i < radii.length; i++) {
-            Ellipse2D.Double circle = new Ellipse2D.Double();
-            circle.setFrameFromCenter(35.76, 35.60, 35.76 + radii[i], 35.60 + radii[i]);
-            target.add(circle);
+            target.add(new Circle(35.76, 35.60, radii[i]));
         }
     }
 
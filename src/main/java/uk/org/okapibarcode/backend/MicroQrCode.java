@@ -15,6 +15,8 @@
  */
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.LATIN_1;
+
 import java.io.UnsupportedEncodingException;
 
 /**
@@ -142,6 +144,15 @@ public class MicroQrCode extends Symbol {
         11, 13, 15, 17
     };
 
+    @Override
+    protected void resetWorkingState() {
+        super.resetWorkingState();
+        inputMode = null;
+        binaryCount = new int[4];
+        grid = null;
+        eval = null;
+    }
+
     @Override
     protected void encode() {
         int i, j, size;
@@ -151,7 +162,6 @@ public class MicroQrCode extends Symbol {
         int version, autoversion;
         int bitmask;
         int format, format_full;
-        String bin;
         boolean byteModeUsed;
         boolean alphanumModeUsed;
         boolean kanjiModeUsed;
@@ -440,19 +450,15 @@ public class MicroQrCode extends Symbol {
         }
 
         readable = "";
-        pattern = new String[size];
+        modules = new ModuleMatrix(size, size);
         row_count = size;
         row_height = new int[size];
         for (i = 0; i < size; i++) {
-            bin = "";
             for (j = 0; j < size; j++) {
                 if ((grid[(i * size) + j] & 0x01) != 0) {
-                    bin += "1";
-                } else {
-                    bin += "0";
+                    modules.set(j, i);
                 }
             }
-            pattern[i] = bin2pat(bin);
             row_height[i] = 1;
         }
     }
@@ -464,7 +470,7 @@ public class MicroQrCode extends Symbol {
 
         /* Check that input includes valid characters */
 
-        if (content.matches("[\u0000-\u00FF]+")) {
+        if (LATIN_1.matches(content)) {
             /* All characters in ISO 8859-1 */
             return;
         }
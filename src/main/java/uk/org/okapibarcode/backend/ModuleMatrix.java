@@ -0,0 +1,257 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.backend;
+
+/**
+ * <p>A packed grid of dark / light modules, used by the matrix symbologies to describe their output
+ * without building intermediate binary or run-length strings.
+ *
+ * <p>Each row is stored as a sequence of <code>long</code> words (64 modules per word, least significant
+ * bit first), and all rows are stored back-to-back in a single array. Runs of dark or light modules can be
+ * walked using {@link #nextDark(int, int)} and {@link #nextLight(int, int)}, which skip whole words at a time.
+ */
+public final class ModuleMatrix {
+
+    /** The number of modules in each row. */
+    private final int width;
+
+    /** The number of rows. */
+    private final int height;
+
+    /** The number of words used to store each row. */
+    private final int wordsPerRow;
+
+    /** The packed module data, row by row. */
+    private final long[] words;
+
+    /**
+     * Creates a new, completely light module matrix.
+     *
+     * @param width the number of modules in each row
+     * @param height the number of rows
+     */
+    public ModuleMatrix(int width, int height) {
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("Invalid module matrix size: " + width + " x " + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.words = new long[wordsPerRow * height];
+    }
+
+    /**
+     * Creates a new module matrix which is a copy of the specified module matrix.
+     *
+     * @param other the module matrix to copy
+     */
+    public ModuleMatrix(ModuleMatrix other) {
+        this.width = other.width;
+        this.height = other.height;
+        this.wordsPerRow = other.wordsPerRow;
+        this.words = other.words.clone();
+    }
+
+    /**
+     * Returns the number of modules in each row.
+     *
+     * @return the number of modules in each row
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return the number of rows
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the number of <code>long</code> words used to store each row.
+     *
+     * @return the number of words used to store each row
+     */
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    /**
+     * Returns the specified word of the specified row. Bit <code>n</code> of word <code>w</code>
+     * corresponds to the module at <code>x = (w * 64) + n</code>; bits beyond the row width are always zero.
+     *
+     * @param y the row index
+     * @param index the word index within the row
+     * @return the requested word
+     */
+    public long getWord(int y, int index) {
+        return words[(y * wordsPerRow) + index];
+    }
+
+    /**
+     * Returns whether or not the specified module is dark.
+     *
+     * @param x the column index
+     * @param y the row index
+     * @return whether or not the specified module is dark
+     */
+    public boolean get(int x, int y) {
+        return (words[(y * wordsPerRow) + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    /**
+     * Marks the specified module as dark.
+     *
+     * @param x the column index
+     * @param y the row index
+     */
+    public void set(int x, int y) {
+        words[(y * wordsPerRow) + (x >>> 6)] |= (1L << x);
+    }
+
+    /**
+     * Marks the specified module as dark or light.
+     *
+     * @param x the column index
+     * @param y the row index
+     * @param dark whether the module should be dark
+     */
+    public void set(int x, int y, boolean dark) {
+        int i = (y * wordsPerRow) + (x >>> 6);
+        if (dark) {
+            words[i] |= (1L << x);
+        } else {
+            words[i] &= ~(1L << x);
+        }
+    }
+
+    /**
+     * Marks a horizontal run of modules as dark.
+     *
+     * @param x the column index of the first module in the run
+     * @param y the row index
+     * @param length the number of modules in the run
+     */
+    public void setRun(int x, int y, int length) {
+        if (length <= 0) {
+            return;
+        }
+        int base = y * wordsPerRow;
+        int end = x + length; // exclusive
+        int firstWord = x >>> 6;
+        int lastWord = (end - 1) >>> 6;
+        long firstMask = -1L << x;
+        long lastMask = -1L >>> -end;
+        if (firstWord == lastWord) {
+            words[base + firstWord] |= (firstMask & lastMask);
+        } else {
+            words[base + firstWord] |= firstMask;
+            for (int w = firstWord + 1; w < lastWord; w++) {
+                words[base + w] = -1L;
+            }
+            words[base + lastWord] |= lastMask;
+        }
+    }
+
+    /**
+     * Returns the column index of the first dark module in the specified row, at or after the specified column.
+     *
+     * @param x the column index at which to start searching
+     * @param y the row index
+     * @return the column index of the next dark module, or the matrix width if there is none
+     */
+    public int nextDark(int x, int y) {
+        if (x >= width) {
+            return width;
+        }
+        int base = y * wordsPerRow;
+        int w = x >>> 6;
+        long word = words[base + w] & (-1L << x);
+        while (word == 0) {
+            if (++w == wordsPerRow) {
+                return width;
+            }
+            word = words[base + w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Returns the column index of the first light module in the specified row, at or after the specified column.
+     *
+     * @param x the column index at which to start searching
+     * @param y the row index
+     * @return the column index of the next light module, or the matrix width if there is none
+     */
+    public int nextLight(int x, int y) {
+        if (x >= width) {
+            return width;
+        }
+        int base = y * wordsPerRow;
+        int w = x >>> 6;
+        long word = ~words[base + w] & (-1L << x);
+        while (word == 0) {
+            if (++w == wordsPerRow) {
+                return width;
+            }
+            word = ~words[base + w];
+        }
+        return Math.min(width, (w << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    /**
+     * Returns whether or not the two specified rows contain exactly the same modules.
+     *
+     * @param y1 the first row index
+     * @param y2 the second row index
+     * @return whether or not the two rows are identical
+     */
+    public boolean rowEquals(int y1, int y2) {
+        int base1 = y1 * wordsPerRow;
+        int base2 = y2 * wordsPerRow;
+        for (int w = 0; w < wordsPerRow; w++) {
+            if (words[base1 + w] != words[base2 + w]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the run-length pattern of the specified row, in the format historically used by
+     * {@link Symbol#pattern}: alternating dark and light run lengths, starting with a (possibly
+     * zero-length) dark run, with each run length <code>n</code> encoded as the character <code>'0' + n</code>.
+     *
+     * @param y the row index
+     * @return the run-length pattern of the specified row
+     */
+    public String getPattern(int y) {
+        StringBuilder sb = new StringBuilder();
+        int x = 0;
+        boolean dark = true;
+        do {
+            int next = dark ? nextLight(x, y) : nextDark(x, y);
+            sb.append((char) ('0' + (next - x)));
+            x = next;
+            dark = !dark;
+        } while (x < width);
+        return sb.toString();
+    }
+}
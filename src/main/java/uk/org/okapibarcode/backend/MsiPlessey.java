@@ -16,6 +16,10 @@
 
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * <p>Implements the MSI (Modified Plessey) bar code symbology.
  *
@@ -55,6 +59,11 @@ public class MsiPlessey extends Symbol {
         return checkDigit;
     }
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return DIGITS;
+    }
+
     @Override
     protected void encode() {
 
@@ -70,7 +79,7 @@ public class MsiPlessey extends Symbol {
         int checkDigit1;
         int checkDigit2;
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
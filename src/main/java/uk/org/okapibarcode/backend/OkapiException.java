@@ -35,4 +35,14 @@ public class OkapiException extends RuntimeException {
         super(message);
     }
 
+    /**
+     * Creates a new instance.
+     *
+     * @param message the error message
+     * @param cause the underlying cause of the error
+     */
+    public OkapiException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
 }
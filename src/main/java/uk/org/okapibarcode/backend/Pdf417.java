@@ -672,6 +672,13 @@ public class Pdf417 extends Symbol {
         return symbolMode;
     }
 
+    @Override
+    protected void resetWorkingState() {
+        super.resetWorkingState();
+        codeWords = new int[2700];
+        inputData = null;
+    }
+
     @Override
     protected void encode() {
 
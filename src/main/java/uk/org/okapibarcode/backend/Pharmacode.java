@@ -16,6 +16,10 @@
 
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * Implements the <a href="http://en.wikipedia.org/wiki/Pharmacode">Pharmacode</a>
  * bar code symbology.
@@ -27,6 +31,11 @@ package uk.org.okapibarcode.backend;
  */
 public class Pharmacode extends Symbol {
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return DIGITS;
+    }
+
     @Override
     protected void encode() {
         int tester = 0;
@@ -39,7 +48,7 @@ public class Pharmacode extends Symbol {
             throw new OkapiException("Input too long");
         }
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in data");
         }
 
@@ -16,7 +16,9 @@
 
 package uk.org.okapibarcode.backend;
 
-import java.awt.geom.Rectangle2D;
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+
+import uk.org.okapibarcode.util.CharacterClass;
 
 /**
  * Implements the Two-Track Pharmacode bar code symbology.
@@ -29,6 +31,11 @@ import java.awt.geom.Rectangle2D;
  */
 public class Pharmacode2Track extends Symbol {
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return DIGITS;
+    }
+
     @Override
     protected void encode() {
         int i, tester = 0;
@@ -38,7 +45,7 @@ public class Pharmacode2Track extends Symbol {
             throw new OkapiException("Input too long");
         }
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in data");
         }
 
@@ -111,7 +118,7 @@ public class Pharmacode2Track extends Symbol {
                 break;
             }
 
-            Rectangle2D.Double rect = new Rectangle2D.Double(x, y, w, h);
+            Rectangle rect = new Rectangle(x, y, w, h);
             rectangles.add(rect);
 
             x += 2;
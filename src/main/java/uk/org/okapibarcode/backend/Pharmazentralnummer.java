@@ -15,6 +15,10 @@
  */
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * PZN8 is a Code 39 based symbology used by the pharmaceutical industry in
  * Germany. PZN8 encodes a 7 digit number and includes a modulo-10 check digit.
@@ -27,6 +31,11 @@ public class Pharmazentralnummer extends Symbol {
      * check digit. Now generates PZN-8.
      */
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return DIGITS;
+    }
+
     @Override
     protected void encode() {
         int l = content.length();
@@ -38,7 +47,7 @@ public class Pharmazentralnummer extends Symbol {
             throw new OkapiException("Input data too long");
         }
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -18,8 +18,9 @@ package uk.org.okapibarcode.backend;
 
 import static uk.org.okapibarcode.backend.HumanReadableLocation.NONE;
 import static uk.org.okapibarcode.backend.HumanReadableLocation.TOP;
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
 
-import java.awt.geom.Rectangle2D;
+import uk.org.okapibarcode.util.CharacterClass;
 
 /**
  * <p>Implements <a href="http://en.wikipedia.org/wiki/POSTNET">POSTNET</a> and
@@ -70,6 +71,11 @@ public class Postnet extends Symbol {
         return mode;
     }
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return DIGITS;
+    }
+
     @Override
     protected void encode() {
         String[] table = (mode == Mode.POSTNET ? PN_TABLE : PL_TABLE);
@@ -84,7 +90,7 @@ public class Postnet extends Symbol {
             throw new OkapiException("Input too long");
         }
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in data");
         }
 
@@ -135,7 +141,7 @@ public class Postnet extends Symbol {
                 y = baseY + default_height - shortHeight;
                 h = shortHeight;
             }
-            rectangles.add(new Rectangle2D.Double(x, y, w, h));
+            rectangles.add(new Rectangle(x, y, w, h));
             x += (2.5 * w);
         }
 
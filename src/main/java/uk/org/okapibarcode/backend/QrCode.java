@@ -16,6 +16,13 @@
 package uk.org.okapibarcode.backend;
 
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Implements QR Code bar code symbology According to ISO/IEC 18004:2015
@@ -46,9 +53,12 @@ public class QrCode extends Symbol {
     private int[] fullstream;
     private int[] inputData;
     private byte[] grid;
-    private byte[] eval;
     private int preferredVersion = 0;
     private int inputLength;
+    private boolean parallelMaskEvaluation = false;
+
+    /** Function pattern templates and data module traversal orders, per symbol version (created lazily). */
+    private static final AtomicReferenceArray< Template > TEMPLATES = new AtomicReferenceArray<>(40);
 
     /**
      * Sets the preferred symbol size. This value may be ignored if the data
@@ -316,73 +326,85 @@ public class QrCode extends Symbol {
         preferredEccLevel = eccMode;
     }
 
+    /**
+     * Sets whether or not the eight candidate mask patterns should be evaluated in parallel, using a thread pool
+     * shared by all QR Code instances. This reduces the time taken to encode a single large symbol, at the cost
+     * of some overhead; symbols smaller than version 21 are always evaluated sequentially. The mask pattern chosen
+     * is the same regardless of this setting. The default value is <code>false</code>.
+     *
+     * @param parallelMaskEvaluation whether or not to evaluate the candidate mask patterns in parallel
+     */
+    public void setParallelMaskEvaluation(boolean parallelMaskEvaluation) {
+        this.parallelMaskEvaluation = parallelMaskEvaluation;
+    }
+
     /* Table 5 - Encoding/Decoding table for Alphanumeric mode */
-    private final char[] rhodium = {
+    private static final char[] rhodium = {
         '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E',
         'F', 'G', 'H', 'I', 'J', 'K', 'L', 'M', 'N', 'O', 'P', 'Q', 'R', 'S', 'T',
         'U', 'V', 'W', 'X', 'Y', 'Z', ' ', '$', '%', '*', '+', '-', '.', '/', ':'
     };
 
-    private final int[] qr_data_codewords_L = {
+    private static final int[] qr_data_codewords_L = {
         19, 34, 55, 80, 108, 136, 156, 194, 232, 274, 324, 370, 428, 461, 523, 589, 647,
         721, 795, 861, 932, 1006, 1094, 1174, 1276, 1370, 1468, 1531, 1631,
         1735, 1843, 1955, 2071, 2191, 2306, 2434, 2566, 2702, 2812, 2956
     };
 
-    private final int[] qr_data_codewords_M = {
+    private static final int[] qr_data_codewords_M = {
         16, 28, 44, 64, 86, 108, 124, 154, 182, 216, 254, 290, 334, 365, 415, 453, 507,
         563, 627, 669, 714, 782, 860, 914, 1000, 1062, 1128, 1193, 1267,
         1373, 1455, 1541, 1631, 1725, 1812, 1914, 1992, 2102, 2216, 2334
     };
 
-    private final int[] qr_data_codewords_Q = {
+    private static final int[] qr_data_codewords_Q = {
         13, 22, 34, 48, 62, 76, 88, 110, 132, 154, 180, 206, 244, 261, 295, 325, 367,
         397, 445, 485, 512, 568, 614, 664, 718, 754, 808, 871, 911,
         985, 1033, 1115, 1171, 1231, 1286, 1354, 1426, 1502, 1582, 1666
     };
 
-    private final int[] qr_data_codewords_H = {
+    private static final int[] qr_data_codewords_H = {
         9, 16, 26, 36, 46, 60, 66, 86, 100, 122, 140, 158, 180, 197, 223, 253, 283,
         313, 341, 385, 406, 442, 464, 514, 538, 596, 628, 661, 701,
         745, 793, 845, 901, 961, 986, 1054, 1096, 1142, 1222, 1276
     };
 
-    private final int[] qr_blocks_L = {
+    private static final int[] qr_blocks_L = {
         1, 1, 1, 1, 1, 2, 2, 2, 2, 4, 4, 4, 4, 4, 6, 6, 6, 6, 7, 8, 8, 9, 9, 10, 12, 12,
         12, 13, 14, 15, 16, 17, 18, 19, 19, 20, 21, 22, 24, 25
     };
 
-    private final int[] qr_blocks_M = {
+    private static final int[] qr_blocks_M = {
         1, 1, 1, 2, 2, 4, 4, 4, 5, 5, 5, 8, 9, 9, 10, 10, 11, 13, 14, 16, 17, 17, 18, 20,
         21, 23, 25, 26, 28, 29, 31, 33, 35, 37, 38, 40, 43, 45, 47, 49
     };
 
-    private final int[] qr_blocks_Q = {
+    private static final int[] qr_blocks_Q = {
         1, 1, 2, 2, 4, 4, 6, 6, 8, 8, 8, 10, 12, 16, 12, 17, 16, 18, 21, 20, 23, 23, 25,
         27, 29, 34, 34, 35, 38, 40, 43, 45, 48, 51, 53, 56, 59, 62, 65, 68
     };
 
-    private final int[] qr_blocks_H = {
+    private static final int[] qr_blocks_H = {
         1, 1, 2, 4, 4, 4, 5, 6, 8, 8, 11, 11, 16, 16, 18, 16, 19, 21, 25, 25, 25, 34, 30,
         32, 35, 37, 40, 42, 45, 48, 51, 54, 57, 60, 63, 66, 70, 74, 77, 81
     };
 
-    private final int[] qr_total_codewords = {
+    private static final int[] qr_total_codewords = {
         26, 44, 70, 100, 134, 172, 196, 242, 292, 346, 404, 466, 532, 581, 655, 733, 815,
         901, 991, 1085, 1156, 1258, 1364, 1474, 1588, 1706, 1828, 1921, 2051,
         2185, 2323, 2465, 2611, 2761, 2876, 3034, 3196, 3362, 3532, 3706
     };
 
-    private final int[] qr_sizes = {
+    private static final int[] qr_sizes = {
         21, 25, 29, 33, 37, 41, 45, 49, 53, 57, 61, 65, 69, 73, 77, 81, 85, 89, 93, 97,
         101, 105, 109, 113, 117, 121, 125, 129, 133, 137, 141, 145, 149, 153, 157, 161, 165, 169, 173, 177
     };
 
-    private final int[] qr_align_loopsize = {
+    private static final int[] qr_align_loopsize = {
         0, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 5, 5, 5, 5, 5, 5, 5, 6, 6, 6, 6, 6, 6, 6, 7, 7, 7, 7, 7, 7
     };
 
-    private final int[] qr_table_e1 = {
+    private static final int[] qr_table_e1 = {
         6, 18, 0, 0, 0, 0, 0,
         6, 22, 0, 0, 0, 0, 0,
         6, 26, 0, 0, 0, 0, 0,
@@ -424,14 +446,14 @@ public class QrCode extends Symbol {
         6, 30, 58, 86, 114, 142, 170
     };
 
-    private final int[] qr_annex_c = {
+    private static final int[] qr_annex_c = {
         /* Format information bit sequences */
         0x5412, 0x5125, 0x5e7c, 0x5b4b, 0x45f9, 0x40ce, 0x4f97, 0x4aa0, 0x77c4, 0x72f3, 0x7daa, 0x789d,
         0x662f, 0x6318, 0x6c41, 0x6976, 0x1689, 0x13be, 0x1ce7, 0x19d0, 0x0762, 0x0255, 0x0d0c, 0x083b,
         0x355f, 0x3068, 0x3f31, 0x3a06, 0x24b4, 0x2183, 0x2eda, 0x2bed
     };
 
-    private final long[] qr_annex_d = {
+    private static final long[] qr_annex_d = {
         /* Version information bit sequences */
         0x07c94, 0x085bc, 0x09a99, 0x0a4d3, 0x0bbf6, 0x0c762, 0x0d847, 0x0e60d, 0x0f928, 0x10b78,
         0x1145d, 0x12a17, 0x13532, 0x149a6, 0x15683, 0x168c9, 0x177ec, 0x18ec4, 0x191e1, 0x1afab,
@@ -439,6 +461,17 @@ public class QrCode extends Symbol {
         0x2542e, 0x26a64, 0x27541, 0x28c69
     };
 
+    @Override
+    protected void resetWorkingState() {
+        super.resetWorkingState();
+        inputMode = null;
+        proposedMode = null;
+        datastream = null;
+        fullstream = null;
+        inputData = null;
+        grid = null;
+    }
+
     @Override
     protected void encode() {
         int i, j;
@@ -449,7 +482,6 @@ public class QrCode extends Symbol {
         int targetCwCount, version, blocks;
         int size;
         int bitmask;
-        String bin;
         boolean canShrink;
 
         /* This code uses modeFirstFix to make an estimate of the symbol size
@@ -609,7 +641,8 @@ public class QrCode extends Symbol {
 
         size = qr_sizes[version - 1];
 
-        grid = new byte[size * size];
+        Template template = getTemplate(version);
+        grid = template.grid.clone();
 
         encodeInfo += "Version: " + version + "\n";
         encodeInfo += "ECC Level: ";
@@ -629,14 +662,7 @@ public class QrCode extends Symbol {
                 break;
         }
 
-        for (i = 0; i < size; i++) {
-            for (j = 0; j < size; j++) {
-                grid[(i * size) + j] = 0;
-            }
-        }
-
-        setup_grid(size, version);
-        populate_grid(size, qr_total_codewords[version - 1]);
+        populate_grid(template.order, qr_total_codewords[version - 1]);
         bitmask = apply_bitmask(size, ecc_level);
         encodeInfo += "Mask Pattern: " + Integer.toBinaryString(bitmask) + "\n";
         add_format_info(size, ecc_level, bitmask);
@@ -645,19 +671,15 @@ public class QrCode extends Symbol {
         }
 
         readable = "";
-        pattern = new String[size];
+        modules = new ModuleMatrix(size, size);
         row_count = size;
         row_height = new int[size];
         for (i = 0; i < size; i++) {
-            bin = "";
             for (j = 0; j < size; j++) {
                 if ((grid[(i * size) + j] & 0x01) != 0) {
-                    bin += "1";
-                } else {
-                    bin += "0";
+                    modules.set(j, i);
                 }
             }
-            pattern[i] = bin2pat(bin);
             row_height[i] = 1;
         }
     }
@@ -1405,10 +1427,7 @@ public class QrCode extends Symbol {
 
             rs.init_gf(0x11d);
             rs.init_code(ecc_block_length, 0);
-            rs.encode(length_this_block, data_block);
-            for (k = 0; k < ecc_block_length; k++) {
-                ecc_block[k] = rs.getResult(k);
-            }
+            rs.encode(length_this_block, data_block, ecc_block);
 //            if (debug) {
 //                System.out.printf("\tBlock %d: ", i + 1);
 //                for (j = 0; j < length_this_block; j++) {
@@ -1455,7 +1474,25 @@ public class QrCode extends Symbol {
 //        }
     }
 
-    private void setup_grid(int size, int version) {
+    /**
+     * Returns the function pattern template and data module traversal order for the specified symbol version,
+     * creating it if necessary.
+     *
+     * @param version the symbol version
+     * @return the template for the specified symbol version
+     */
+    private static Template getTemplate(int version) {
+        Template template = TEMPLATES.get(version - 1);
+        if (template == null) {
+            template = new Template(version);
+            if (!TEMPLATES.compareAndSet(version - 1, null, template)) {
+                template = TEMPLATES.get(version - 1);
+            }
+        }
+        return template;
+    }
+
+    private static void setup_grid(byte[] grid, int size, int version) {
         int i;
         int loopsize, x, y, xcoord, ycoord;
         boolean toggle = true;
@@ -1474,9 +1511,9 @@ public class QrCode extends Symbol {
         }
 
         /* Add finder patterns */
-        place_finder(size, 0, 0);
-        place_finder(size, 0, size - 7);
-        place_finder(size, size - 7, 0);
+        place_finder(grid, size, 0, 0);
+        place_finder(grid, size, 0, size - 7);
+        place_finder(grid, size, size - 7, 0);
 
         /* Add separators */
         for (i = 0; i < 7; i++) {
@@ -1502,7 +1539,7 @@ public class QrCode extends Symbol {
                     ycoord = qr_table_e1[((version - 2) * 7) + y];
 
                     if ((grid[(ycoord * size) + xcoord] & 0x10) == 0) {
-                        place_align(size, xcoord, ycoord);
+                        place_align(grid, size, xcoord, ycoord);
                     }
                 }
             }
@@ -1531,7 +1568,7 @@ public class QrCode extends Symbol {
         }
     }
 
-    private void place_finder(int size, int x, int y) {
+    private static void place_finder(byte[] grid, int size, int x, int y) {
         int xp, yp;
 
         int[] finder = {
@@ -1555,7 +1592,7 @@ public class QrCode extends Symbol {
         }
     }
 
-    private void place_align(int size, int x, int y) {
+    private static void place_align(byte[] grid, int size, int x, int y) {
         int xp, yp;
 
         int[] alignment = {
@@ -1580,13 +1617,24 @@ public class QrCode extends Symbol {
         }
     }
 
-    private void populate_grid(int size, int cw) {
+    /**
+     * Returns the indices of the data modules in the specified grid (i.e. the modules not reserved for function
+     * patterns or format / version information), in the order in which data bits are placed into the symbol.
+     */
+    private static int[] data_order(byte[] grid, int size) {
         boolean goingUp = true;
         int row = 0; /* right hand side */
 
-        int i, n, x, y;
+        int i, x, y;
 
-        n = cw * 8;
+        int count = 0;
+        for (i = 0; i < grid.length; i++) {
+            if ((grid[i] & 0xf0) == 0) {
+                count++;
+            }
+        }
+
+        int[] order = new int[count];
         y = size - 1;
         i = 0;
         do {
@@ -1597,23 +1645,13 @@ public class QrCode extends Symbol {
             }
 
             if ((grid[(y * size) + (x + 1)] & 0xf0) == 0) {
-                if (cwbit(i)) {
-                    grid[(y * size) + (x + 1)] = 0x01;
-                } else {
-                    grid[(y * size) + (x + 1)] = 0x00;
-                }
+                order[i] = (y * size) + (x + 1);
                 i++;
             }
 
-            if (i < n) {
-                if ((grid[(y * size) + x] & 0xf0) == 0) {
-                    if (cwbit(i)) {
-                        grid[(y * size) + x] = 0x01;
-                    } else {
-                        grid[(y * size) + x] = 0x00;
-                    }
-                    i++;
-                }
+            if ((grid[(y * size) + x] & 0xf0) == 0) {
+                order[i] = (y * size) + x;
+                i++;
             }
 
             if (goingUp) {
@@ -1633,7 +1671,20 @@ public class QrCode extends Symbol {
                 y = size - 1;
                 goingUp = true;
             }
-        } while (i < n);
+        } while (i < count);
+
+        return order;
+    }
+
+    private void populate_grid(int[] order, int cw) {
+        int i, n;
+
+        n = cw * 8;
+        for (i = 0; i < n; i++) {
+            if (cwbit(i)) {
+                grid[order[i]] = 0x01;
+            }
+        }
     }
 
     private boolean cwbit(int i) {
@@ -1648,13 +1699,17 @@ public class QrCode extends Symbol {
 
     private int apply_bitmask(int size, EccMode ecc_level) {
         int x, y;
-        char p;
         int local_pattern;
         int best_val, best_pattern;
         int[] penalty = new int[8];
         byte[] mask = new byte[size * size];
-        eval = new byte[size * size];
 
+        /* Packed rows and columns: the symbol itself, each of the masks, and the masked symbol under evaluation */
+        int words = lineWords(size);
+        final long[][] gridRows = new long[size][words];
+        final long[][] gridCols = new long[size][words];
+        final long[][][] maskRows = new long[8][size][words];
+        final long[][][] maskCols = new long[8][size][words];
 
         /* Perform data masking */
         for (x = 0; x < size; x++) {
@@ -1693,20 +1748,52 @@ public class QrCode extends Symbol {
         for (x = 0; x < size; x++) {
             for (y = 0; y < size; y++) {
                 if ((grid[(y * size) + x] & 0x01) != 0) {
-                    p = 0xff;
-                } else {
-                    p = 0x00;
+                    setModule(gridRows, gridCols, x, y, true);
+                }
+                int m = mask[(y * size) + x] & 0xff;
+                for (local_pattern = 0; m != 0; local_pattern++, m >>>= 1) {
+                    if ((m & 0x01) != 0) {
+                        setModule(maskRows[local_pattern], maskCols[local_pattern], x, y, true);
+                    }
                 }
-
-                eval[(y * size) + x] = (byte) (mask[(y * size) + x] ^ p);
             }
         }
 
-
         /* Evaluate result */
-        for (local_pattern = 0; local_pattern < 8; local_pattern++) {
-            add_format_info_eval(size, ecc_level, local_pattern);
-            penalty[local_pattern] = evaluate(size, local_pattern);
+        if (parallelMaskEvaluation && size >= PARALLEL_MASK_MIN_SIZE) {
+            List< Callable< Integer > > tasks = new ArrayList<>(8);
+            for (local_pattern = 0; local_pattern < 8; local_pattern++) {
+                final int pattern = local_pattern;
+                final int n = size;
+                final EccMode ecc = ecc_level;
+                tasks.add(new Callable< Integer >() {
+                    @Override
+                    public Integer call() {
+                        int words = lineWords(n);
+                        long[][] rows = new long[n][words];
+                        long[][] cols = new long[n][words];
+                        return penalty(gridRows, gridCols, maskRows[pattern], maskCols[pattern], rows, cols, n, ecc, pattern);
+                    }
+                });
+            }
+            List< Future< Integer > > results = MaskEvaluationPool.POOL.invokeAll(tasks);
+            for (local_pattern = 0; local_pattern < 8; local_pattern++) {
+                try {
+                    penalty[local_pattern] = results.get(local_pattern).get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new OkapiException("Interrupted while evaluating mask patterns");
+                } catch (ExecutionException e) {
+                    throw new OkapiException("Unable to evaluate mask patterns", e.getCause());
+                }
+            }
+        } else {
+            long[][] rows = new long[size][words];
+            long[][] cols = new long[size][words];
+            for (local_pattern = 0; local_pattern < 8; local_pattern++) {
+                penalty[local_pattern] = penalty(gridRows, gridCols, maskRows[local_pattern], maskCols[local_pattern],
+                                                 rows, cols, size, ecc_level, local_pattern);
+            }
         }
 
         best_pattern = 0;
@@ -1734,245 +1821,159 @@ public class QrCode extends Symbol {
         return best_pattern;
     }
 
-    private void add_format_info_eval(int size, EccMode ecc_level, int pattern) {
-	/* Add format information to grid */
+    /*
+     * Mask evaluation works on packed rows and columns of modules, so that the penalty rules can be applied to
+     * 64 modules at a time. Each line (row or column) is stored as a little-endian array of words, with module n
+     * at bit (n + LINE_PAD). The words either side of the modules are always zero, which means that modules
+     * beyond the edges of the symbol read as light, as required by the finder-like pattern rule.
+     */
 
-	int format = pattern;
-	int seq;
-	int i;
+    /** The smallest symbol size (version 21) for which mask patterns are evaluated in parallel, if enabled. */
+    private static final int PARALLEL_MASK_MIN_SIZE = 101;
 
-	switch(ecc_level) {
-		case L: format += 0x08; break;
-		case Q: format += 0x18; break;
-		case H: format += 0x10; break;
-	}
+    /** Lazily-initialized holder for the thread pool used to evaluate mask patterns in parallel. */
+    private static final class MaskEvaluationPool {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
 
-	seq = qr_annex_c[format];
+    /** The number of padding bits before the first module in each packed line. */
+    private static final int LINE_PAD = 4;
 
-        for (i = 0; i < 6; i++) {
-            if (((seq >> i) & 0x01) != 0) {
-                eval[(i * size) + 8] = (byte)(0x01 >> pattern);
-            } else {
-                eval[(i * size) + 8] = 0;
-            }
+    private static int lineWords(int size) {
+        return ((size + (2 * LINE_PAD)) >>> 6) + 3;
+    }
+
+    private static void setModule(long[][] rows, long[][] cols, int x, int y, boolean dark) {
+        setBit(rows[y], x + LINE_PAD, dark);
+        setBit(cols[x], y + LINE_PAD, dark);
+    }
+
+    private static void setBit(long[] line, int bit, boolean value) {
+        if (value) {
+            line[bit >>> 6] |= (1L << bit);
+        } else {
+            line[bit >>> 6] &= ~(1L << bit);
         }
+    }
 
-        for (i = 0; i < 8; i++) {
-            if (((seq >> i) & 0x01) != 0) {
-                eval[(8 * size) + (size - i - 1)] = (byte)(0x01 >> pattern);
-            } else {
-                eval[(8 * size) + (size - i - 1)] = 0;
+    /** Returns the 64 bits of the specified packed line which start at the specified bit offset. */
+    private static long window(long[] line, int offset) {
+        int i = offset >>> 6;
+        int s = offset & 63;
+        return (line[i] >>> s) | ((line[i + 1] << 1) << (63 - s));
+    }
+
+    /** Returns a mask covering the lowest <code>n</code> bits of a word, where <code>n &gt; 0</code>. */
+    private static long lowBits(int n) {
+        return n >= 64 ? -1L : (1L << n) - 1;
+    }
+
+    /**
+     * Returns the penalty score for the specified mask pattern, using the specified work buffers to hold the masked symbol.
+     */
+    private static int penalty(long[][] gridRows, long[][] gridCols, long[][] maskRows, long[][] maskCols,
+                               long[][] rows, long[][] cols, int size, EccMode ecc_level, int pattern) {
+        int i, w;
+        int words = rows[0].length;
+        for (i = 0; i < size; i++) {
+            for (w = 0; w < words; w++) {
+                rows[i][w] = gridRows[i][w] ^ maskRows[i][w];
+                cols[i][w] = gridCols[i][w] ^ maskCols[i][w];
             }
         }
+        add_format_info_eval(rows, cols, size, ecc_level, pattern);
+        return evaluate(rows, cols, size);
+    }
 
-        for (i = 0; i < 6; i++) {
-            if (((seq >> (i + 9)) & 0x01) != 0) {
-                eval[(8 * size) + (5 - i)] = (byte)(0x01 >> pattern);
-            } else {
-                eval[(8 * size) + (5 - i)] = 0;
-            }
+    private static void add_format_info_eval(long[][] rows, long[][] cols, int size, EccMode ecc_level, int pattern) {
+        /* Add format information to evaluation grid */
+
+        int format = pattern;
+        int seq;
+        int i;
+
+        switch (ecc_level) {
+            case L:
+                format += 0x08;
+                break;
+            case Q:
+                format += 0x18;
+                break;
+            case H:
+                format += 0x10;
+                break;
         }
 
-        for (i = 0; i < 7; i++) {
-            if (((seq >> (i + 8)) & 0x01) != 0) {
-                eval[(((size - 7) + i) * size) + 8] = (byte)(0x01 >> pattern);
-            } else {
-                eval[(((size - 7) + i) * size) + 8] = 0;
-            }
+        seq = qr_annex_c[format];
+
+        /* For historical reasons, format information is only taken into account when evaluating
+           mask pattern 0; for the other patterns the format information modules are evaluated
+           as light. This is retained so that the choice of mask pattern does not change. */
+        if (pattern != 0) {
+            seq = 0;
         }
 
-        if (((seq >> 6) & 0x01) != 0) {
-            eval[(7 * size) + 8] = (byte)(0x01 >> pattern);
-        } else {
-            eval[(7 * size) + 8] = 0;
+        for (i = 0; i < 6; i++) {
+            setModule(rows, cols, 8, i, ((seq >> i) & 0x01) != 0);
         }
 
-        if (((seq >> 7) & 0x01) != 0) {
-            eval[(8 * size) + 8] = (byte)(0x01 >> pattern);
-        } else {
-            eval[(8 * size) + 8] = 0;
+        for (i = 0; i < 8; i++) {
+            setModule(rows, cols, size - i - 1, 8, ((seq >> i) & 0x01) != 0);
         }
 
-        if (((seq >> 8) & 0x01) != 0) {
-            eval[(8 * size) + 7] = (byte)(0x01 >> pattern);
-        } else {
-            eval[(8 * size) + 7] = 0;
+        for (i = 0; i < 6; i++) {
+            setModule(rows, cols, 5 - i, 8, ((seq >> (i + 9)) & 0x01) != 0);
         }
+
+        for (i = 0; i < 7; i++) {
+            setModule(rows, cols, 8, (size - 7) + i, ((seq >> (i + 8)) & 0x01) != 0);
+        }
+
+        setModule(rows, cols, 8, 7, ((seq >> 6) & 0x01) != 0);
+        setModule(rows, cols, 8, 8, ((seq >> 7) & 0x01) != 0);
+        setModule(rows, cols, 7, 8, ((seq >> 8) & 0x01) != 0);
     }
 
-    private int evaluate(int size, int pattern) {
-        int x, y, block;
+    private static int evaluate(long[][] rows, long[][] cols, int size) {
+        int i, base;
         int result = 0;
-        int state;
-        int p;
-        int weight;
+        int blocks;
         int dark_mods;
         int percentage, k;
-        int a, b, afterCount, beforeCount;
-        byte[] local = new byte[size * size];
-
-        for (x = 0; x < size; x++) {
-            for (y = 0; y < size; y++) {
-                if ((eval[(y * size) + x] & (0x01 << pattern)) != 0) {
-                    local[(y * size) + x] = '1';
-                } else {
-                    local[(y * size) + x] = '0';
-                }
-            }
-        }
 
         /* Test 1: Adjacent modules in row/column in same colour */
-        /* Vertical */
-        for (x = 0; x < size; x++) {
-            state = local[x];
-            block = 0;
-            for (y = 0; y < size; y++) {
-                if (local[(y * size) + x] == state) {
-                    block++;
-                } else {
-                    if (block > 5) {
-                        result += (3 + (block - 5));
-                    }
-                    block = 0;
-                    state = local[(y * size) + x];
-                }
-            }
-            if (block > 5) {
-                result += (3 + (block - 5));
-            }
-        }
-
-        /* Horizontal */
-        for (y = 0; y < size; y++) {
-            state = local[y * size];
-            block = 0;
-            for (x = 0; x < size; x++) {
-                if (local[(y * size) + x] == state) {
-                    block++;
-                } else {
-                    if (block > 5) {
-                        result += (3 + (block - 5));
-                    }
-                    block = 0;
-                    state = local[(y * size) + x];
-                }
-            }
-            if (block > 5) {
-                result += (3 + (block - 5));
-            }
+        for (i = 0; i < size; i++) {
+            result += runPenalty(rows[i], size);
+            result += runPenalty(cols[i], size);
         }
 
         /* Test 2: Block of modules in same color */
-        for (x = 0; x < size - 1; x++) {
-            for (y = 0; y < size - 1; y++) {
-                if (((local[(y * size) + x] == local[((y + 1) * size) + x])
-                        && (local[(y * size) + x] == local[(y * size) + (x + 1)]))
-                        && (local[(y * size) + x] == local[((y + 1) * size) + (x + 1)])) {
-                    result += 3;
-                }
+        blocks = 0;
+        for (i = 0; i < size - 1; i++) {
+            long[] a = rows[i];
+            long[] b = rows[i + 1];
+            for (base = 0; base < size - 1; base += 64) {
+                long a0 = window(a, base + LINE_PAD);
+                long a1 = window(a, base + LINE_PAD + 1);
+                long b0 = window(b, base + LINE_PAD);
+                long b1 = window(b, base + LINE_PAD + 1);
+                long same = ~((a0 ^ b0) | (a1 ^ b1) | (a0 ^ a1));
+                blocks += Long.bitCount(same & lowBits(size - 1 - base));
             }
         }
+        result += 3 * blocks;
 
         /* Test 3: 1:1:3:1:1 ratio pattern in row/column */
-        /* Vertical */
-        for (x = 0; x < size; x++) {
-            for (y = 0; y < (size - 7); y++) {
-                p = 0;
-                for (weight = 0; weight < 7; weight++) {
-                    if (local[((y + weight) * size) + x] == '1') {
-                        p += (0x40 >> weight);
-                    }
-                }
-                if (p == 0x5d) {
-                    /* Pattern found, check before and after */
-                    beforeCount = 0;
-                    for (b = (y - 4); b < y; b++) {
-                        if (b < 0) {
-                            beforeCount++;
-                        } else {
-                            if (local[(b * size) + x] == '0') {
-                                beforeCount++;
-                            } else {
-                                beforeCount = 0;
-                            }
-                        }
-                    }
-
-                    afterCount = 0;
-                    for (a = (y + 7); a <= (y + 10); a++) {
-                        if (a >= size) {
-                            afterCount++;
-                        } else {
-                            if (local[(a * size) + x] == '0') {
-                                afterCount++;
-                            } else {
-                                afterCount = 0;
-                            }
-                        }
-                    }
-
-                    if ((beforeCount == 4) || (afterCount == 4)) {
-                        /* Pattern is preceeded or followed by light area
-                         4 modules wide */
-                        result += 40;
-                    }
-                }
-            }
-        }
-
-        /* Horizontal */
-        for (y = 0; y < size; y++) {
-            for (x = 0; x < (size - 7); x++) {
-                p = 0;
-                for (weight = 0; weight < 7; weight++) {
-                    if (local[(y * size) + x + weight] == '1') {
-                        p += (0x40 >> weight);
-                    }
-                }
-                if (p == 0x5d) {
-                    /* Pattern found, check before and after */
-                    beforeCount = 0;
-                    for (b = (x - 4); b < x; b++) {
-                        if (b < 0) {
-                            beforeCount++;
-                        } else {
-                            if (local[(y * size) + b] == '0') {
-                                beforeCount++;
-                            } else {
-                                beforeCount = 0;
-                            }
-                        }
-                    }
-
-                    afterCount = 0;
-                    for (a = (x + 7); a <= (x + 10); a++) {
-                        if (a >= size) {
-                            afterCount++;
-                        } else {
-                            if (local[(y * size) + a] == '0') {
-                                afterCount++;
-                            } else {
-                                afterCount = 0;
-                            }
-                        }
-                    }
-
-                    if ((beforeCount == 4) || (afterCount == 4)) {
-                        /* Pattern is preceeded or followed by light area
-                         4 modules wide */
-                        result += 40;
-                    }
-                }
-            }
+        for (i = 0; i < size; i++) {
+            result += 40 * finderLikeCount(rows[i], size);
+            result += 40 * finderLikeCount(cols[i], size);
         }
 
         /* Test 4: Proportion of dark modules in entire symbol */
         dark_mods = 0;
-        for (x = 0; x < size; x++) {
-            for (y = 0; y < size; y++) {
-                if (local[(y * size) + x] == '1') {
-                    dark_mods++;
-                }
+        for (i = 0; i < size; i++) {
+            for (long word : rows[i]) {
+                dark_mods += Long.bitCount(word);
             }
         }
         percentage = 100 * (dark_mods / (size * size));
@@ -1987,6 +1988,61 @@ public class QrCode extends Symbol {
         return result;
     }
 
+    /**
+     * Returns the penalty for runs of same-coloured modules in the specified line. Run boundaries are located a word
+     * at a time by comparing the line with itself shifted by one module. As in the original implementation, the first
+     * module of every run except the first is not counted towards the run length.
+     */
+    private static int runPenalty(long[] line, int size) {
+        int result = 0;
+        int block;
+        int prev = -1;
+        boolean first = true;
+
+        for (int base = 0; base < size - 1; base += 64) {
+            long changes = window(line, base + LINE_PAD) ^ window(line, base + LINE_PAD + 1);
+            changes &= lowBits(size - 1 - base);
+            while (changes != 0) {
+                int pos = base + Long.numberOfTrailingZeros(changes);
+                block = first ? pos - prev : pos - prev - 1;
+                if (block > 5) {
+                    result += (3 + (block - 5));
+                }
+                prev = pos;
+                first = false;
+                changes &= changes - 1;
+            }
+        }
+
+        block = first ? (size - 1) - prev : (size - 1) - prev - 1;
+        if (block > 5) {
+            result += (3 + (block - 5));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the number of finder-like patterns in the specified line which are preceded or followed by four light
+     * modules (or by the edge of the symbol), checking 64 candidate positions at a time. Only candidate positions
+     * before <code>size - 7</code> are checked, as in the original implementation.
+     */
+    private static int finderLikeCount(long[] line, int size) {
+        int count = 0;
+
+        for (int base = 0; base < size - 7; base += 64) {
+            /* bit j of each word below corresponds to a pattern starting at module (base + j) */
+            int start = base + LINE_PAD;
+            long lightBefore = ~(window(line, start - 4) | window(line, start - 3) | window(line, start - 2) | window(line, start - 1));
+            long match = window(line, start) & ~window(line, start + 1) & window(line, start + 2) & window(line, start + 3)
+                       & window(line, start + 4) & ~window(line, start + 5) & window(line, start + 6);
+            long lightAfter = ~(window(line, start + 7) | window(line, start + 8) | window(line, start + 9) | window(line, start + 10));
+            count += Long.bitCount(match & (lightBefore | lightAfter) & lowBits(size - 7 - base));
+        }
+
+        return count;
+    }
+
     private void add_format_info(int size, EccMode ecc_level, int pattern) {
         /* Add format information to grid */
 
@@ -2043,4 +2099,21 @@ public class QrCode extends Symbol {
             grid[(i * size) + (size - 9)] += (version_data >> ((i * 3) + 2)) & 0x01;
         }
     }
+
+    /** The immutable function pattern template and data module traversal order for a single symbol version. */
+    private static final class Template {
+
+        /** The module grid, containing only the function patterns and the reserved format / version areas. */
+        private final byte[] grid;
+
+        /** The grid indices of the data modules, in placement order. */
+        private final int[] order;
+
+        private Template(int version) {
+            int size = qr_sizes[version - 1];
+            this.grid = new byte[size * size];
+            setup_grid(grid, size, version);
+            this.order = data_order(grid, size);
+        }
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.backend;
+
+/**
+ * A rectangle (bar or module) in a symbol. This is a lightweight replacement for <code>java.awt.geom.Rectangle2D</code>,
+ * so that symbols can be encoded without loading any AWT classes. The fields are mutable, since some symbologies adjust
+ * rectangles in place while plotting.
+ */
+public class Rectangle {
+
+    /** The X position of the rectangle's left edge. */
+    public double x;
+
+    /** The Y position of the rectangle's top edge. */
+    public double y;
+
+    /** The width of the rectangle. */
+    public double width;
+
+    /** The height of the rectangle. */
+    public double height;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param x the X position of the rectangle's left edge
+     * @param y the Y position of the rectangle's top edge
+     * @param width the width of the rectangle
+     * @param height the height of the rectangle
+     */
+    public Rectangle(double x, double y, double width, double height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Creates a new instance, with the same position and size as the specified rectangle.
+     *
+     * @param other the rectangle to copy
+     */
+    public Rectangle(Rectangle other) {
+        this(other.x, other.y, other.width, other.height);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Rectangle)) {
+            return false;
+        }
+        Rectangle other = (Rectangle) obj;
+        return Double.doubleToLongBits(x) == Double.doubleToLongBits(other.x) &&
+               Double.doubleToLongBits(y) == Double.doubleToLongBits(other.y) &&
+               Double.doubleToLongBits(width) == Double.doubleToLongBits(other.width) &&
+               Double.doubleToLongBits(height) == Double.doubleToLongBits(other.height);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        long bits = Double.doubleToLongBits(x);
+        bits = (31 * bits) + Double.doubleToLongBits(y);
+        bits = (31 * bits) + Double.doubleToLongBits(width);
+        bits = (31 * bits) + Double.doubleToLongBits(height);
+        return (int) (bits ^ (bits >>> 32));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "Rectangle[x=" + x + ", y=" + y + ", width=" + width + ", height=" + height + "]";
+    }
+}
@@ -15,17 +15,33 @@
  */
 package uk.org.okapibarcode.backend;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
+ * <p>Reed-Solomon error correction code generator.
+ *
+ * <p>Galois field log / antilog tables and generator polynomials are immutable and are cached per JVM, so calling
+ * {@link #init_gf(int)} and {@link #init_code(int, int)} for a previously seen field / code is a simple table lookup.
+ * The cached state is shared between threads, but individual <code>ReedSolomon</code> instances are not thread-safe.
+ *
+ * <p>The encoding kernel avoids modulo operations and branches in its inner loop: the antilog table is three field
+ * sizes long (two periods of the field, followed by zeros), and generator coefficients are stored as logarithms, with
+ * zero coefficients mapped to an index in the zero-filled tail of the antilog table.
  *
  * @author <a href="mailto:rstuart114@gmail.com">Robin Stuart</a>
  */
 public class ReedSolomon {
-    private int logmod;
-    private int rlen;
 
-    private int[] logt;
-    private int[] alog;
-    private int[] rspoly;
+    /** Galois field tables, keyed by primitive polynomial. */
+    private static final ConcurrentMap< Integer, GaloisField > FIELDS = new ConcurrentHashMap<>();
+
+    /** Generator polynomial coefficients (in log form), keyed by primitive polynomial, number of symbols and first root index. */
+    private static final ConcurrentMap< Long, int[] > CODES = new ConcurrentHashMap<>();
+
+    private GaloisField field;
+    private int rlen;
+    private int[] rslog;
     public int[] res;
 
     public int getResult(int count) {
@@ -33,71 +49,136 @@ public class ReedSolomon {
     }
 
     public void init_gf(int poly) {
-        int m, b, p, v;
+        GaloisField gf = FIELDS.get(poly);
+        if (gf == null) {
+            gf = new GaloisField(poly);
+            GaloisField existing = FIELDS.putIfAbsent(poly, gf);
+            if (existing != null) {
+                gf = existing;
+            }
+        }
+        field = gf;
+    }
 
-        // Find the top bit, and hence the symbol size
-        for (b = 1, m = 0; b <= poly; b <<= 1) {
-            m++;
+    public void init_code(int nsym, int index) {
+        Long key = codeKey(field.poly, nsym, index);
+        int[] poly = CODES.get(key);
+        if (poly == null) {
+            poly = createGenerator(field, nsym, index);
+            int[] existing = CODES.putIfAbsent(key, poly);
+            if (existing != null) {
+                poly = existing;
+            }
+        }
+        rslog = poly;
+        rlen = nsym;
+    }
+
+    public void encode(int len, int[] data) {
+        res = new int[rlen];
+        encode(len, data, res);
+    }
+
+    /**
+     * Calculates the error correction codewords for the specified data, writing them to the specified output buffer
+     * in the same order as {@link #getResult(int)}. Unlike {@link #encode(int, int[])}, this method does not allocate
+     * and does not update {@link #res}.
+     *
+     * @param len the number of data codewords
+     * @param data the data codewords
+     * @param out the output buffer, whose first <code>nsym</code> entries will be overwritten
+     */
+    public void encode(int len, int[] data, int[] out) {
+        int i, k, m, lm;
+
+        int[] logt = field.logt;
+        int[] alog = field.alog;
+        int[] g = rslog;
+        int last = rlen - 1;
+
+        for (i = 0; i < rlen; i++) {
+            out[i] = 0;
         }
-        b >>= 1;
-        m--;
-
-        // Calculate the log/alog tables
-        logmod = (1 << m) - 1;
-        logt = new int[logmod + 1];
-        alog = new int[logmod];
-
-        for (p = 1, v = 0; v < logmod; v++) {
-            alog[v] = p;
-            logt[p] = v;
-            p <<= 1;
-            if ((p & b) != 0) {
-                p ^= poly;
+        for (i = 0; i < len; i++) {
+            m = out[last] ^ data[i];
+            if (m == 0) {
+                System.arraycopy(out, 0, out, 1, last);
+                out[0] = 0;
+            } else {
+                lm = logt[m];
+                for (k = last; k > 0; k--) {
+                    out[k] = out[k - 1] ^ alog[lm + g[k]];
+                }
+                out[0] = alog[lm + g[0]];
             }
         }
     }
 
-    public void init_code(int nsym, int index) {
-        int i, k;
+    /** Packs the parameters which identify a generator polynomial into a single cache key. */
+    private static Long codeKey(int poly, int nsym, int index) {
+        return ((long) poly << 40) | ((long) nsym << 20) | index;
+    }
 
-        rspoly = new int[nsym + 1];
+    /** Creates the specified generator polynomial, returning its coefficients in log form. */
+    private static int[] createGenerator(GaloisField gf, int nsym, int index) {
+        int i, k;
 
-        rlen = nsym;
+        int[] rspoly = new int[nsym + 1];
 
         rspoly[0] = 1;
         for (i = 1; i <= nsym; i++) {
             rspoly[i] = 1;
             for (k = i - 1; k > 0; k--) {
                 if (rspoly[k] != 0) {
-                    rspoly[k] = alog[(logt[rspoly[k]] + index) % logmod];
+                    rspoly[k] = gf.alog[(gf.logt[rspoly[k]] + index) % gf.logmod];
                 }
                 rspoly[k] ^= rspoly[k - 1];
             }
-            rspoly[0] = alog[(logt[rspoly[0]] + index) % logmod];
+            rspoly[0] = gf.alog[(gf.logt[rspoly[0]] + index) % gf.logmod];
             index++;
         }
+
+        for (i = 0; i <= nsym; i++) {
+            rspoly[i] = (rspoly[i] != 0 ? gf.logt[rspoly[i]] : gf.zero);
+        }
+
+        return rspoly;
     }
 
-    public void encode(int len, int[] data) {
-        int i, k, m;
+    /** Immutable log / antilog tables for a single Galois field. */
+    private static final class GaloisField {
 
-        res = new int[rlen];
-        for (i = 0; i < rlen; i++) {
-            res[i] = 0;
-        }
-        for (i = 0; i < len; i++) {
-            m = res[rlen - 1] ^ data[i];
-            for (k = rlen - 1; k > 0; k--) {
-                if ((m != 0) && (rspoly[k] != 0)) {
-                    res[k] = res[k - 1] ^ alog[(logt[m] + logt[rspoly[k]]) % logmod];
-                } else {
-                    res[k] = res[k - 1];
-                }
+        private final int poly;
+        private final int logmod;
+        private final int zero;
+        private final int[] logt;
+        private final int[] alog;
+
+        private GaloisField(int poly) {
+            int m, b, p, v;
+
+            // Find the top bit, and hence the symbol size
+            for (b = 1, m = 0; b <= poly; b <<= 1) {
+                m++;
             }
-            if ((m != 0) && (rspoly[0] != 0)) {
-                res[0] = alog[(logt[m] + logt[rspoly[0]]) % logmod];
-            } else {
-                res[0] = 0;
+            b >>= 1;
+            m--;
+
+            // Calculate the log/alog tables
+            this.poly = poly;
+            this.logmod = (1 << m) - 1;
+            this.zero = logmod * 2;
+            this.logt = new int[logmod + 1];
+            this.alog = new int[logmod * 3];
+
+            for (p = 1, v = 0; v < logmod; v++) {
+                alog[v] = p;
+                alog[v + logmod] = p;
+                logt[p] = v;
+                p <<= 1;
+                if ((p & b) != 0) {
+                    p ^= poly;
+                }
             }
         }
     }
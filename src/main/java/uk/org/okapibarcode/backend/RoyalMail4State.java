@@ -15,9 +15,14 @@
  */
 package uk.org.okapibarcode.backend;
 
-import java.awt.geom.Rectangle2D;
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+import static uk.org.okapibarcode.util.CharacterClass.LOWER_CASE;
+import static uk.org.okapibarcode.util.CharacterClass.UPPER_CASE;
+
 import java.util.Locale;
 
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * Encodes data according to the Royal Mail 4-State Country Code
  * <br>
@@ -28,21 +33,33 @@ import java.util.Locale;
  * @author <a href="mailto:rstuart114@gmail.com">Robin Stuart</a>
  */
 public class RoyalMail4State extends Symbol {
+
+    /** The characters which can be encoded. */
+    private static final CharacterClass VALID_CHARACTERS = DIGITS.with(UPPER_CASE);
+
+    /** The characters which can be entered (lower case letters are converted to upper case before encoding). */
+    private static final CharacterClass VALID_INPUT = VALID_CHARACTERS.with(LOWER_CASE);
+
     /* Handles the 4 State barcodes used in the UK by Royal Mail */
 
-    private String[] RoyalTable = {
+    private static final String[] RoyalTable = {
         "TTFF", "TDAF", "TDFA", "DTAF", "DTFA", "DDAA", "TADF", "TFTF", "TFDA",
         "DATF", "DADA", "DFTA", "TAFD", "TFAD", "TFFT", "DAAD", "DAFT", "DFAT",
         "ATDF", "ADTF", "ADDA", "FTTF", "FTDA", "FDTA", "ATFD", "ADAD", "ADFT",
         "FTAD", "FTFT", "FDAT", "AADD", "AFTD", "AFDT", "FATD", "FADT", "FFTT"
     };
 
-    private char[] krSet = {
+    private static final char[] krSet = {
         '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D',
         'E', 'F', 'G', 'H', 'I', 'J', 'K', 'L', 'M', 'N', 'O', 'P', 'Q', 'R',
         'S', 'T', 'U', 'V', 'W', 'X', 'Y', 'Z'
     };
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return VALID_INPUT;
+    }
+
     @Override
     protected void encode() {
         String dest;
@@ -51,7 +68,7 @@ public class RoyalMail4State extends Symbol {
         int index;
 
         content = content.toUpperCase(Locale.ENGLISH);
-        if(!content.matches("[0-9A-Z]+")) {
+        if(!VALID_CHARACTERS.matches(content)) {
             throw new OkapiException("Invalid characters in data");
         }
         dest = "A";
@@ -119,7 +136,7 @@ public class RoyalMail4State extends Symbol {
                 break;
             }
 
-            Rectangle2D.Double rect = new Rectangle2D.Double(x, y, w, h);
+            Rectangle rect = new Rectangle(x, y, w, h);
             rectangles.add(rect);
 
             x += 2;
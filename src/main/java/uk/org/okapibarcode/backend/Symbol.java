@@ -19,14 +19,18 @@ import static uk.org.okapibarcode.backend.HumanReadableAlignment.CENTER;
 import static uk.org.okapibarcode.backend.HumanReadableLocation.BOTTOM;
 import static uk.org.okapibarcode.backend.HumanReadableLocation.NONE;
 import static uk.org.okapibarcode.backend.HumanReadableLocation.TOP;
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+import static uk.org.okapibarcode.util.CharacterClass.UPPER_CASE;
 import static uk.org.okapibarcode.util.Doubles.roughlyEqual;
-
-import java.awt.geom.Ellipse2D;
-import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 
+import uk.org.okapibarcode.util.CharacterClass;
 import uk.org.okapibarcode.util.EciMode;
 
 /**
@@ -37,7 +41,10 @@ import uk.org.okapibarcode.util.EciMode;
  *
  * @author <a href="mailto:rstuart114@gmail.com">Robin Stuart</a>
  */
-public abstract class Symbol {
+public abstract class Symbol implements Cloneable {
+
+    /** The characters which can be encoded in HIBC data. */
+    private static final CharacterClass HIBC_CHARACTERS = DIGITS.with(UPPER_CASE).with("-. $/+%");
 
     public static enum DataType {
         UTF8, LATIN1, BINARY, GS1, HIBC, ECI
@@ -64,15 +71,16 @@ public abstract class Symbol {
     protected byte[] inputBytes;
     protected String readable = "";
     protected String[] pattern;
+    protected ModuleMatrix modules;
     protected int row_count = 0;
     protected int[] row_height;
     protected int symbol_height = 0;
     protected int symbol_width = 0;
     protected String encodeInfo = "";
-    protected List< Rectangle2D.Double > rectangles = new ArrayList<>();
+    protected List< Rectangle > rectangles = new ArrayList<>();
     protected List< TextBox > texts = new ArrayList<>();
     protected List< Hexagon > hexagons = new ArrayList<>();
-    protected List< Ellipse2D.Double > target = new ArrayList<>();
+    protected List< Circle > target = new ArrayList<>();
 
     /**
      * <p>Sets the type of input data. This setting influences what pre-processing is done on
@@ -337,10 +345,21 @@ public abstract class Symbol {
      *
      * @return render information about the rectangles in this symbol
      */
-    public List< Rectangle2D.Double > getRectangles() {
+    public List< Rectangle > getRectangles() {
         return Collections.unmodifiableList(rectangles);
     }
 
+    /**
+     * Returns the module matrix of this symbol, if it is a matrix symbology which describes its output as a
+     * grid of dark and light modules. Returns <code>null</code> for symbologies which describe their output
+     * as rows of (possibly variable-width) bars, such as linear and stacked symbologies.
+     *
+     * @return the module matrix of this symbol, or <code>null</code> if this symbol does not use a module matrix
+     */
+    public ModuleMatrix getModules() {
+        return modules;
+    }
+
     /**
      * Returns render information about the text elements in this symbol.
      *
@@ -364,7 +383,7 @@ public abstract class Symbol {
      *
      * @return render information about the target circles in this symbol
      */
-    public List< Ellipse2D.Double > getTarget() {
+    public List< Circle > getTarget() {
         return Collections.unmodifiableList(target);
     }
 
@@ -446,36 +465,156 @@ public abstract class Symbol {
         return content;
     }
 
+    /**
+     * <p>Encodes the specified data using the current configuration of this symbol, and returns the result. Input data
+     * will be assumed to be of the type set by {@link #setDataType(DataType)}.
+     *
+     * <p>Unlike {@link #setContent(String)}, this method does not modify the state of this symbol: encoding takes place
+     * in a private working copy, so a single configured symbol can be used to encode data concurrently from multiple
+     * threads, as long as its configuration is not modified at the same time.
+     *
+     * @param data the data to encode
+     * @return the encoded symbol
+     * @throws OkapiException if no data or data is invalid
+     */
+    public EncodedSymbol encode(String data) {
+        Symbol copy = newWorkingCopy();
+        copy.setContent(data);
+        return new EncodedSymbol(copy, true);
+    }
+
+    /**
+     * <p>Checks whether or not the specified data can be encoded using the current configuration of this symbol,
+     * without encoding it. Input data will be assumed to be of the type set by {@link #setDataType(DataType)}.
+     *
+     * <p>The check covers GS1 and HIBC syntax, and the characters accepted by this symbol type. Constraints which
+     * depend on the encoded result (such as length limits, symbol capacity and check digits) are only checked when
+     * the data is encoded, so data which passes this check may still be rejected by {@link #setContent(String)}.
+     *
+     * <p>Like {@link #encode(String)}, this method does not modify the state of this symbol.
+     *
+     * @param data the data to check
+     * @return whether or not the specified data passed validation
+     * @see #validate(List)
+     */
+    public boolean isValid(String data) {
+        return newWorkingCopy().isValidContent(data);
+    }
+
+    /**
+     * Checks a batch of data, as per {@link #isValid(String)}, without encoding any of it.
+     *
+     * @param data the data to check
+     * @return the indices of the items in the specified list which failed validation
+     */
+    public BitSet validate(List< String > data) {
+        Symbol copy = newWorkingCopy();
+        BitSet invalid = new BitSet(data.size());
+        int i = 0;
+        for (String item : data) {
+            if (!copy.isValidContent(item)) {
+                invalid.set(i);
+            }
+            i++;
+        }
+        return invalid;
+    }
+
+    private boolean isValidContent(String data) {
+
+        String processed;
+        encodeInfo = "";
+
+        try {
+            switch (inputDataType) {
+                case GS1:
+                    processed = gs1SanityCheck(data);
+                    break;
+                case HIBC:
+                    processed = hibcProcess(data);
+                    break;
+                default:
+                    processed = data;
+                    break;
+            }
+        } catch (OkapiException e) {
+            return false;
+        }
+
+        if (processed.isEmpty()) {
+            return false;
+        }
+
+        CharacterClass valid = getValidCharacters();
+        return valid == null || valid.matches(processed);
+    }
+
+    /**
+     * Returns the characters which this symbol can encode in its current configuration, used by
+     * {@link #isValid(String)} to check data without encoding it. Symbol types which can encode any character, or
+     * whose valid characters cannot be described by a single character class, should return <code>null</code>,
+     * which is the default.
+     *
+     * @return the characters which this symbol can encode, or <code>null</code> if not restricted
+     */
+    protected CharacterClass getValidCharacters() {
+        return null;
+    }
+
+    /**
+     * Returns a copy of this symbol which shares its configuration, but none of its mutable per-encode state.
+     *
+     * @return a copy of this symbol which can be used to encode data independently of this symbol
+     * @see #resetWorkingState()
+     */
+    Symbol newWorkingCopy() {
+        Symbol copy;
+        try {
+            copy = (Symbol) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        copy.resetWorkingState();
+        copy.content = null;
+        copy.eciMode = -1;
+        copy.inputBytes = null;
+        copy.readable = "";
+        copy.pattern = null;
+        copy.modules = null;
+        copy.row_count = 0;
+        copy.row_height = null;
+        copy.symbol_height = 0;
+        copy.symbol_width = 0;
+        copy.encodeInfo = "";
+        copy.rectangles = new ArrayList<>();
+        copy.texts = new ArrayList<>();
+        copy.hexagons = new ArrayList<>();
+        copy.target = new ArrayList<>();
+        return copy;
+    }
+
+    /**
+     * Called on a newly cloned working copy of this symbol (see {@link #encode(String)}), which would otherwise share
+     * any mutable objects referenced by its fields with the symbol that it was cloned from. Subclasses which keep
+     * per-encode state in mutable instance fields (arrays, collections, builders, etc.) must override this method and
+     * replace each of those fields with the value it has in a newly created instance. Fields which only hold
+     * configuration or immutable values do not need to be reset. The state declared by this class is reset by the
+     * caller.
+     */
+    protected void resetWorkingState() {
+        // no per-encode state in mutable fields by default
+    }
+
     protected void eciProcess() {
 
-        EciMode eci = EciMode.of(content, "ISO8859_1",    3)
-                             .or(content, "ISO8859_2",    4)
-                             .or(content, "ISO8859_3",    5)
-                             .or(content, "ISO8859_4",    6)
-                             .or(content, "ISO8859_5",    7)
-                             .or(content, "ISO8859_6",    8)
-                             .or(content, "ISO8859_7",    9)
-                             .or(content, "ISO8859_8",    10)
-                             .or(content, "ISO8859_9",    11)
-                             .or(content, "ISO8859_10",   12)
-                             .or(content, "ISO8859_11",   13)
-                             .or(content, "ISO8859_13",   15)
-                             .or(content, "ISO8859_14",   16)
-                             .or(content, "ISO8859_15",   17)
-                             .or(content, "ISO8859_16",   18)
-                             .or(content, "Windows_1250", 21)
-                             .or(content, "Windows_1251", 22)
-                             .or(content, "Windows_1252", 23)
-                             .or(content, "Windows_1256", 24)
-                             .or(content, "SJIS",         20)
-                             .or(content, "UTF8",         26);
+        EciMode eci = EciMode.of(content);
 
         if (EciMode.NONE.equals(eci)) {
             throw new OkapiException("Unable to determine ECI mode.");
         }
 
         eciMode = eci.mode;
-        inputBytes = content.getBytes(eci.charset);
+        inputBytes = eci.getBytes();
         encodeInfo += "Encoding in " + eci.charset.name() + " character set\n";
     }
 
@@ -499,33 +638,60 @@ public abstract class Symbol {
         h = 0;
         y = baseY;
 
-        for (yBlock = 0; yBlock < row_count; yBlock++) {
-            black = true;
-            x = 0;
-            for (xBlock = 0; xBlock < pattern[yBlock].length(); xBlock++) {
-                char c = pattern[yBlock].charAt(xBlock);
-                w = getModuleWidth(c - '0') * moduleWidth;
-                if (black) {
-                    if (row_height[yBlock] == -1) {
-                        h = default_height;
-                    } else {
-                        h = row_height[yBlock];
-                    }
-                    if (w != 0 && h != 0) {
-                        Rectangle2D.Double rect = new Rectangle2D.Double(x, y, w, h);
-                        rectangles.add(rect);
+        if (modules != null) {
+            for (yBlock = 0; yBlock < row_count; yBlock++) {
+                if (row_height[yBlock] == -1) {
+                    h = default_height;
+                } else {
+                    h = row_height[yBlock];
+                }
+                int start = modules.nextDark(0, yBlock);
+                while (start < modules.getWidth()) {
+                    int end = modules.nextLight(start, yBlock);
+                    x = start * moduleWidth;
+                    w = (end - start) * moduleWidth;
+                    if (h != 0) {
+                        rectangles.add(new Rectangle(x, y, w, h));
                     }
                     if (x + w > symbol_width) {
                         symbol_width = (int) Math.ceil(x + w);
                     }
+                    start = modules.nextDark(end, yBlock);
+                }
+                if ((y - baseY + h) > symbol_height) {
+                    symbol_height = (int) Math.ceil(y - baseY + h);
                 }
-                black = !black;
-                x += w;
+                y += h;
             }
-            if ((y - baseY + h) > symbol_height) {
-                symbol_height = (int) Math.ceil(y - baseY + h);
+        } else {
+            for (yBlock = 0; yBlock < row_count; yBlock++) {
+                black = true;
+                x = 0;
+                for (xBlock = 0; xBlock < pattern[yBlock].length(); xBlock++) {
+                    char c = pattern[yBlock].charAt(xBlock);
+                    w = getModuleWidth(c - '0') * moduleWidth;
+                    if (black) {
+                        if (row_height[yBlock] == -1) {
+                            h = default_height;
+                        } else {
+                            h = row_height[yBlock];
+                        }
+                        if (w != 0 && h != 0) {
+                            Rectangle rect = new Rectangle(x, y, w, h);
+                            rectangles.add(rect);
+                        }
+                        if (x + w > symbol_width) {
+                            symbol_width = (int) Math.ceil(x + w);
+                        }
+                    }
+                    black = !black;
+                    x += w;
+                }
+                if ((y - baseY + h) > symbol_height) {
+                    symbol_height = (int) Math.ceil(y - baseY + h);
+                }
+                y += h;
             }
-            y += h;
         }
 
         if (humanReadableLocation != NONE && !readable.isEmpty()) {
@@ -556,275 +722,175 @@ public abstract class Symbol {
      * number of rectangles needed to describe a symbol.
      */
     protected void mergeVerticalBlocks() {
-        for(int i = 0; i < rectangles.size() - 1; i++) {
-            for(int j = i + 1; j < rectangles.size(); j++) {
-                Rectangle2D.Double firstRect = rectangles.get(i);
-                Rectangle2D.Double secondRect = rectangles.get(j);
-                if (roughlyEqual(firstRect.x, secondRect.x) && roughlyEqual(firstRect.width, secondRect.width)) {
-                    if (roughlyEqual(firstRect.y + firstRect.height, secondRect.y)) {
-                        firstRect.height += secondRect.height;
-                        rectangles.set(i, firstRect);
-                        rectangles.remove(j);
-                    }
-                }
-            }
-        }
+        mergeVerticalBlocks(rectangles);
     }
 
-    protected String gs1SanityCheck(String source) {
-        // Enforce compliance with GS1 General Specification
-        // http://www.gs1.org/docs/gsmp/barcodes/GS1_General_Specifications.pdf
-
-        String reduced = "";
-
-        int i, j, last_ai;
-        boolean ai_latch;
-        String ai_string;
-        int bracket_level, max_bracket_level, ai_length, max_ai_length, min_ai_length;
-        int[] ai_value = new int[100];
-        int[] ai_location = new int[100];
-        int ai_count;
-        int[] data_location = new int[100];
-        int[] data_length = new int[100];
-        int src_len = source.length();
-        int error_latch;
-
-        /* Detect extended ASCII characters */
-        for (i = 0; i < src_len; i++) {
-            if (source.charAt(i) >= 128) {
-                throw new OkapiException("Extended ASCII characters are not supported by GS1");
-            }
-            if (source.charAt(i) < 32) {
-                throw new OkapiException("Control characters are not supported by GS1");
+    /**
+     * <p>Merges rectangles which have the same width and x position, and which join together vertically, producing
+     * exactly the same rectangles as a pairwise comparison of the list: each remaining rectangle, in list order, scans
+     * the rectangles which follow it and absorbs each one which touches its (growing) bottom edge, and the rectangle
+     * which immediately follows an absorbed rectangle is skipped by that scan.
+     *
+     * <p>Rather than comparing every pair of rectangles, we index the rectangles by their top edge, so that each scan
+     * step is a lookup for the next rectangle (after the current scan position) which touches the bottom edge. Edges
+     * are indexed on a grid of cells four times as wide as the
+     * {@link uk.org.okapibarcode.util.Doubles#roughlyEqual(double, double) roughlyEqual} tolerance, centred on the grid
+     * values, so that every rectangle which is roughly level with the bottom edge is found by probing at most two cells
+     * per coordinate (a single cell for coordinates on the grid, as all coordinates of the built-in symbols are), and
+     * the candidates are then checked with the same tolerance as the original comparison.
+     *
+     * @param rectangles the rectangles to merge
+     */
+    static void mergeVerticalBlocks(List< Rectangle > rectangles) {
+
+        int size = rectangles.size();
+        if (size < 2) {
+            return;
+        }
+
+        /* The indices of the rectangles not yet absorbed, by top edge */
+        Map< Edge, TreeSet< Integer > > tops = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            Rectangle rect = rectangles.get(i);
+            Edge top = new Edge(Edge.cell(rect.x), Edge.cell(rect.width), Edge.cell(rect.y));
+            TreeSet< Integer > indices = tops.get(top);
+            if (indices == null) {
+                indices = new TreeSet<>();
+                tops.put(top, indices);
             }
+            indices.add(i);
         }
 
-        if (source.charAt(0) != '[') {
-            throw new OkapiException("Data does not start with an AI");
+        /* The rectangles not yet absorbed, as a doubly linked list of indices (with size as the end marker) */
+        int[] next = new int[size];
+        int[] previous = new int[size];
+        for (int i = 0; i < size; i++) {
+            next[i] = i + 1;
+            previous[i] = i - 1;
         }
 
-        /* Check the position of the brackets */
-        bracket_level = 0;
-        max_bracket_level = 0;
-        ai_length = 0;
-        max_ai_length = 0;
-        min_ai_length = 5;
-        j = 0;
-        ai_latch = false;
-        for (i = 0; i < src_len; i++) {
-            ai_length += j;
-            if (((j == 1) && (source.charAt(i) != ']'))
-                    && ((source.charAt(i) < '0') || (source.charAt(i) > '9'))) {
-                ai_latch = true;
-            }
-            if (source.charAt(i) == '[') {
-                bracket_level++;
-                j = 1;
-            }
-            if (source.charAt(i) == ']') {
-                bracket_level--;
-                if (ai_length < min_ai_length) {
-                    min_ai_length = ai_length;
+        List< Rectangle > merged = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i = next[i]) {
+            Rectangle rect = rectangles.get(i);
+            merged.add(rect);
+            int position = i;
+            while (position < size) {
+                double bottom = rect.y + rect.height;
+                TreeSet< Integer > below = null;
+                int j = size;
+                for (long x = Edge.firstCell(rect.x); x <= Edge.lastCell(rect.x); x++) {
+                    for (long w = Edge.firstCell(rect.width); w <= Edge.lastCell(rect.width); w++) {
+                        for (long y = Edge.firstCell(bottom); y <= Edge.lastCell(bottom); y++) {
+                            TreeSet< Integer > candidates = tops.get(new Edge(x, w, y));
+                            if (candidates == null) {
+                                continue;
+                            }
+                            for (Integer k = candidates.higher(position); k != null && k < j; k = candidates.higher(k)) {
+                                Rectangle other = rectangles.get(k);
+                                if (roughlyEqual(rect.x, other.x) && roughlyEqual(rect.width, other.width) &&
+                                    roughlyEqual(bottom, other.y)) {
+                                    below = candidates;
+                                    j = k;
+                                    break;
+                                }
+                            }
+                        }
+                    }
+                }
+                if (below == null) {
+                    break;
+                }
+                below.remove(j);
+                rect.height += rectangles.get(j).height;
+                position = next[j]; // the rectangle after the absorbed one is skipped
+                next[previous[j]] = next[j];
+                if (next[j] < size) {
+                    previous[next[j]] = previous[j];
                 }
-                j = 0;
-                ai_length = 0;
-            }
-            if (bracket_level > max_bracket_level) {
-                max_bracket_level = bracket_level;
-            }
-            if (ai_length > max_ai_length) {
-                max_ai_length = ai_length;
             }
         }
-        min_ai_length--;
 
-        if (bracket_level != 0) {
-            /* Not all brackets are closed */
-            throw new OkapiException("Malformed AI in input data (brackets don't match)");
+        if (merged.size() != size) {
+            rectangles.clear();
+            rectangles.addAll(merged);
         }
+    }
 
-        if (max_bracket_level > 1) {
-            /* Nested brackets */
-            throw new OkapiException("Found nested brackets in input data");
-        }
+    /**
+     * The horizontal top edge of a rectangle, used as a hash key when merging rectangles. Coordinates are snapped to
+     * grid cells of four times the <code>roughlyEqual</code> tolerance, so values which are roughly equal map to the
+     * same or to adjacent cells; the cells which may hold values roughly equal to a coordinate are
+     * {@link #firstCell(double)} to {@link #lastCell(double)}.
+     */
+    private static final class Edge {
 
-        if (max_ai_length > 4) {
-            /* AI is too long */
-            throw new OkapiException("Invalid AI in input data (AI too long)");
-        }
+        /** The tolerance used by <code>roughlyEqual</code>. */
+        private static final double TOLERANCE = 0.0001;
 
-        if (min_ai_length <= 1) {
-            /* AI is too short */
-            throw new OkapiException("Invalid AI in input data (AI too short)");
-        }
+        /**
+         * How far from a coordinate to look for roughly equal values: slightly more than the tolerance, so that values
+         * which <code>roughlyEqual</code> accepts because of rounding errors are not missed.
+         */
+        private static final double REACH = TOLERANCE * 1.000001;
 
-        if (ai_latch) {
-            /* Non-numeric data in AI */
-            throw new OkapiException("Invalid AI in input data (non-numeric characters in AI)");
-        }
+        /** The number of grid cells per unit. */
+        private static final double CELLS = 1 / (4 * TOLERANCE);
 
-        ai_count = 0;
-        for (i = 1; i < src_len; i++) {
-            if (source.charAt(i - 1) == '[') {
-                ai_location[ai_count] = i;
-                ai_value[ai_count] = 0;
-                for (j = 0; source.charAt(i + j) != ']'; j++) {
-                    ai_value[ai_count] *= 10;
-                    ai_value[ai_count] += Character.getNumericValue(source.charAt(i + j));
-                }
-                ai_count++;
-            }
-        }
+        private final long x;
+        private final long width;
+        private final long y;
 
-        for (i = 0; i < ai_count; i++) {
-            data_location[i] = ai_location[i] + 3;
-            if (ai_value[i] >= 100) {
-                data_location[i]++;
-            }
-            if (ai_value[i] >= 1000) {
-                data_location[i]++;
-            }
-            data_length[i] = source.length() - data_location[i];
-            for(j = source.length() - 1; j >= data_location[i]; j--) {
-                if (source.charAt(j) == '[') {
-                    data_length[i] = j - data_location[i];
-                }
-            }
+        Edge(long x, long width, long y) {
+            this.x = x;
+            this.width = width;
+            this.y = y;
         }
 
-        for (i = 0; i < ai_count; i++) {
-            if (data_length[i] == 0) {
-                /* No data for given AI */
-                throw new OkapiException("Empty data field in input data");
-            }
+        /** Returns the grid cell containing the specified value: cells are centred on multiples of the cell size. */
+        static long cell(double value) {
+            return (long) Math.floor((value * CELLS) + 0.5);
         }
 
-        error_latch = 0;
-        ai_string = "";
-        for (i = 0; i < ai_count; i++) {
-            switch (ai_value[i]) {
-            case 0:
-                if (data_length[i] != 18) {
-                    error_latch = 1;
-                }
-                break;
-            case 1:
-            case 2:
-            case 3:
-                if (data_length[i] != 14) {
-                    error_latch = 1;
-                }
-                break;
-            case 4:
-                if (data_length[i] != 16) {
-                    error_latch = 1;
-                }
-                break;
-            case 11:
-            case 12:
-            case 13:
-            case 14:
-            case 15:
-            case 16:
-            case 17:
-            case 18:
-            case 19:
-                if (data_length[i] != 6) {
-                    error_latch = 1;
-                }
-                break;
-            case 20:
-                if (data_length[i] != 2) {
-                    error_latch = 1;
-                }
-                break;
-            case 23:
-            case 24:
-            case 25:
-            case 39:
-            case 40:
-            case 41:
-            case 42:
-            case 70:
-            case 80:
-            case 81:
-                error_latch = 2;
-                break;
-            }
-            if (
-            ((ai_value[i] >= 100) && (ai_value[i] <= 179))
-                    || ((ai_value[i] >= 1000) && (ai_value[i] <= 1799))
-                    || ((ai_value[i] >= 200) && (ai_value[i] <= 229))
-                    || ((ai_value[i] >= 2000) && (ai_value[i] <= 2299))
-                    || ((ai_value[i] >= 300) && (ai_value[i] <= 309))
-                    || ((ai_value[i] >= 3000) && (ai_value[i] <= 3099))
-                    || ((ai_value[i] >= 31) && (ai_value[i] <= 36))
-                    || ((ai_value[i] >= 310) && (ai_value[i] <= 369))) {
-                error_latch = 2;
-            }
-            if ((ai_value[i] >= 3100) && (ai_value[i] <= 3699) && data_length[i] != 6) {
-                error_latch = 1;
-            }
-            if (
-            ((ai_value[i] >= 370) && (ai_value[i] <= 379))
-                    || ((ai_value[i] >= 3700) && (ai_value[i] <= 3799))) {
-                error_latch = 2;
-            }
-            if ((ai_value[i] >= 410) && (ai_value[i] <= 415)) {
-                if (data_length[i] != 13) {
-                    error_latch = 1;
-                }
-            }
-            if (
-            ((ai_value[i] >= 4100) && (ai_value[i] <= 4199))
-                    || ((ai_value[i] >= 700) && (ai_value[i] <= 703))
-                    || ((ai_value[i] >= 800) && (ai_value[i] <= 810))
-                    || ((ai_value[i] >= 900) && (ai_value[i] <= 999))
-                    || ((ai_value[i] >= 9000) && (ai_value[i] <= 9999))) {
-                error_latch = 2;
-            }
+        /** Returns the first grid cell which may contain values roughly equal to the specified value. */
+        static long firstCell(double value) {
+            return cell(value - REACH);
+        }
 
-            if (error_latch == 1) {
-                throw new OkapiException("Invalid data length for AI");
-            }
+        /**
+         * Returns the last grid cell which may contain values roughly equal to the specified value. This is the same
+         * cell as {@link #firstCell(double)} for values within a quarter of a cell of the centre of their cell.
+         */
+        static long lastCell(double value) {
+            return cell(value + REACH);
+        }
 
-            if (error_latch == 2) {
-                throw new OkapiException("Invalid AI value");
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Edge)) {
+                return false;
             }
+            Edge edge = (Edge) other;
+            return x == edge.x && width == edge.width && y == edge.y;
         }
 
-        /* Resolve AI data - put resulting string in 'reduced' */
-        j = 0;
-        last_ai = 0;
-        ai_latch = false;
-        for (i = 0; i < src_len; i++) {
-            if ((source.charAt(i) != '[') && (source.charAt(i) != ']')) {
-                reduced += source.charAt(i);
-            }
-            if (source.charAt(i) == '[') {
-                /* Start of an AI string */
-                if (ai_latch) {
-                    reduced += '[';
-                }
-                last_ai = (10 * Character.getNumericValue(source.charAt(i + 1)))
-                        + Character.getNumericValue(source.charAt(i + 2));
-                if ( ((last_ai >= 0) && (last_ai <= 4))
-                        || ((last_ai >= 11) && (last_ai <= 20))
-                        || (last_ai == 23) /* legacy support - see 5.3.8.2.2 */
-                        || ((last_ai >= 31) && (last_ai <= 36))
-                        || (last_ai == 41)) {
-                    // The end of the current data block doesn't need FNC1
-                    ai_latch = false;
-                } else {
-                    // The end of the current data block does need FNC1
-                    ai_latch = true;
-                }
-            }
-            /* The ']' character is simply dropped from the input */
+        @Override
+        public int hashCode() {
+            long h = (x * 31 + width) * 31 + y;
+            return (int) (h ^ (h >>> 32));
         }
+    }
 
-        /* the character '[' in the reduced string refers to the FNC1 character */
-        return reduced;
+    /**
+     * Validates the specified GS1 data and converts it to the form used during encoding, in which the AIs are not
+     * delimited and the character <code>'['</code> represents FNC1.
+     *
+     * @param source the GS1 data, with each AI enclosed in square brackets
+     * @return the converted data
+     * @throws OkapiException if the data is not valid GS1 data
+     */
+    protected String gs1SanityCheck(String source) {
+        return Gs1.verify(source);
     }
 
     protected String hibcProcess(String source) {
@@ -845,7 +911,7 @@ public abstract class Symbol {
         }
 
         source = source.toUpperCase();
-        if (!source.matches("[A-Z0-9-\\. \\$/+\\%]+?")) {
+        if (!HIBC_CHARACTERS.matches(source)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -915,6 +981,23 @@ public abstract class Symbol {
         }
     }
 
+    /**
+     * Returns the run-length patterns of the rows in this bar code. Matrix symbologies which write their output
+     * to a {@link ModuleMatrix} have their patterns derived from the matrix on demand.
+     *
+     * @return the run-length patterns of the rows in this bar code
+     */
+    protected String[] getPatterns() {
+        if (modules == null) {
+            return pattern;
+        }
+        String[] patterns = new String[modules.getHeight()];
+        for (int i = 0; i < patterns.length; i++) {
+            patterns[i] = modules.getPattern(i);
+        }
+        return patterns;
+    }
+
     /**
      * Inserts the specified array into the specified original array at the specified index.
      *
@@ -15,6 +15,11 @@
  */
 package uk.org.okapibarcode.backend;
 
+import static uk.org.okapibarcode.util.CharacterClass.ASCII;
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * <p>Implements Telepen (also known as Telepen Alpha).
  *
@@ -27,6 +32,9 @@ package uk.org.okapibarcode.backend;
  */
 public class Telepen extends Symbol {
 
+    /** The characters which can be encoded in numeric mode. */
+    private static final CharacterClass NUMERIC_CHARACTERS = DIGITS.with("X");
+
     public static enum Mode {
         NORMAL, NUMERIC
     }
@@ -72,6 +80,11 @@ public class Telepen extends Symbol {
         return mode;
     }
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return mode == Mode.NUMERIC ? NUMERIC_CHARACTERS : ASCII;
+    }
+
     @Override
     protected void encode() {
         if (mode == Mode.NORMAL) {
@@ -88,7 +101,7 @@ public class Telepen extends Symbol {
 
         int l = content.length();
 
-        if (!content.matches("[\u0000-\u007F]+")) {
+        if (!ASCII.matches(content)) {
             throw new OkapiException("Invalid characters in input data");
         }
 
@@ -129,7 +142,7 @@ public class Telepen extends Symbol {
         char c1, c2;
 
         //FIXME: Ensure no extended ASCII or Unicode characters are entered
-        if (!content.matches("[0-9X]+")) {
+        if (!NUMERIC_CHARACTERS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
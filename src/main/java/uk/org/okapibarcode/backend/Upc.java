@@ -17,8 +17,9 @@ package uk.org.okapibarcode.backend;
 
 import static uk.org.okapibarcode.backend.HumanReadableLocation.NONE;
 import static uk.org.okapibarcode.backend.HumanReadableLocation.TOP;
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
 
-import java.awt.geom.Rectangle2D;
+import uk.org.okapibarcode.util.CharacterClass;
 
 /**
  * <p>Implements UPC bar code symbology according to BS EN 797:1996.
@@ -34,6 +35,9 @@ import java.awt.geom.Rectangle2D;
  */
 public class Upc extends Symbol {
 
+    /** The characters which can be entered, including the <code>'+'</code> which separates any add-on data. */
+    private static final CharacterClass VALID_INPUT = DIGITS.with("+");
+
     public static enum Mode {
         UPCA, UPCE
     };
@@ -92,6 +96,11 @@ public class Upc extends Symbol {
         }
     }
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return VALID_INPUT;
+    }
+
     @Override
     protected void encode() {
 
@@ -145,7 +154,7 @@ public class Upc extends Symbol {
         int i;
         char check;
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -186,7 +195,7 @@ public class Upc extends Symbol {
         char[] equivalent = new char[12];
         String equiv = "";
 
-        if (!content.matches("[0-9]+")) {
+        if (!DIGITS.matches(content)) {
             throw new OkapiException("Invalid characters in input");
         }
 
@@ -378,7 +387,7 @@ public class Upc extends Symbol {
                         y -= 2;
                     }
                 }
-                Rectangle2D.Double rect = new Rectangle2D.Double(x + 6, y + compositeOffset, w, h);
+                Rectangle rect = new Rectangle(x + 6, y + compositeOffset, w, h);
                 rectangles.add(rect);
                 if ((x + w + 12) > symbol_width) {
                     symbol_width = x + w + 12;
@@ -392,15 +401,15 @@ public class Upc extends Symbol {
         if (linkageFlag) {
             // Add separator for composite symbology
             if (mode == Mode.UPCA) {
-                rectangles.add(new Rectangle2D.Double(0 + 6, 0, 1, 2));
-                rectangles.add(new Rectangle2D.Double(94 + 6, 0, 1, 2));
-                rectangles.add(new Rectangle2D.Double(-1 + 6, 2, 1, 2));
-                rectangles.add(new Rectangle2D.Double(95 + 6, 2, 1, 2));
+                rectangles.add(new Rectangle(0 + 6, 0, 1, 2));
+                rectangles.add(new Rectangle(94 + 6, 0, 1, 2));
+                rectangles.add(new Rectangle(-1 + 6, 2, 1, 2));
+                rectangles.add(new Rectangle(95 + 6, 2, 1, 2));
             } else { // UPCE
-                rectangles.add(new Rectangle2D.Double(0 + 6, 0, 1, 2));
-                rectangles.add(new Rectangle2D.Double(50 + 6, 0, 1, 2));
-                rectangles.add(new Rectangle2D.Double(-1 + 6, 2, 1, 2));
-                rectangles.add(new Rectangle2D.Double(51 + 6, 2, 1, 2));
+                rectangles.add(new Rectangle(0 + 6, 0, 1, 2));
+                rectangles.add(new Rectangle(50 + 6, 0, 1, 2));
+                rectangles.add(new Rectangle(-1 + 6, 2, 1, 2));
+                rectangles.add(new Rectangle(51 + 6, 2, 1, 2));
             }
         }
 
@@ -17,10 +17,12 @@ package uk.org.okapibarcode.backend;
 
 import static uk.org.okapibarcode.backend.HumanReadableLocation.NONE;
 import static uk.org.okapibarcode.backend.HumanReadableLocation.TOP;
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
 
-import java.awt.geom.Rectangle2D;
 import java.math.BigInteger;
 
+import uk.org.okapibarcode.util.CharacterClass;
+
 /**
  * <p>Implements USPS OneCode (also known as Intelligent Mail Barcode) according to USPS-B-3200F.
  *
@@ -33,6 +35,9 @@ import java.math.BigInteger;
  */
 public class UspsOneCode extends Symbol {
 
+    /** The characters which can be encoded. */
+    private static final CharacterClass VALID_CHARACTERS = DIGITS.with("-");
+
     /* The following lookup tables were generated using the code in Appendix C */
 
     private static final int[] APPX_D_I = { /* Appendix D Table 1 - 5 of 13 characters */
@@ -192,6 +197,11 @@ public class UspsOneCode extends Symbol {
         this.humanReadableLocation = HumanReadableLocation.NONE;
     }
 
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return VALID_CHARACTERS;
+    }
+
     @Override
     protected void encode() {
         String zip = "";
@@ -208,7 +218,7 @@ public class UspsOneCode extends Symbol {
         boolean[] bar_map = new boolean[130];
         char c;
 
-        if (!content.matches("[0-9\u002D]+")) {
+        if (!VALID_CHARACTERS.matches(content)) {
             throw new OkapiException("Invalid characters in input data");
         }
 
@@ -482,7 +492,7 @@ public class UspsOneCode extends Symbol {
                 break;
             }
 
-            Rectangle2D.Double rect = new Rectangle2D.Double(x, y, w, h);
+            Rectangle rect = new Rectangle(x, y, w, h);
             rectangles.add(rect);
 
             x += (2.43 * w);
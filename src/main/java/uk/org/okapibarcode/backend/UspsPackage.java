@@ -15,7 +15,9 @@
  */
 package uk.org.okapibarcode.backend;
 
-import java.awt.geom.Rectangle2D;
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+
+import uk.org.okapibarcode.util.CharacterClass;
 
 /**
  * <p>Implements USPS Intelligent Mail Package Barcode (IMpb), a linear barcode based on GS1-128.
@@ -26,6 +28,14 @@ import java.awt.geom.Rectangle2D;
  */
 public class UspsPackage extends Symbol {
 
+    /** The characters which can be encoded. */
+    private static final CharacterClass VALID_CHARACTERS = DIGITS.with("[]");
+
+    @Override
+    protected CharacterClass getValidCharacters() {
+        return VALID_CHARACTERS;
+    }
+
     @Override
     protected void encode() {
         String hrt;
@@ -37,7 +47,7 @@ public class UspsPackage extends Symbol {
             System.out.printf("IM Package Data Content = \"%s\"\n", content);
         }
 
-        if (!content.matches("[0-9\\[\\]]+")) {
+        if (!VALID_CHARACTERS.matches(content)) {
             /* Input must be numeric only */
             throw new OkapiException("Invalid IMpb data");
         }
@@ -109,7 +119,7 @@ public class UspsPackage extends Symbol {
                     h = row_height[0];
                 }
                 if (w != 0 && h != 0) {
-                    Rectangle2D.Double rect = new Rectangle2D.Double(x + offset, y, w, h);
+                    Rectangle rect = new Rectangle(x + offset, y, w, h);
                     rectangles.add(rect);
                 }
                 symbol_width = x + w + (2 * offset);
@@ -120,8 +130,8 @@ public class UspsPackage extends Symbol {
         symbol_height = h + (2 * yoffset);
 
         // Add boundary bars
-        Rectangle2D.Double topBar = new Rectangle2D.Double(0, 0, symbol_width, 2);
-        Rectangle2D.Double bottomBar = new Rectangle2D.Double(0, symbol_height - 2, symbol_width, 2);
+        Rectangle topBar = new Rectangle(0, 0, symbol_width, 2);
+        Rectangle bottomBar = new Rectangle(0, symbol_height - 2, symbol_width, 2);
         rectangles.add(topBar);
         rectangles.add(bottomBar);
 
@@ -468,7 +468,7 @@ public class OkapiUI extends javax.swing.JFrame implements TreeSelectionListener
 
         outFilenameCombo.setModel(new javax.swing.DefaultComboBoxModel(new String[] { "Same as Data", "Line Number" }));
 
-        outFormatCombo.setModel(new javax.swing.DefaultComboBoxModel(new String[] { "Portable Network Graphic (*.png)", "Joint Photographic Expert Group Image (*.jpg)", "Graphics Interchange Format (*.gif)", "Windows Bitmap (*.bmp)", "Scalable Vector Graphic (*.svg)", "Encapsulated Post Script (*.eps)" }));
+        outFormatCombo.setModel(new javax.swing.DefaultComboBoxModel(new String[] { "Portable Network Graphic (*.png)", "Joint Photographic Expert Group Image (*.jpg)", "Graphics Interchange Format (*.gif)", "Windows Bitmap (*.bmp)", "Scalable Vector Graphic (*.svg)", "Encapsulated Post Script (*.eps)", "Portable Document Format (*.pdf)" }));
 
         runBatchButton.setText("Run Batch");
         runBatchButton.setEnabled(false);
@@ -1693,6 +1693,9 @@ public class OkapiUI extends javax.swing.JFrame implements TreeSelectionListener
             case 4:
                 extension = ".svg";
                 break;
+            case 6:
+                extension = ".pdf";
+                break;
             case 5:
             default:
                 extension = ".eps";
@@ -23,6 +23,8 @@ import java.io.IOException;
 import javax.imageio.ImageIO;
 import javax.swing.JPanel;
 
+import uk.org.okapibarcode.output.PdfRenderer;
+import uk.org.okapibarcode.output.PngRenderer;
 import uk.org.okapibarcode.output.PostScriptRenderer;
 import uk.org.okapibarcode.output.SvgRenderer;
 
@@ -44,6 +46,11 @@ public class SaveImage {
 
         switch (extension) {
             case "png":
+                try (FileOutputStream fos = new FileOutputStream(file)) {
+                    PngRenderer png = new PngRenderer(fos, Math.max(1, OkapiUI.factor), OkapiUI.paperColour, OkapiUI.inkColour);
+                    png.render(OkapiUI.symbol);
+                }
+                break;
             case "gif":
             case "jpg":
             case "bmp":
@@ -59,6 +66,12 @@ public class SaveImage {
                 PostScriptRenderer eps = new PostScriptRenderer(new FileOutputStream(file), OkapiUI.factor, OkapiUI.paperColour, OkapiUI.inkColour);
                 eps.render(OkapiUI.symbol);
                 break;
+            case "pdf":
+                try (FileOutputStream fos = new FileOutputStream(file)) {
+                    PdfRenderer pdf = new PdfRenderer(fos, OkapiUI.factor, OkapiUI.paperColour, OkapiUI.inkColour);
+                    pdf.render(OkapiUI.symbol);
+                }
+                break;
             default:
                 System.out.println("Unsupported output format");
                 break;
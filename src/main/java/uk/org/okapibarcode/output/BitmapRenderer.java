@@ -0,0 +1,262 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.output;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.List;
+
+import uk.org.okapibarcode.backend.EncodedSymbol;
+import uk.org.okapibarcode.backend.Rectangle;
+import uk.org.okapibarcode.backend.Symbol;
+
+/**
+ * <p>Renders symbologies directly into a 1-bit-per-pixel raster, at an integer scale and without antialiasing.
+ *
+ * <p>The raster is a packed array of bytes, one bit per pixel, most significant bit first, with each scanline
+ * starting on a byte boundary (the layout used by {@link BufferedImage#TYPE_BYTE_BINARY} images). Bits set to
+ * <code>1</code> represent ink, and bits set to <code>0</code> represent paper. The bars and modules of the symbol
+ * are written directly into the raster as whole scanline spans; the human-readable text and the MaxiCode hexagons
+ * and target, if any, are drawn using the Java 2D API.
+ *
+ * <p>The whole raster is cleared to paper before the symbol is rendered.
+ */
+public class BitmapRenderer implements EncodedSymbolRenderer {
+
+    /** The packed pixel data. */
+    private final byte[] data;
+
+    /** The width of the raster, in pixels. */
+    private final int width;
+
+    /** The height of the raster, in pixels. */
+    private final int height;
+
+    /** The number of bytes per scanline. */
+    private final int stride;
+
+    /** The scale factor to apply. */
+    private final int scale;
+
+    /** The image backed by the pixel data, used to draw the symbol elements which are not rectangles. */
+    private BufferedImage image;
+
+    /**
+     * Creates a new bitmap renderer which renders to the specified image. The image must have been created by
+     * {@link #createImage(int, int, Color, Color)}, or be a {@link BufferedImage#TYPE_BYTE_BINARY} image with a
+     * 2-color palette in which index <code>0</code> is the paper color and index <code>1</code> is the ink color.
+     *
+     * @param image the image to render to
+     * @param scale the scale factor to apply
+     */
+    public BitmapRenderer(BufferedImage image, int scale) {
+        WritableRaster raster = image.getRaster();
+        if (image.getType() != BufferedImage.TYPE_BYTE_BINARY
+                || image.getColorModel().getPixelSize() != 1
+                || !(raster.getSampleModel() instanceof MultiPixelPackedSampleModel)
+                || raster.getParent() != null) {
+            throw new IllegalArgumentException("Image must be an unshared 1-bit TYPE_BYTE_BINARY image");
+        }
+        this.data = ((DataBufferByte) raster.getDataBuffer()).getData();
+        this.width = image.getWidth();
+        this.height = image.getHeight();
+        this.stride = ((MultiPixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+        this.scale = checkScale(scale);
+        this.image = image;
+    }
+
+    /**
+     * Creates a new bitmap renderer which renders to the specified caller-supplied buffer. The buffer must contain
+     * at least <code>height * ((width + 7) / 8)</code> bytes.
+     *
+     * @param data the buffer to render to
+     * @param width the width of the raster, in pixels
+     * @param height the height of the raster, in pixels
+     * @param scale the scale factor to apply
+     */
+    public BitmapRenderer(byte[] data, int width, int height, int scale) {
+        int stride = (width + 7) >>> 3;
+        if (width <= 0 || height <= 0 || data.length < (long) stride * height) {
+            throw new IllegalArgumentException("Invalid raster size: " + width + " x " + height);
+        }
+        this.data = data;
+        this.width = width;
+        this.height = height;
+        this.stride = stride;
+        this.scale = checkScale(scale);
+    }
+
+    /**
+     * Creates a 1-bit image suitable for rendering the specified symbol at the specified scale.
+     *
+     * @param symbol the symbol which will be rendered to the image
+     * @param scale the scale factor which will be applied
+     * @param paper the paper (background) color
+     * @param ink the ink (foreground) color
+     * @return a new 1-bit image
+     */
+    public static BufferedImage createImage(Symbol symbol, int scale, Color paper, Color ink) {
+        return createImage(symbol.getWidth() * scale, symbol.getHeight() * scale, paper, ink);
+    }
+
+    /**
+     * Creates a 1-bit image with a 2-color palette, in which index <code>0</code> is the paper color and index
+     * <code>1</code> is the ink color.
+     *
+     * @param width the image width, in pixels
+     * @param height the image height, in pixels
+     * @param paper the paper (background) color
+     * @param ink the ink (foreground) color
+     * @return a new 1-bit image
+     */
+    public static BufferedImage createImage(int width, int height, Color paper, Color ink) {
+        return new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY, createColorModel(paper, ink));
+    }
+
+    private static IndexColorModel createColorModel(Color paper, Color ink) {
+        byte[] r = { (byte) paper.getRed(), (byte) ink.getRed() };
+        byte[] g = { (byte) paper.getGreen(), (byte) ink.getGreen() };
+        byte[] b = { (byte) paper.getBlue(), (byte) ink.getBlue() };
+        return new IndexColorModel(1, 2, r, g, b);
+    }
+
+    private static int checkScale(int scale) {
+        if (scale < 1) {
+            throw new IllegalArgumentException("Invalid scale: " + scale);
+        }
+        return scale;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void render(Symbol symbol) {
+        render(EncodedSymbol.of(symbol));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void render(EncodedSymbol symbol) {
+
+        int marginX = symbol.getQuietZoneHorizontal() * scale;
+        int marginY = symbol.getQuietZoneVertical() * scale;
+
+        Arrays.fill(data, 0, stride * height, (byte) 0);
+
+        List< Rectangle > rectangles = symbol.getRectangles();
+        if (scale > 1 && hasIntegerRows(rectangles)) {
+            /* every group of "scale" scanlines is identical: rasterize the first of each, then replicate it */
+            for (Rectangle rect : rectangles) {
+                int x = (int) ((rect.x * scale) + marginX);
+                int w = (int) (rect.width * scale);
+                for (int row = (int) rect.y; row < (int) (rect.y + rect.height); row++) {
+                    fillRect(x, (row * scale) + marginY, w, 1);
+                }
+            }
+            for (int y = marginY; y < height; y += scale) {
+                for (int i = 1; i < scale && y + i < height; i++) {
+                    System.arraycopy(data, y * stride, data, (y + i) * stride, stride);
+                }
+            }
+        } else {
+            for (Rectangle rect : rectangles) {
+                double x = (rect.x * scale) + marginX;
+                double y = (rect.y * scale) + marginY;
+                double w = rect.width * scale;
+                double h = rect.height * scale;
+                fillRect((int) x, (int) y, (int) w, (int) h);
+            }
+        }
+
+        if (!symbol.getTexts().isEmpty() || !symbol.getHexagons().isEmpty() || !symbol.getTarget().isEmpty()) {
+            BufferedImage img = getImage();
+            IndexColorModel icm = (IndexColorModel) img.getColorModel();
+            Color paper = new Color(icm.getRGB(0));
+            Color ink = new Color(icm.getRGB(1));
+            Graphics2D g2d = img.createGraphics();
+            try {
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+                g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+                new Java2DRenderer(g2d, scale, paper, ink).render(symbol, false);
+            } finally {
+                g2d.dispose();
+            }
+        }
+    }
+
+    /** Returns whether or not all of the specified rectangles start and end on whole module rows. */
+    static boolean hasIntegerRows(List< Rectangle > rectangles) {
+        for (Rectangle rect : rectangles) {
+            if (rect.y != Math.rint(rect.y) || rect.height != Math.rint(rect.height) || rect.y < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Returns the image backed by the pixel data, creating it if necessary. */
+    private BufferedImage getImage() {
+        if (image == null) {
+            DataBufferByte buffer = new DataBufferByte(data, data.length);
+            WritableRaster raster = Raster.createPackedRaster(buffer, width, height, 1, null);
+            IndexColorModel icm = createColorModel(Color.WHITE, Color.BLACK);
+            image = new BufferedImage(icm, raster, false, null);
+        }
+        return image;
+    }
+
+    /**
+     * Sets the pixels in the specified rectangle to ink, clipping the rectangle to the raster bounds. Each scanline
+     * is written as a partial leading byte, a run of full bytes and a partial trailing byte.
+     */
+    private void fillRect(int x, int y, int w, int h) {
+
+        int x0 = Math.max(x, 0);
+        int x1 = Math.min(x + w, width); // exclusive
+        int y0 = Math.max(y, 0);
+        int y1 = Math.min(y + h, height); // exclusive
+        if (x0 >= x1 || y0 >= y1) {
+            return;
+        }
+
+        int firstByte = x0 >>> 3;
+        int lastByte = (x1 - 1) >>> 3;
+        byte firstMask = (byte) (0xff >>> (x0 & 7));
+        byte lastMask = (byte) (0xff << (7 - ((x1 - 1) & 7)));
+
+        if (firstByte == lastByte) {
+            byte mask = (byte) (firstMask & lastMask);
+            for (int row = y0; row < y1; row++) {
+                data[(row * stride) + firstByte] |= mask;
+            }
+        } else {
+            for (int row = y0; row < y1; row++) {
+                int offset = row * stride;
+                data[offset + firstByte] |= firstMask;
+                Arrays.fill(data, offset + firstByte + 1, offset + lastByte, (byte) 0xff);
+                data[offset + lastByte] |= lastMask;
+            }
+        }
+    }
+}
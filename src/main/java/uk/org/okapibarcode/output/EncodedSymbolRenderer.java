@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.output;
+
+import java.io.IOException;
+
+import uk.org.okapibarcode.backend.EncodedSymbol;
+import uk.org.okapibarcode.backend.Symbol;
+
+/**
+ * Renders encoded symbols to some output format. Kept apart from {@link SymbolRenderer} so that existing renderer
+ * implementations are not required to support {@link EncodedSymbol}.
+ */
+public interface EncodedSymbolRenderer extends SymbolRenderer {
+
+    /**
+     * Renders the specified encoded symbol.
+     *
+     * @param symbol the encoded symbol to render
+     * @throws IOException if there is an I/O error
+     */
+    void render(EncodedSymbol symbol) throws IOException;
+
+}
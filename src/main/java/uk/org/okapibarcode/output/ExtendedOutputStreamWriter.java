@@ -27,18 +27,43 @@ import java.util.Locale;
  */
 class ExtendedOutputStreamWriter extends OutputStreamWriter {
 
-    /** Format to use when writing doubles to the stream. */
+    /** Powers of ten, indexed by exponent. */
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+
+    /** Scaled values at or above this limit are formatted using {@link String#format(Locale, String, Object...)}. */
+    private static final double MAX_FAST_VALUE = 1e15;
+
+    /**
+     * Scaled values whose fractional part is within this (relative) distance of one half are formatted using
+     * {@link String#format(Locale, String, Object...)}, which rounds the shortest decimal representation of the
+     * value rather than its exact binary value (e.g. <code>1.005</code> is formatted as <code>1.01</code>).
+     */
+    private static final double TIE_EPSILON = 1e-12;
+
+    /** The number of decimal places to use when writing doubles to the stream. */
+    private final int decimals;
+
+    /** The format to use when writing doubles which cannot be formatted directly. */
     private final String doubleFormat;
 
+    /** Buffer used to format numbers, filled from the end. */
+    private final char[] buffer = new char[32];
+
     /**
      * Creates a new extended output stream writer, using the UTF-8 charset.
      *
      * @param out the stream to write to
-     * @param doubleFormat the format to use when writing doubles to the stream
+     * @param decimals the number of decimal places to use when writing doubles to the stream
      */
-    public ExtendedOutputStreamWriter(OutputStream out, String doubleFormat) {
+    public ExtendedOutputStreamWriter(OutputStream out, int decimals) {
         super(out, StandardCharsets.UTF_8);
-        this.doubleFormat = doubleFormat;
+        if (decimals < 0 || decimals >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Invalid number of decimal places: " + decimals);
+        }
+        this.decimals = decimals;
+        this.doubleFormat = "%." + decimals + "f";
     }
 
     /** {@inheritDoc} */
@@ -56,14 +81,28 @@ class ExtendedOutputStreamWriter extends OutputStreamWriter {
     }
 
     /**
-     * Writes the specified double to the stream, formatted according to the format specified in the constructor.
+     * Writes the specified double to the stream, using the number of decimal places specified in the constructor.
+     * The output is identical to that of <code>String.format(Locale.ROOT, "%.2f", d)</code> (for 2 decimal places).
      *
      * @param d the double to write to the stream
      * @return this writer
      * @throws IOException if an I/O error occurs
      */
     public ExtendedOutputStreamWriter append(double d) throws IOException {
-        super.append(String.format(Locale.ROOT, doubleFormat, d));
+        appendDouble(d, false);
+        return this;
+    }
+
+    /**
+     * Writes the specified double to the stream, using at most the number of decimal places specified in the
+     * constructor, and omitting any trailing zeros (as well as the decimal point and sign, if unnecessary).
+     *
+     * @param d the double to write to the stream
+     * @return this writer
+     * @throws IOException if an I/O error occurs
+     */
+    public ExtendedOutputStreamWriter appendTrimmed(double d) throws IOException {
+        appendDouble(d, true);
         return this;
     }
 
@@ -75,7 +114,78 @@ class ExtendedOutputStreamWriter extends OutputStreamWriter {
      * @throws IOException if an I/O error occurs
      */
     public ExtendedOutputStreamWriter appendInt(int i) throws IOException {
-        super.append(String.valueOf(i));
+        int start = format(Math.abs((long) i), 0, i < 0, false);
+        write(buffer, start, buffer.length - start);
         return this;
     }
+
+    private void appendDouble(double d, boolean trim) throws IOException {
+
+        double scaled = Math.abs(d) * POWERS_OF_TEN[decimals];
+        if (!(scaled < MAX_FAST_VALUE)) {
+            // very large, infinite or NaN
+            appendFormatted(d, trim);
+            return;
+        }
+
+        long n = (long) scaled;
+        double fraction = scaled - n;
+        if (Math.abs(fraction - 0.5) <= TIE_EPSILON * (scaled + 1)) {
+            // too close to call
+            appendFormatted(d, trim);
+            return;
+        }
+        if (fraction > 0.5) {
+            n++;
+        }
+
+        boolean negative = Double.compare(d, 0.0) < 0;
+        int start = format(n, decimals, negative && !(trim && n == 0), trim);
+        write(buffer, start, buffer.length - start);
+    }
+
+    private void appendFormatted(double d, boolean trim) throws IOException {
+        String s = String.format(Locale.ROOT, doubleFormat, d);
+        if (trim && decimals > 0 && s.indexOf('.') != -1) {
+            int end = s.length();
+            while (s.charAt(end - 1) == '0') {
+                end--;
+            }
+            if (s.charAt(end - 1) == '.') {
+                end--;
+            }
+            s = s.substring(0, end);
+        }
+        super.append(s);
+    }
+
+    /**
+     * Formats the specified non-negative number into the end of the buffer, treating the last <code>decimals</code>
+     * digits as the fractional part. Returns the index of the first character written.
+     */
+    private int format(long n, int decimals, boolean negative, boolean trim) {
+        int pos = buffer.length;
+        if (decimals > 0) {
+            boolean skip = trim;
+            for (int i = 0; i < decimals; i++) {
+                int digit = (int) (n % 10);
+                n /= 10;
+                skip &= (digit == 0);
+                if (!skip) {
+                    buffer[--pos] = (char) ('0' + digit);
+                }
+            }
+            if (pos < buffer.length) {
+                buffer[--pos] = '.';
+            }
+        }
+        do {
+            buffer[--pos] = (char) ('0' + (n % 10));
+            n /= 10;
+        } while (n != 0);
+        if (negative) {
+            buffer[--pos] = '-';
+        }
+        return pos;
+    }
 }
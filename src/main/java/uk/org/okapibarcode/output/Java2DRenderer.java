@@ -20,22 +20,33 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
-import java.awt.Polygon;
-import java.awt.Rectangle;
 import java.awt.font.TextAttribute;
 import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import uk.org.okapibarcode.backend.Circle;
+import uk.org.okapibarcode.backend.EncodedSymbol;
 import uk.org.okapibarcode.backend.Hexagon;
+import uk.org.okapibarcode.backend.Rectangle;
 import uk.org.okapibarcode.backend.Symbol;
 import uk.org.okapibarcode.backend.TextBox;
 
 /**
  * Renders symbologies using the Java 2D API.
  */
-public class Java2DRenderer implements SymbolRenderer {
+public class Java2DRenderer implements EncodedSymbolRenderer {
+
+    /** The maximum number of fonts to cache. */
+    private static final int MAX_CACHED_FONTS = 64;
+
+    /** Cached fonts, keyed by font name and (magnified) font size. Fonts are immutable, so they can be shared. */
+    private static final ConcurrentMap< String, Font > FONTS = new ConcurrentHashMap<>();
 
     /** The graphics to render to. */
     private final Graphics2D g2d;
@@ -67,64 +78,106 @@ public class Java2DRenderer implements SymbolRenderer {
     /** {@inheritDoc} */
     @Override
     public void render(Symbol symbol) {
+        render(EncodedSymbol.of(symbol));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void render(EncodedSymbol symbol) {
+        render(symbol, true);
+    }
+
+    /**
+     * Renders the specified encoded symbol, optionally skipping the rectangles (which may have been rendered by
+     * other means).
+     *
+     * @param symbol the encoded symbol to render
+     * @param rectangles whether or not to render the symbol's rectangles
+     */
+    void render(EncodedSymbol symbol, boolean rectangles) {
 
         int marginX = (int) (symbol.getQuietZoneHorizontal() * magnification);
         int marginY = (int) (symbol.getQuietZoneVertical() * magnification);
 
-        Map< TextAttribute, Object > attributes = new HashMap<>();
-        attributes.put(TextAttribute.TRACKING, 0);
-        Font f = new Font(symbol.getFontName(), Font.PLAIN, (int) (symbol.getFontSize() * magnification)).deriveFont(attributes);
-
         Font oldFont = g2d.getFont();
         Color oldColor = g2d.getColor();
 
-        g2d.setFont(f);
         g2d.setColor(ink);
 
-        for (Rectangle2D.Double rect : symbol.getRectangles()) {
-            double x = (rect.x * magnification) + marginX;
-            double y = (rect.y * magnification) + marginY;
-            double w = rect.width * magnification;
-            double h = rect.height * magnification;
-            g2d.fill(new Rectangle((int) x, (int) y, (int) w, (int) h));
+        /* all bars (and all hexagons) are filled at once; they are built from the same truncated integer coordinates
+         * which were used when they were filled one at a time, so the rendered pixels don't change */
+
+        List< Rectangle > rects = rectangles ? symbol.getRectangles() : Collections.< Rectangle >emptyList();
+        if (!rects.isEmpty()) {
+            Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, rects.size() * 5);
+            for (Rectangle rect : rects) {
+                double x = (rect.x * magnification) + marginX;
+                double y = (rect.y * magnification) + marginY;
+                double w = rect.width * magnification;
+                double h = rect.height * magnification;
+                int x0 = (int) x;
+                int y0 = (int) y;
+                int x1 = x0 + (int) w;
+                int y1 = y0 + (int) h;
+                if (x1 > x0 && y1 > y0) {
+                    path.moveTo(x0, y0);
+                    path.lineTo(x1, y0);
+                    path.lineTo(x1, y1);
+                    path.lineTo(x0, y1);
+                    path.closePath();
+                }
+            }
+            g2d.fill(path);
         }
 
-        FontMetrics fm = g2d.getFontMetrics();
-        for (TextBox text : symbol.getTexts()) {
-            Rectangle2D bounds = fm.getStringBounds(text.text, g2d);
-            float x;
-            switch (symbol.getHumanReadableAlignment()) {
-                case LEFT:
-                    x = (float) ((magnification * text.x) + marginX);
-                    break;
-                case RIGHT:
-                    x = (float) ((magnification * text.x) + (magnification * text.width) - bounds.getWidth() + marginX);
-                    break;
-                case CENTER:
-                    x = (float) ((magnification * text.x) + (magnification * text.width / 2) - (bounds.getWidth() / 2) + marginX);
-                    break;
-                default:
-                    throw new IllegalStateException("Unknown alignment: " + symbol.getHumanReadableAlignment());
+        if (!symbol.getTexts().isEmpty()) {
+            g2d.setFont(getFont(symbol.getFontName(), (int) (symbol.getFontSize() * magnification)));
+            FontMetrics fm = g2d.getFontMetrics();
+            for (TextBox text : symbol.getTexts()) {
+                Rectangle2D bounds = fm.getStringBounds(text.text, g2d);
+                float x;
+                switch (symbol.getHumanReadableAlignment()) {
+                    case LEFT:
+                        x = (float) ((magnification * text.x) + marginX);
+                        break;
+                    case RIGHT:
+                        x = (float) ((magnification * text.x) + (magnification * text.width) - bounds.getWidth() + marginX);
+                        break;
+                    case CENTER:
+                        x = (float) ((magnification * text.x) + (magnification * text.width / 2) - (bounds.getWidth() / 2) + marginX);
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown alignment: " + symbol.getHumanReadableAlignment());
+                }
+                float y = (float) (text.y * magnification) + marginY;
+                g2d.drawString(text.text, x, y);
             }
-            float y = (float) (text.y * magnification) + marginY;
-            g2d.drawString(text.text, x, y);
         }
 
-        for (Hexagon hexagon : symbol.getHexagons()) {
-            Polygon polygon = new Polygon();
-            for (int j = 0; j < 6; j++) {
-                polygon.addPoint((int) ((hexagon.pointX[j] * magnification) + marginX),
-                        (int) ((hexagon.pointY[j] * magnification) + marginY));
+        List< Hexagon > hexagons = symbol.getHexagons();
+        if (!hexagons.isEmpty()) {
+            Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, hexagons.size() * 7);
+            for (Hexagon hexagon : hexagons) {
+                for (int j = 0; j < 6; j++) {
+                    int x = (int) ((hexagon.pointX[j] * magnification) + marginX);
+                    int y = (int) ((hexagon.pointY[j] * magnification) + marginY);
+                    if (j == 0) {
+                        path.moveTo(x, y);
+                    } else {
+                        path.lineTo(x, y);
+                    }
+                }
+                path.closePath();
             }
-            g2d.fill(polygon);
+            g2d.fill(path);
         }
 
         for (int i = 0; i < symbol.getTarget().size(); i++) {
-            Ellipse2D.Double ellipse = symbol.getTarget().get(i);
-            double x = (ellipse.x * magnification) + marginX;
-            double y = (ellipse.y * magnification) + marginY;
-            double w = (ellipse.width * magnification) + marginX;
-            double h = (ellipse.height * magnification) + marginY;
+            Circle circle = symbol.getTarget().get(i);
+            double x = ((circle.centreX - circle.radius) * magnification) + marginX;
+            double y = ((circle.centreY - circle.radius) * magnification) + marginY;
+            double w = ((circle.radius * 2) * magnification) + marginX;
+            double h = ((circle.radius * 2) * magnification) + marginY;
             if ((i & 1) == 0) {
                 g2d.setColor(ink);
             } else {
@@ -136,4 +189,22 @@ public class Java2DRenderer implements SymbolRenderer {
         g2d.setFont(oldFont);
         g2d.setColor(oldColor);
     }
+
+    /** Returns the plain font with the specified name and size, without any tracking. */
+    private static Font getFont(String name, int size) {
+        String key = name + '|' + size;
+        Font font = FONTS.get(key);
+        if (font == null) {
+            Map< TextAttribute, Object > attributes = Collections.< TextAttribute, Object >singletonMap(TextAttribute.TRACKING, 0);
+            font = new Font(name, Font.PLAIN, size).deriveFont(attributes);
+            if (FONTS.size() >= MAX_CACHED_FONTS) {
+                FONTS.clear();
+            }
+            Font existing = FONTS.putIfAbsent(key, font);
+            if (existing != null) {
+                font = existing;
+            }
+        }
+        return font;
+    }
 }
@@ -0,0 +1,484 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.output;
+
+import static uk.org.okapibarcode.util.Colors.blue;
+import static uk.org.okapibarcode.util.Colors.green;
+import static uk.org.okapibarcode.util.Colors.red;
+
+import java.awt.Color;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import uk.org.okapibarcode.backend.Circle;
+import uk.org.okapibarcode.backend.EncodedSymbol;
+import uk.org.okapibarcode.backend.Hexagon;
+import uk.org.okapibarcode.backend.Rectangle;
+import uk.org.okapibarcode.backend.Symbol;
+import uk.org.okapibarcode.backend.TextBox;
+
+/**
+ * <p>Renders symbologies to PDF (Portable Document Format).
+ *
+ * <p>The {@link #render(Symbol)} methods write a complete single-page document, with the page sized to fit the
+ * symbol. Multiple symbols can also be written to a single document, either one per page using
+ * {@link #addPage(EncodedSymbol)}, or at arbitrary positions on pages of any size using
+ * {@link #beginPage(double, double)}, {@link #place(EncodedSymbol, double, double)} and {@link #endPage()}; the
+ * document is completed by calling {@link #finish()}.
+ *
+ * <p>The document is written in a single pass, as the symbols are added: each page's content stream is compressed
+ * as it is written, and its length is written afterwards as a separate object. Human-readable text uses the
+ * standard Helvetica font, so no fonts are embedded.
+ */
+public class PdfRenderer implements EncodedSymbolRenderer {
+
+    /** Object number of the document catalog. */
+    private static final int CATALOG = 1;
+
+    /** Object number of the page tree. */
+    private static final int PAGES = 2;
+
+    /** Object number of the Helvetica font. */
+    private static final int FONT = 3;
+
+    /** Bezier control point distance used to approximate a quarter circle. */
+    private static final double KAPPA = 0.5522847498;
+
+    /** Widths of the printable ASCII characters in the Helvetica font, in thousandths of the font size. */
+    private static final short[] HELVETICA_WIDTHS = {
+        278, 278, 355, 556, 556, 889, 667, 191, 333, 333, 389, 584, 278, 333, 278, 278, // space to /
+        556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 278, 278, 584, 584, 584, 556, // 0 to ?
+        1015, 667, 667, 722, 722, 667, 611, 778, 722, 278, 500, 667, 556, 833, 722, 778, // @ to O
+        667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 278, 278, 278, 469, 556, // P to _
+        333, 556, 556, 500, 556, 556, 278, 556, 556, 222, 222, 500, 222, 833, 556, 556, // ` to o
+        556, 556, 333, 500, 278, 556, 500, 722, 500, 500, 500, 334, 260, 334, 584       // p to ~
+    };
+
+    /** The output stream to render to, which keeps track of the number of bytes written. */
+    private final CountingOutputStream out;
+
+    /** The magnification factor to apply. */
+    private final double magnification;
+
+    /** The paper (background) color, as an RGB value. */
+    private final int paper;
+
+    /** The ink (foreground) color, as an RGB value. */
+    private final int ink;
+
+    /** The byte offsets of the objects written so far, indexed by object number minus one. */
+    private final List< Long > offsets = new ArrayList<>();
+
+    /** The object numbers of the pages written so far. */
+    private final List< Integer > pages = new ArrayList<>();
+
+    /** The compressor for the content of the current page, or <code>null</code> if there is no current page. */
+    private Deflater deflater;
+
+    /** The compressing stream for the content of the current page, or <code>null</code> if there is no current page. */
+    private DeflaterOutputStream content;
+
+    /** The writer for the content of the current page, or <code>null</code> if there is no current page. */
+    private ExtendedOutputStreamWriter writer;
+
+    /** The size of the current page. */
+    private double pageWidth, pageHeight;
+
+    /** The byte offset of the start of the current page's content stream. */
+    private long contentStart;
+
+    /** Whether or not the document has been completed. */
+    private boolean finished;
+
+    /**
+     * Creates a new PDF renderer.
+     *
+     * @param out the output stream to render to
+     * @param magnification the magnification factor to apply
+     * @param paper the paper (background) color
+     * @param ink the ink (foreground) color
+     */
+    public PdfRenderer(OutputStream out, double magnification, Color paper, Color ink) {
+        this(out, magnification, paper.getRGB(), ink.getRGB());
+    }
+
+    /**
+     * Creates a new PDF renderer, using RGB color values (e.g. <code>0xFFFFFF</code> for white) rather than
+     * {@link Color} instances, so that no AWT classes need to be loaded.
+     *
+     * @param out the output stream to render to
+     * @param magnification the magnification factor to apply
+     * @param paper the paper (background) color, as an RGB value
+     * @param ink the ink (foreground) color, as an RGB value
+     */
+    public PdfRenderer(OutputStream out, double magnification, int paper, int ink) {
+        this.out = new CountingOutputStream(out);
+        this.magnification = magnification;
+        this.paper = paper & 0xFFFFFF;
+        this.ink = ink & 0xFFFFFF;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void render(Symbol symbol) throws IOException {
+        render(EncodedSymbol.of(symbol));
+    }
+
+    /**
+     * Renders the specified encoded symbol as a complete single-page document.
+     *
+     * @param symbol the encoded symbol to render
+     * @throws IOException if there is an I/O error
+     */
+    @Override
+    public void render(EncodedSymbol symbol) throws IOException {
+        addPage(symbol);
+        finish();
+    }
+
+    /**
+     * Adds a new page containing only the specified symbol, with the page sized to fit the symbol.
+     *
+     * @param symbol the symbol to add
+     * @throws IOException if there is an I/O error
+     */
+    public void addPage(EncodedSymbol symbol) throws IOException {
+        beginPage((int) (symbol.getWidth() * magnification), (int) (symbol.getHeight() * magnification));
+        place(symbol, 0, 0);
+        endPage();
+    }
+
+    /**
+     * Starts a new empty page of the specified size, to which symbols can be added using
+     * {@link #place(EncodedSymbol, double, double)}.
+     *
+     * @param width the page width, in points
+     * @param height the page height, in points
+     * @throws IOException if there is an I/O error
+     */
+    public void beginPage(double width, double height) throws IOException {
+
+        if (finished) {
+            throw new IllegalStateException("The document has already been completed");
+        }
+        if (content != null) {
+            throw new IllegalStateException("The previous page has not been ended");
+        }
+
+        if (offsets.isEmpty()) {
+            writeHeader();
+        }
+
+        pageWidth = width;
+        pageHeight = height;
+
+        int number = offsets.size() + 1;
+        startObject(number);
+        write("<< /Length " + (number + 1) + " 0 R /Filter /FlateDecode >>\nstream\n");
+        contentStart = out.count;
+        deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        content = new DeflaterOutputStream(out, deflater);
+        writer = new ExtendedOutputStreamWriter(content, 2);
+    }
+
+    /**
+     * Draws the specified symbol on the current page, at the specified position.
+     *
+     * @param symbol the symbol to draw
+     * @param x the distance of the left edge of the symbol from the left edge of the page, in points
+     * @param y the distance of the bottom edge of the symbol from the bottom edge of the page, in points
+     * @throws IOException if there is an I/O error
+     */
+    public void place(EncodedSymbol symbol, double x, double y) throws IOException {
+
+        if (content == null) {
+            throw new IllegalStateException("No page has been started");
+        }
+
+        // All y dimensions are reversed because PDF origin (0,0) is at the bottom left, not top left
+
+        int width = (int) (symbol.getWidth() * magnification);
+        int height = (int) (symbol.getHeight() * magnification);
+        int marginX = (int) (symbol.getQuietZoneHorizontal() * magnification);
+        int marginY = (int) (symbol.getQuietZoneVertical() * magnification);
+
+        writer.append("q 1 0 0 1 ").appendTrimmed(x).append(" ").appendTrimmed(y).append(" cm\n");
+
+        // Background
+        setColor(paper);
+        writer.append("0 0 ").appendInt(width).append(" ").appendInt(height).append(" re f\n");
+        setColor(ink);
+
+        // Rectangles
+        List< Rectangle > rectangles = symbol.getRectangles();
+        for (int i = 0; i < rectangles.size(); i++) {
+            Rectangle rect = rectangles.get(i);
+            writer.appendTrimmed((rect.x * magnification) + marginX).append(" ")
+                  .appendTrimmed(height - ((rect.y + rect.height) * magnification) - marginY).append(" ")
+                  .appendTrimmed(rect.width * magnification).append(" ")
+                  .appendTrimmed(rect.height * magnification).append(" re\n");
+        }
+        if (!rectangles.isEmpty()) {
+            writer.append("f\n");
+        }
+
+        // Text
+        for (int i = 0; i < symbol.getTexts().size(); i++) {
+            TextBox text = symbol.getTexts().get(i);
+            double fontSize = symbol.getFontSize() * magnification;
+            double textWidth = getTextWidth(text.text, fontSize);
+            double textX;
+            switch (symbol.getHumanReadableAlignment()) {
+                case LEFT:
+                    textX = (magnification * text.x) + marginX;
+                    break;
+                case RIGHT:
+                    textX = (magnification * text.x) + (magnification * text.width) + marginX - textWidth;
+                    break;
+                case CENTER:
+                    textX = (magnification * text.x) + (magnification * text.width / 2) + marginX - (textWidth / 2);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown alignment: " + symbol.getHumanReadableAlignment());
+            }
+            double textY = height - (text.y * magnification) - marginY;
+            writer.append("BT /F1 ").appendTrimmed(fontSize).append(" Tf ")
+                  .appendTrimmed(textX).append(" ").appendTrimmed(textY).append(" Td (")
+                  .append(escape(text.text)).append(") Tj ET\n");
+        }
+
+        // Circles
+        for (int i = 0; i < symbol.getTarget().size(); i++) {
+            Circle circle = symbol.getTarget().get(i);
+            setColor((i & 1) == 0 ? ink : paper);
+            double r = circle.radius * magnification;
+            double cx = (circle.centreX * magnification) + marginX;
+            double cy = height - (circle.centreY * magnification) - marginY;
+            double k = r * KAPPA;
+            writer.appendTrimmed(cx + r).append(" ").appendTrimmed(cy).append(" m\n");
+            curve(cx + r, cy + k, cx + k, cy + r, cx, cy + r);
+            curve(cx - k, cy + r, cx - r, cy + k, cx - r, cy);
+            curve(cx - r, cy - k, cx - k, cy - r, cx, cy - r);
+            curve(cx + k, cy - r, cx + r, cy - k, cx + r, cy);
+            writer.append("f\n");
+        }
+        if (!symbol.getTarget().isEmpty()) {
+            setColor(ink);
+        }
+
+        // Hexagons
+        List< Hexagon > hexagons = symbol.getHexagons();
+        for (int i = 0; i < hexagons.size(); i++) {
+            Hexagon hexagon = hexagons.get(i);
+            for (int j = 0; j < 6; j++) {
+                writer.appendTrimmed((hexagon.pointX[j] * magnification) + marginX).append(" ")
+                      .appendTrimmed(height - (hexagon.pointY[j] * magnification) - marginY)
+                      .append(j == 0 ? " m " : " l ");
+            }
+            writer.append("h\n");
+        }
+        if (!hexagons.isEmpty()) {
+            writer.append("f\n");
+        }
+
+        writer.append("Q\n");
+    }
+
+    /**
+     * Ends the current page.
+     *
+     * @throws IOException if there is an I/O error
+     */
+    public void endPage() throws IOException {
+
+        if (content == null) {
+            throw new IllegalStateException("No page has been started");
+        }
+
+        try {
+            writer.flush();
+            content.finish();
+        } finally {
+            deflater.end();
+            deflater = null;
+            content = null;
+            writer = null;
+        }
+        long length = out.count - contentStart;
+        write("\nendstream\nendobj\n");
+
+        int contentNumber = offsets.size();
+        startObject(contentNumber + 1);
+        write(length + "\nendobj\n");
+
+        int pageNumber = contentNumber + 2;
+        startObject(pageNumber);
+        write("<< /Type /Page /Parent " + PAGES + " 0 R /MediaBox [0 0 " + format(pageWidth) + " " + format(pageHeight)
+            + "] /Resources << /Font << /F1 " + FONT + " 0 R >> >> /Contents " + contentNumber + " 0 R >>\nendobj\n");
+        pages.add(pageNumber);
+    }
+
+    /**
+     * Completes the document, writing the page tree and the cross-reference table. The underlying output stream is
+     * flushed, but is not closed. No further symbols may be added after the document has been completed.
+     *
+     * @throws IOException if there is an I/O error
+     */
+    public void finish() throws IOException {
+
+        if (finished) {
+            throw new IllegalStateException("The document has already been completed");
+        }
+        if (content != null) {
+            endPage();
+        }
+        finished = true;
+
+        if (offsets.isEmpty()) {
+            writeHeader();
+        }
+
+        startObject(PAGES);
+        StringBuilder kids = new StringBuilder();
+        for (int page : pages) {
+            kids.append(page).append(" 0 R ");
+        }
+        write("<< /Type /Pages /Kids [ " + kids + "] /Count " + pages.size() + " >>\nendobj\n");
+
+        long xref = out.count;
+        StringBuilder sb = new StringBuilder();
+        sb.append("xref\n0 ").append(offsets.size() + 1).append('\n');
+        sb.append("0000000000 65535 f \n");
+        for (long offset : offsets) {
+            String s = Long.toString(offset);
+            for (int i = s.length(); i < 10; i++) {
+                sb.append('0');
+            }
+            sb.append(s).append(" 00000 n \n");
+        }
+        sb.append("trailer\n<< /Size ").append(offsets.size() + 1).append(" /Root ").append(CATALOG).append(" 0 R >>\n");
+        sb.append("startxref\n").append(xref).append("\n%%EOF\n");
+        write(sb.toString());
+
+        out.flush();
+    }
+
+    private void writeHeader() throws IOException {
+        write("%PDF-1.4\n%\u00e2\u00e3\u00cf\u00d3\n");
+        startObject(CATALOG);
+        write("<< /Type /Catalog /Pages " + PAGES + " 0 R >>\nendobj\n");
+        startObject(FONT); // the page tree is written last, once all pages are known
+        write("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>\nendobj\n");
+    }
+
+    private void startObject(int number) throws IOException {
+        while (offsets.size() < number) {
+            offsets.add(-1L);
+        }
+        offsets.set(number - 1, out.count);
+        write(number + " 0 obj\n");
+    }
+
+    private void write(String s) throws IOException {
+        out.write(s.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private void setColor(int color) throws IOException {
+        writer.appendTrimmed(red(color) / 255.0).append(" ")
+              .appendTrimmed(green(color) / 255.0).append(" ")
+              .appendTrimmed(blue(color) / 255.0).append(" rg\n");
+    }
+
+    private void curve(double x1, double y1, double x2, double y2, double x3, double y3) throws IOException {
+        writer.appendTrimmed(x1).append(" ").appendTrimmed(y1).append(" ")
+              .appendTrimmed(x2).append(" ").appendTrimmed(y2).append(" ")
+              .appendTrimmed(x3).append(" ").appendTrimmed(y3).append(" c\n");
+    }
+
+    private static String format(double d) {
+        if (d == Math.rint(d)) {
+            return Long.toString((long) d);
+        } else {
+            return Double.toString(d);
+        }
+    }
+
+    /** Returns the width of the specified text in the Helvetica font, at the specified font size. */
+    private static double getTextWidth(String s, double fontSize) {
+        int width = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x20 && c <= 0x7e) {
+                width += HELVETICA_WIDTHS[c - 0x20];
+            } else if (c > 0x7e) {
+                width += 556;
+            }
+        }
+        return width * fontSize / 1000;
+    }
+
+    /**
+     * Escapes the specified text for use in a PDF string literal, removing control characters and writing any
+     * non-ASCII characters as octal escapes (characters which cannot be represented are replaced by <code>?</code>).
+     */
+    private static String escape(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x20) {
+                continue;
+            } else if (c == '(' || c == ')' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x7f) {
+                sb.append(c);
+            } else if (c >= 0xa0 && c <= 0xff) {
+                sb.append('\\').append(Integer.toOctalString(c));
+            } else {
+                sb.append('?');
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Output stream wrapper which keeps track of the number of bytes written, for the cross-reference table. */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.output;
+
+import static uk.org.okapibarcode.util.Colors.blue;
+import static uk.org.okapibarcode.util.Colors.green;
+import static uk.org.okapibarcode.util.Colors.red;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import uk.org.okapibarcode.backend.EncodedSymbol;
+import uk.org.okapibarcode.backend.HumanReadableLocation;
+import uk.org.okapibarcode.backend.ModuleMatrix;
+import uk.org.okapibarcode.backend.Rectangle;
+import uk.org.okapibarcode.backend.Symbol;
+
+/**
+ * <p>Renders symbologies to 1-bit PNG images with a 2-color (paper / ink) palette.
+ *
+ * <p>Symbols which consist only of rectangles on whole module rows (i.e. all symbols without human-readable text or
+ * MaxiCode hexagons) are rasterized one module row at a time into a single packed scanline, which is compressed by a
+ * {@link Deflater} once for each of the <code>scale</code> pixel rows that it covers and streamed to the output, so
+ * memory use only depends on the width of the image. The scanline is only redrawn when a rectangle starts or ends on
+ * the current module row; rows identical to the previous row reuse it as-is. Matrix symbols are rasterized straight
+ * from their {@link ModuleMatrix}, one run of dark modules at a time, and only when a row differs from the row above
+ * it, rather than from their rectangles. Other symbols are rasterized in full by a
+ * {@link BitmapRenderer} first. Neither path goes through {@link javax.imageio.ImageIO} or a full-color intermediate
+ * image.
+ *
+ * <p>Only the first path is free of AWT: the bitmap renderer draws human-readable text, hexagons and target circles
+ * with Java 2D, so rendering those symbols loads AWT (and its native library) regardless of the constructor used.
+ */
+public class PngRenderer implements EncodedSymbolRenderer {
+
+    /** The PNG file signature. */
+    private static final byte[] SIGNATURE = { (byte) 137, 80, 78, 71, 13, 10, 26, 10 };
+
+    /** The maximum amount of compressed data to write in a single IDAT chunk. */
+    private static final int MAX_CHUNK_SIZE = 32 * 1024;
+
+    /** The output stream to render to. */
+    private final OutputStream out;
+
+    /** The scale factor to apply. */
+    private final int scale;
+
+    /** The paper (background) color, as an RGB value. */
+    private final int paper;
+
+    /** The ink (foreground) color, as an RGB value. */
+    private final int ink;
+
+    /**
+     * Creates a new PNG renderer.
+     *
+     * @param out the output stream to render to
+     * @param scale the scale factor to apply
+     * @param paper the paper (background) color
+     * @param ink the ink (foreground) color
+     */
+    public PngRenderer(OutputStream out, int scale, Color paper, Color ink) {
+        this(out, scale, paper.getRGB(), ink.getRGB());
+    }
+
+    /**
+     * Creates a new PNG renderer, using RGB color values (e.g. <code>0xFFFFFF</code> for white) rather than
+     * {@link Color} instances, so that no AWT classes need to be loaded for symbols without text, hexagons or a target.
+     *
+     * @param out the output stream to render to
+     * @param scale the scale factor to apply
+     * @param paper the paper (background) color, as an RGB value
+     * @param ink the ink (foreground) color, as an RGB value
+     */
+    public PngRenderer(OutputStream out, int scale, int paper, int ink) {
+        if (scale < 1) {
+            throw new IllegalArgumentException("Invalid scale: " + scale);
+        }
+        this.out = out;
+        this.scale = scale;
+        this.paper = paper & 0xFFFFFF;
+        this.ink = ink & 0xFFFFFF;
+    }
+
+    /**
+     * Creates a new PNG renderer.
+     *
+     * @param channel the channel to render to
+     * @param scale the scale factor to apply
+     * @param paper the paper (background) color
+     * @param ink the ink (foreground) color
+     */
+    public PngRenderer(WritableByteChannel channel, int scale, Color paper, Color ink) {
+        this(Channels.newOutputStream(channel), scale, paper, ink);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void render(Symbol symbol) throws IOException {
+        render(EncodedSymbol.of(symbol));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void render(EncodedSymbol symbol) throws IOException {
+
+        int width = symbol.getWidth() * scale;
+        int height = symbol.getHeight() * scale;
+        int stride = (width + 7) >>> 3;
+
+        List< Rectangle > rectangles = symbol.getRectangles();
+        byte[] raster = null; // only needed for symbols which cannot be rasterized one row at a time
+        if (!symbol.getTexts().isEmpty() || !symbol.getHexagons().isEmpty() || !symbol.getTarget().isEmpty()
+                || !BitmapRenderer.hasIntegerRows(rectangles)) {
+            raster = new byte[stride * height];
+            new BitmapRenderer(raster, width, height, scale).render(symbol);
+        }
+
+        out.write(SIGNATURE);
+
+        byte[] header = new byte[13];
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = 1; // bit depth
+        header[9] = 3; // color type: indexed
+        header[10] = 0; // compression method: deflate
+        header[11] = 0; // filter method: adaptive
+        header[12] = 0; // interlace method: none
+        writeChunk("IHDR", header, header.length);
+
+        byte[] palette = {
+            (byte) red(paper), (byte) green(paper), (byte) blue(paper),
+            (byte) red(ink), (byte) green(ink), (byte) blue(ink)
+        };
+        writeChunk("PLTE", palette, palette.length);
+
+        byte[] none = new byte[1]; // filter type "none" at the start of each scanline
+        byte[] buffer = new byte[MAX_CHUNK_SIZE];
+        int buffered = 0;
+        Deflater deflater = new Deflater();
+        try {
+            if (raster != null) {
+                for (int y = 0; y < height; y++) {
+                    deflater.setInput(none);
+                    buffered = deflate(deflater, buffer, buffered);
+                    deflater.setInput(raster, y * stride, stride);
+                    buffered = deflate(deflater, buffer, buffered);
+                }
+            } else {
+                int marginY = symbol.getQuietZoneVertical() * scale;
+                ModuleMatrix modules = symbol.getModules();
+                Rasterizer rows;
+                if (isPlainMatrix(symbol, modules)) {
+                    rows = new MatrixRasterizer(symbol, modules, width, scale);
+                } else {
+                    rows = new RowRasterizer(symbol, rectangles, width, scale);
+                }
+                for (int y = 0; y < height; y++) {
+                    if (y >= marginY && (y - marginY) % scale == 0) {
+                        rows.nextRow();
+                    }
+                    deflater.setInput(none);
+                    buffered = deflate(deflater, buffer, buffered);
+                    deflater.setInput(rows.line);
+                    buffered = deflate(deflater, buffer, buffered);
+                }
+            }
+            deflater.finish();
+            while (!deflater.finished()) {
+                buffered += deflater.deflate(buffer, buffered, buffer.length - buffered);
+                if (buffered == buffer.length) {
+                    writeChunk("IDAT", buffer, buffered);
+                    buffered = 0;
+                }
+            }
+            if (buffered > 0) {
+                writeChunk("IDAT", buffer, buffered);
+            }
+        } finally {
+            deflater.end();
+        }
+
+        writeChunk("IEND", new byte[0], 0);
+        out.flush();
+    }
+
+    /**
+     * Compresses all of the deflater's pending input into the specified buffer, writing out an IDAT chunk each time
+     * the buffer fills up. Returns the number of bytes left in the buffer.
+     */
+    private int deflate(Deflater deflater, byte[] buffer, int buffered) throws IOException {
+        while (!deflater.needsInput()) {
+            buffered += deflater.deflate(buffer, buffered, buffer.length - buffered);
+            if (buffered == buffer.length) {
+                writeChunk("IDAT", buffer, buffered);
+                buffered = 0;
+            }
+        }
+        return buffered;
+    }
+
+    /**
+     * Returns whether or not the specified module matrix describes exactly the same pixels as the symbol's rectangles:
+     * one module row per pixel row of the symbol, starting at the top of the symbol (which is not the case when space
+     * is reserved above the symbol for human-readable text).
+     */
+    private static boolean isPlainMatrix(EncodedSymbol symbol, ModuleMatrix modules) {
+        return modules != null &&
+               symbol.getHumanReadableLocation() != HumanReadableLocation.TOP &&
+               symbol.getHeight() - (2 * symbol.getQuietZoneVertical()) == modules.getHeight();
+    }
+
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = { (byte) type.charAt(0), (byte) type.charAt(1), (byte) type.charAt(2), (byte) type.charAt(3) };
+        byte[] lengthBytes = new byte[4];
+        putInt(lengthBytes, 0, length);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        byte[] crcBytes = new byte[4];
+        putInt(crcBytes, 0, (int) crc.getValue());
+        out.write(lengthBytes);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        out.write(crcBytes);
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Rasterizes a symbol one module row at a time into a single packed scanline, in the same way as
+     * {@link BitmapRenderer}.
+     */
+    private abstract static class Rasterizer {
+
+        /** The current scanline: all paper until the first module row is reached. */
+        final byte[] line;
+
+        final int width;
+        final int scale;
+        final int marginX;
+        int row = -1;
+
+        Rasterizer(EncodedSymbol symbol, int width, int scale) {
+            this.line = new byte[(width + 7) >>> 3];
+            this.width = width;
+            this.scale = scale;
+            this.marginX = symbol.getQuietZoneHorizontal() * scale;
+        }
+
+        /** Moves to the next module row, redrawing the scanline if it differs from the previous row. */
+        abstract void nextRow();
+
+        /** Sets the specified span of the scanline to ink, clipped to the raster bounds. */
+        void fill(int x, int w) {
+            int x0 = Math.max(x, 0);
+            int x1 = Math.min(x + w, width); // exclusive
+            if (x0 >= x1) {
+                return;
+            }
+            int firstByte = x0 >>> 3;
+            int lastByte = (x1 - 1) >>> 3;
+            byte firstMask = (byte) (0xff >>> (x0 & 7));
+            byte lastMask = (byte) (0xff << (7 - ((x1 - 1) & 7)));
+            if (firstByte == lastByte) {
+                line[firstByte] |= (byte) (firstMask & lastMask);
+            } else {
+                line[firstByte] |= firstMask;
+                Arrays.fill(line, firstByte + 1, lastByte, (byte) 0xff);
+                line[lastByte] |= lastMask;
+            }
+        }
+    }
+
+    /**
+     * Rasterizes the rectangles of a symbol. The rectangles are sorted by their first row, and the rectangles which
+     * cover the current row are tracked as the rows are visited in order.
+     */
+    private static final class RowRasterizer extends Rasterizer {
+
+        private final Rectangle[] rectangles;
+        private final List< Rectangle > active = new ArrayList<>();
+        private int next;
+
+        RowRasterizer(EncodedSymbol symbol, List< Rectangle > rectangles, int width, int scale) {
+            super(symbol, width, scale);
+            this.rectangles = rectangles.toArray(new Rectangle[0]);
+            Arrays.sort(this.rectangles, new Comparator< Rectangle >() {
+                @Override
+                public int compare(Rectangle r1, Rectangle r2) {
+                    return Integer.compare((int) r1.y, (int) r2.y);
+                }
+            });
+        }
+
+        @Override
+        void nextRow() {
+            row++;
+            boolean changed = false;
+            for (Iterator< Rectangle > i = active.iterator(); i.hasNext(); ) {
+                Rectangle rect = i.next();
+                if ((int) (rect.y + rect.height) <= row) {
+                    i.remove();
+                    changed = true;
+                }
+            }
+            for (; next < rectangles.length && (int) rectangles[next].y <= row; next++) {
+                Rectangle rect = rectangles[next];
+                if ((int) (rect.y + rect.height) > row) {
+                    active.add(rect);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                Arrays.fill(line, (byte) 0);
+                for (Rectangle rect : active) {
+                    fill((int) ((rect.x * scale) + marginX), (int) (rect.width * scale));
+                }
+            }
+        }
+    }
+
+    /**
+     * Rasterizes the module matrix of a matrix symbol, drawing each run of dark modules in a row as a single span. The
+     * scanline is only redrawn when a row differs from the previous row, which is checked one packed word at a time.
+     */
+    private static final class MatrixRasterizer extends Rasterizer {
+
+        private final ModuleMatrix modules;
+        private final int moduleWidth;
+
+        MatrixRasterizer(EncodedSymbol symbol, ModuleMatrix modules, int width, int scale) {
+            super(symbol, width, scale);
+            this.modules = modules;
+            this.moduleWidth = symbol.getModuleWidth() * scale;
+        }
+
+        @Override
+        void nextRow() {
+            row++;
+            if (row >= modules.getHeight()) {
+                if (row == modules.getHeight()) {
+                    Arrays.fill(line, (byte) 0);
+                }
+                return;
+            }
+            if (row > 0 && modules.rowEquals(row, row - 1)) {
+                return;
+            }
+            Arrays.fill(line, (byte) 0);
+            int start = modules.nextDark(0, row);
+            while (start < modules.getWidth()) {
+                int end = modules.nextLight(start, row);
+                fill((start * moduleWidth) + marginX, (end - start) * moduleWidth);
+                start = modules.nextDark(end, row);
+            }
+        }
+    }
+}
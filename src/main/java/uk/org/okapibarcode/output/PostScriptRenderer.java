@@ -16,15 +16,20 @@
 
 package uk.org.okapibarcode.output;
 
+import static uk.org.okapibarcode.util.Colors.blue;
+import static uk.org.okapibarcode.util.Colors.green;
+import static uk.org.okapibarcode.util.Colors.red;
 import static uk.org.okapibarcode.util.Doubles.roughlyEqual;
 
 import java.awt.Color;
-import java.awt.geom.Ellipse2D;
-import java.awt.geom.Rectangle2D;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.List;
 
+import uk.org.okapibarcode.backend.Circle;
+import uk.org.okapibarcode.backend.EncodedSymbol;
 import uk.org.okapibarcode.backend.Hexagon;
+import uk.org.okapibarcode.backend.Rectangle;
 import uk.org.okapibarcode.backend.Symbol;
 import uk.org.okapibarcode.backend.TextBox;
 
@@ -34,7 +39,7 @@ import uk.org.okapibarcode.backend.TextBox;
  * @author <a href="mailto:rstuart114@gmail.com">Robin Stuart</a>
  * @author Daniel Gredler
  */
-public class PostScriptRenderer implements SymbolRenderer {
+public class PostScriptRenderer implements EncodedSymbolRenderer {
 
     /** The output stream to render to. */
     private final OutputStream out;
@@ -42,11 +47,11 @@ public class PostScriptRenderer implements SymbolRenderer {
     /** The magnification factor to apply. */
     private final double magnification;
 
-    /** The paper (background) color. */
-    private final Color paper;
+    /** The paper (background) color, as an RGB value. */
+    private final int paper;
 
-    /** The ink (foreground) color. */
-    private final Color ink;
+    /** The ink (foreground) color, as an RGB value. */
+    private final int ink;
 
     /**
      * Creates a new PostScript renderer.
@@ -57,23 +62,38 @@ public class PostScriptRenderer implements SymbolRenderer {
      * @param ink the ink (foreground) color
      */
     public PostScriptRenderer(OutputStream out, double magnification, Color paper, Color ink) {
+        this(out, magnification, paper.getRGB(), ink.getRGB());
+    }
+
+    /**
+     * Creates a new PostScript renderer, using RGB color values (e.g. <code>0xFFFFFF</code> for white) rather than
+     * {@link Color} instances, so that no AWT classes need to be loaded.
+     *
+     * @param out the output stream to render to
+     * @param magnification the magnification factor to apply
+     * @param paper the paper (background) color, as an RGB value
+     * @param ink the ink (foreground) color, as an RGB value
+     */
+    public PostScriptRenderer(OutputStream out, double magnification, int paper, int ink) {
         this.out = out;
         this.magnification = magnification;
-        this.paper = paper;
-        this.ink = ink;
+        this.paper = paper & 0xFFFFFF;
+        this.ink = ink & 0xFFFFFF;
     }
 
     /** {@inheritDoc} */
     @Override
     public void render(Symbol symbol) throws IOException {
+        render(EncodedSymbol.of(symbol));
+    }
 
-        // All y dimensions are reversed because EPS origin (0,0) is at the bottom left, not top left
+    /** {@inheritDoc} */
+    @Override
+    public void render(EncodedSymbol symbol) throws IOException {
 
         String content = symbol.getContent();
         int width = (int) (symbol.getWidth() * magnification);
         int height = (int) (symbol.getHeight() * magnification);
-        int marginX = (int) (symbol.getQuietZoneHorizontal() * magnification);
-        int marginY = (int) (symbol.getQuietZoneVertical() * magnification);
 
         String title;
         if (content == null || content.isEmpty()) {
@@ -82,7 +102,7 @@ public class PostScriptRenderer implements SymbolRenderer {
             title = content;
         }
 
-        try (ExtendedOutputStreamWriter writer = new ExtendedOutputStreamWriter(out, "%.2f")) {
+        try (ExtendedOutputStreamWriter writer = new ExtendedOutputStreamWriter(out, 2)) {
 
             // Header
             writer.append("%!PS-Adobe-3.0 EPSF-3.0\n");
@@ -92,135 +112,192 @@ public class PostScriptRenderer implements SymbolRenderer {
             writer.append("%%BoundingBox: 0 0 ").appendInt(width).append(" ").appendInt(height).append("\n");
             writer.append("%%EndComments\n");
 
-            // Definitions
-            writer.append("/TL { setlinewidth moveto lineto stroke } bind def\n");
-            writer.append("/TC { moveto 0 360 arc 360 0 arcn fill } bind def\n");
-            writer.append("/TH { 0 setlinewidth moveto lineto lineto lineto lineto lineto closepath fill } bind def\n");
-            writer.append("/TB { 2 copy } bind def\n");
-            writer.append("/TR { newpath 4 1 roll exch moveto 1 index 0 rlineto 0 exch rlineto neg 0 rlineto closepath fill } bind def\n");
-            writer.append("/TE { pop pop } bind def\n");
-
-            // Background
-            writer.append("newpath\n");
-            writer.append(ink.getRed() / 255.0).append(" ")
-                  .append(ink.getGreen() / 255.0).append(" ")
-                  .append(ink.getBlue() / 255.0).append(" setrgbcolor\n");
-            writer.append(paper.getRed() / 255.0).append(" ")
-                  .append(paper.getGreen() / 255.0).append(" ")
-                  .append(paper.getBlue() / 255.0).append(" setrgbcolor\n");
-            writer.append(height).append(" 0.00 TB 0.00 ").append(width).append(" TR\n");
-
-            // Rectangles
-            for (int i = 0; i < symbol.getRectangles().size(); i++) {
-                Rectangle2D.Double rect = symbol.getRectangles().get(i);
-                if (i == 0) {
+            writeDefinitions(writer);
+            writeContent(writer, symbol);
+
+            // Footer
+            writer.append("\nshowpage\n");
+        }
+    }
+
+    /**
+     * Writes the procedure definitions used by {@link #writeContent(ExtendedOutputStreamWriter, EncodedSymbol)}.
+     *
+     * @param writer the writer to write to
+     * @throws IOException if there is an I/O error
+     */
+    void writeDefinitions(ExtendedOutputStreamWriter writer) throws IOException {
+        writer.append("/TL { setlinewidth moveto lineto stroke } bind def\n");
+        writer.append("/TC { moveto 0 360 arc 360 0 arcn fill } bind def\n");
+        writer.append("/TH { 0 setlinewidth moveto lineto lineto lineto lineto lineto closepath fill } bind def\n");
+        writer.append("/TB { 2 copy } bind def\n");
+        writer.append("/TR { newpath 4 1 roll exch moveto 1 index 0 rlineto 0 exch rlineto neg 0 rlineto closepath fill } bind def\n");
+        writer.append("/TE { pop pop } bind def\n");
+    }
+
+    /**
+     * Writes the operations which select the font used for the human-readable text of the specified symbol.
+     *
+     * @param writer the writer to write to
+     * @param symbol the symbol whose font is to be selected
+     * @throws IOException if there is an I/O error
+     */
+    void writeFont(ExtendedOutputStreamWriter writer, EncodedSymbol symbol) throws IOException {
+        writer.append("/").append(symbol.getFontName()).append(" findfont\n");
+        writer.append(symbol.getFontSize() * magnification).append(" scalefont setfont\n");
+    }
+
+    /**
+     * Writes the drawing operations for the specified symbol, with the symbol's bottom left corner at the origin.
+     * Some values may be left on the operand stack.
+     *
+     * @param writer the writer to write to
+     * @param symbol the symbol to write
+     * @throws IOException if there is an I/O error
+     */
+    void writeContent(ExtendedOutputStreamWriter writer, EncodedSymbol symbol) throws IOException {
+        writeContent(writer, symbol, false);
+    }
+
+    /**
+     * Writes the drawing operations for the specified symbol, with the symbol's bottom left corner at the origin.
+     * Some values may be left on the operand stack. The font is selected once, before the first text element, unless
+     * the caller has already selected it via {@link #writeFont(ExtendedOutputStreamWriter, EncodedSymbol)}.
+     *
+     * @param writer the writer to write to
+     * @param symbol the symbol to write
+     * @param fontSelected whether the symbol's font is already the current font
+     * @throws IOException if there is an I/O error
+     */
+    void writeContent(ExtendedOutputStreamWriter writer, EncodedSymbol symbol, boolean fontSelected) throws IOException {
+
+        // All y dimensions are reversed because EPS origin (0,0) is at the bottom left, not top left
+
+        int width = (int) (symbol.getWidth() * magnification);
+        int height = (int) (symbol.getHeight() * magnification);
+        int marginX = (int) (symbol.getQuietZoneHorizontal() * magnification);
+        int marginY = (int) (symbol.getQuietZoneVertical() * magnification);
+
+        // Background
+        writer.append("newpath\n");
+        writer.append(red(ink) / 255.0).append(" ")
+              .append(green(ink) / 255.0).append(" ")
+              .append(blue(ink) / 255.0).append(" setrgbcolor\n");
+        writer.append(red(paper) / 255.0).append(" ")
+              .append(green(paper) / 255.0).append(" ")
+              .append(blue(paper) / 255.0).append(" setrgbcolor\n");
+        writer.append(height).append(" 0.00 TB 0.00 ").append(width).append(" TR\n");
+
+        // Rectangles
+        List< Rectangle > rectangles = symbol.getRectangles();
+        for (int i = 0; i < rectangles.size(); i++) {
+            Rectangle rect = rectangles.get(i);
+            if (i == 0) {
+                writer.append("TE\n");
+                writer.append(red(ink) / 255.0).append(" ")
+                      .append(green(ink) / 255.0).append(" ")
+                      .append(blue(ink) / 255.0).append(" setrgbcolor\n");
+                writer.append(rect.height * magnification).append(" ")
+                      .append(height - ((rect.y + rect.height) * magnification) - marginY).append(" TB ")
+                      .append((rect.x * magnification) + marginX).append(" ")
+                      .append(rect.width * magnification).append(" TR\n");
+            } else {
+                Rectangle prev = rectangles.get(i - 1);
+                if (!roughlyEqual(rect.height, prev.height) || !roughlyEqual(rect.y, prev.y)) {
                     writer.append("TE\n");
-                    writer.append(ink.getRed() / 255.0).append(" ")
-                          .append(ink.getGreen() / 255.0).append(" ")
-                          .append(ink.getBlue() / 255.0).append(" setrgbcolor\n");
+                    writer.append(red(ink) / 255.0).append(" ")
+                          .append(green(ink) / 255.0).append(" ")
+                          .append(blue(ink) / 255.0).append(" setrgbcolor\n");
                     writer.append(rect.height * magnification).append(" ")
-                          .append(height - ((rect.y + rect.height) * magnification) - marginY).append(" TB ")
-                          .append((rect.x * magnification) + marginX).append(" ")
-                          .append(rect.width * magnification).append(" TR\n");
-                } else {
-                    Rectangle2D.Double prev = symbol.getRectangles().get(i - 1);
-                    if (!roughlyEqual(rect.height, prev.height) || !roughlyEqual(rect.y, prev.y)) {
-                        writer.append("TE\n");
-                        writer.append(ink.getRed() / 255.0).append(" ")
-                              .append(ink.getGreen() / 255.0).append(" ")
-                              .append(ink.getBlue() / 255.0).append(" setrgbcolor\n");
-                        writer.append(rect.height * magnification).append(" ")
-                              .append(height - ((rect.y + rect.height) * magnification) - marginY).append(" ");
-                    }
-                    writer.append("TB ").append((rect.x * magnification) + marginX).append(" ").append(rect.width * magnification).append(" TR\n");
+                          .append(height - ((rect.y + rect.height) * magnification) - marginY).append(" ");
                 }
+                writer.append("TB ").append((rect.x * magnification) + marginX).append(" ").append(rect.width * magnification).append(" TR\n");
             }
+        }
 
-            // Text
-            for (int i = 0; i < symbol.getTexts().size(); i++) {
-                TextBox text = symbol.getTexts().get(i);
-                if (i == 0) {
-                    writer.append("TE\n");;
-                    writer.append(ink.getRed() / 255.0).append(" ")
-                          .append(ink.getGreen() / 255.0).append(" ")
-                          .append(ink.getBlue() / 255.0).append(" setrgbcolor\n");
-                }
-                writer.append("matrix currentmatrix\n");
-                writer.append("/").append(symbol.getFontName()).append(" findfont\n");
-                writer.append(symbol.getFontSize() * magnification).append(" scalefont setfont\n");
-                double y = height - (text.y * magnification) - marginY;
-                switch (symbol.getHumanReadableAlignment()) {
-                    case LEFT:
-                        double leftX = (magnification * text.x) + marginX;
-                        writer.append(" 0 0 moveto ").append(leftX).append(" ").append(y)
-                              .append(" translate 0.00 rotate 0 0 moveto\n");
-                        break;
-                    case RIGHT:
-                        double rightX = (magnification * text.x) + (magnification * text.width) + marginX;
-                        writer.append(" 0 0 moveto ").append(rightX).append(" ").append(y)
-                              .append(" translate 0.00 rotate 0 0 moveto\n");
-                        writer.append(" (").append(text.text).append(") stringwidth\n");
-                        writer.append("pop\n");
-                        writer.append("-1 mul 0 rmoveto\n");
-                        break;
-                    case CENTER:
-                        double centerX = (magnification * text.x) + (magnification * text.width / 2) + marginX;
-                        writer.append(" 0 0 moveto ").append(centerX).append(" ").append(y)
-                              .append(" translate 0.00 rotate 0 0 moveto\n");
-                        writer.append(" (").append(text.text).append(") stringwidth\n");
-                        writer.append("pop\n");
-                        writer.append("-2 div 0 rmoveto\n");
-                        break;
-                    default:
-                        throw new IllegalStateException("Unknown alignment: " + symbol.getHumanReadableAlignment());
-                }
-                writer.append(" (").append(text.text).append(") show\n");
-                writer.append("setmatrix\n");
+        // Text
+        for (int i = 0; i < symbol.getTexts().size(); i++) {
+            TextBox text = symbol.getTexts().get(i);
+            if (i == 0) {
+                writer.append("TE\n");;
+                writer.append(red(ink) / 255.0).append(" ")
+                      .append(green(ink) / 255.0).append(" ")
+                      .append(blue(ink) / 255.0).append(" setrgbcolor\n");
             }
-
-            // Circles
-            // Because MaxiCode size is fixed, this ignores magnification
-            for (int i = 0; i < symbol.getTarget().size(); i += 2) {
-                Ellipse2D.Double ellipse1 = symbol.getTarget().get(i);
-                Ellipse2D.Double ellipse2 = symbol.getTarget().get(i + 1);
-                if (i == 0) {
-                    writer.append("TE\n");
-                    writer.append(ink.getRed() / 255.0).append(" ")
-                          .append(ink.getGreen() / 255.0).append(" ")
-                          .append(ink.getBlue() / 255.0).append(" setrgbcolor\n");
-                    writer.append(ink.getRed() / 255.0).append(" ")
-                          .append(ink.getGreen() / 255.0).append(" ")
-                          .append(ink.getBlue() / 255.0).append(" setrgbcolor\n");
-                }
-                double x1 = ellipse1.x + (ellipse1.width / 2);
-                double x2 = ellipse2.x + (ellipse2.width / 2);
-                double y1 = height - ellipse1.y - (ellipse1.width / 2);
-                double y2 = height - ellipse2.y - (ellipse2.width / 2);
-                double r1 = ellipse1.width / 2;
-                double r2 = ellipse2.width / 2;
-                writer.append(x1 + marginX)
-                      .append(" ").append(y1 - marginY)
-                      .append(" ").append(r1)
-                      .append(" ").append(x2 + marginX)
-                      .append(" ").append(y2 - marginY)
-                      .append(" ").append(r2)
-                      .append(" ").append(x2 + r2 + marginX)
-                      .append(" ").append(y2 - marginY)
-                      .append(" TC\n");
+            writer.append("matrix currentmatrix\n");
+            if (i == 0 && !fontSelected) {
+                writeFont(writer, symbol);
             }
+            double y = height - (text.y * magnification) - marginY;
+            switch (symbol.getHumanReadableAlignment()) {
+                case LEFT:
+                    double leftX = (magnification * text.x) + marginX;
+                    writer.append(" 0 0 moveto ").append(leftX).append(" ").append(y)
+                          .append(" translate 0.00 rotate 0 0 moveto\n");
+                    break;
+                case RIGHT:
+                    double rightX = (magnification * text.x) + (magnification * text.width) + marginX;
+                    writer.append(" 0 0 moveto ").append(rightX).append(" ").append(y)
+                          .append(" translate 0.00 rotate 0 0 moveto\n");
+                    writer.append(" (").append(text.text).append(") stringwidth\n");
+                    writer.append("pop\n");
+                    writer.append("-1 mul 0 rmoveto\n");
+                    break;
+                case CENTER:
+                    double centerX = (magnification * text.x) + (magnification * text.width / 2) + marginX;
+                    writer.append(" 0 0 moveto ").append(centerX).append(" ").append(y)
+                          .append(" translate 0.00 rotate 0 0 moveto\n");
+                    writer.append(" (").append(text.text).append(") stringwidth\n");
+                    writer.append("pop\n");
+                    writer.append("-2 div 0 rmoveto\n");
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown alignment: " + symbol.getHumanReadableAlignment());
+            }
+            writer.append(" (").append(text.text).append(") show\n");
+            writer.append("setmatrix\n");
+        }
 
-            // Hexagons
-            // Because MaxiCode size is fixed, this ignores magnification
-            for (int i = 0; i < symbol.getHexagons().size(); i++) {
-                Hexagon hexagon = symbol.getHexagons().get(i);
-                for (int j = 0; j < 6; j++) {
-                    writer.append(hexagon.pointX[j] + marginX).append(" ").append((height - hexagon.pointY[j]) - marginY).append(" ");
-                }
-                writer.append(" TH\n");
+        // Circles
+        // Because MaxiCode size is fixed, this ignores magnification
+        for (int i = 0; i < symbol.getTarget().size(); i += 2) {
+            Circle circle1 = symbol.getTarget().get(i);
+            Circle circle2 = symbol.getTarget().get(i + 1);
+            if (i == 0) {
+                writer.append("TE\n");
+                writer.append(red(ink) / 255.0).append(" ")
+                      .append(green(ink) / 255.0).append(" ")
+                      .append(blue(ink) / 255.0).append(" setrgbcolor\n");
+                writer.append(red(ink) / 255.0).append(" ")
+                      .append(green(ink) / 255.0).append(" ")
+                      .append(blue(ink) / 255.0).append(" setrgbcolor\n");
             }
+            double x1 = circle1.centreX;
+            double x2 = circle2.centreX;
+            double y1 = height - circle1.centreY;
+            double y2 = height - circle2.centreY;
+            double r1 = circle1.radius;
+            double r2 = circle2.radius;
+            writer.append(x1 + marginX)
+                  .append(" ").append(y1 - marginY)
+                  .append(" ").append(r1)
+                  .append(" ").append(x2 + marginX)
+                  .append(" ").append(y2 - marginY)
+                  .append(" ").append(r2)
+                  .append(" ").append(x2 + r2 + marginX)
+                  .append(" ").append(y2 - marginY)
+                  .append(" TC\n");
+        }
 
-            // Footer
-            writer.append("\nshowpage\n");
+        // Hexagons
+        // Because MaxiCode size is fixed, this ignores magnification
+        List< Hexagon > hexagons = symbol.getHexagons();
+        for (int i = 0; i < hexagons.size(); i++) {
+            Hexagon hexagon = hexagons.get(i);
+            for (int j = 0; j < 6; j++) {
+                writer.append(hexagon.pointX[j] + marginX).append(" ").append((height - hexagon.pointY[j]) - marginY).append(" ");
+            }
+            writer.append(" TH\n");
         }
     }
 }
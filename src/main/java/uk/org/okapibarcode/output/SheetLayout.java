@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.output;
+
+/**
+ * A grid of equally-sized label cells on a page, used by the {@link SheetRenderer}. All dimensions use the same units
+ * as the renderers (pixels at a magnification of 1 in SVG, points in PostScript and PDF). Cells are filled left to
+ * right, then top to bottom, starting at the top left corner of the page, inside the page margins.
+ */
+public class SheetLayout {
+
+    private final double pageWidth;
+    private final double pageHeight;
+    private final double marginX;
+    private final double marginY;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final int columns;
+    private final int rows;
+
+    /**
+     * Creates a new sheet layout.
+     *
+     * @param pageWidth the page width
+     * @param pageHeight the page height
+     * @param marginX the left and right page margins
+     * @param marginY the top and bottom page margins
+     * @param cellWidth the width of each label cell
+     * @param cellHeight the height of each label cell
+     */
+    public SheetLayout(double pageWidth, double pageHeight, double marginX, double marginY, double cellWidth, double cellHeight) {
+        if (cellWidth <= 0 || cellHeight <= 0 || marginX < 0 || marginY < 0) {
+            throw new IllegalArgumentException("Invalid cell size or margins");
+        }
+        this.pageWidth = pageWidth;
+        this.pageHeight = pageHeight;
+        this.marginX = marginX;
+        this.marginY = marginY;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.columns = (int) Math.floor((pageWidth - (2 * marginX)) / cellWidth);
+        this.rows = (int) Math.floor((pageHeight - (2 * marginY)) / cellHeight);
+        if (columns < 1 || rows < 1) {
+            throw new IllegalArgumentException("No label cells fit on the page");
+        }
+    }
+
+    /**
+     * Returns the page width.
+     *
+     * @return the page width
+     */
+    public double getPageWidth() {
+        return pageWidth;
+    }
+
+    /**
+     * Returns the page height.
+     *
+     * @return the page height
+     */
+    public double getPageHeight() {
+        return pageHeight;
+    }
+
+    /**
+     * Returns the width of each label cell.
+     *
+     * @return the width of each label cell
+     */
+    public double getCellWidth() {
+        return cellWidth;
+    }
+
+    /**
+     * Returns the height of each label cell.
+     *
+     * @return the height of each label cell
+     */
+    public double getCellHeight() {
+        return cellHeight;
+    }
+
+    /**
+     * Returns the number of label cells in each row.
+     *
+     * @return the number of label cells in each row
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the number of rows of label cells on each page.
+     *
+     * @return the number of rows of label cells on each page
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of label cells on each page.
+     *
+     * @return the number of label cells on each page
+     */
+    public int getCellsPerPage() {
+        return columns * rows;
+    }
+
+    /**
+     * Returns the distance of the left edge of the specified cell from the left edge of the page.
+     *
+     * @param cell the index of the cell on the page
+     * @return the distance of the left edge of the cell from the left edge of the page
+     */
+    public double getCellX(int cell) {
+        return marginX + ((cell % columns) * cellWidth);
+    }
+
+    /**
+     * Returns the distance of the top edge of the specified cell from the top edge of the page.
+     *
+     * @param cell the index of the cell on the page
+     * @return the distance of the top edge of the cell from the top edge of the page
+     */
+    public double getCellY(int cell) {
+        return marginY + ((cell / columns) * cellHeight);
+    }
+}
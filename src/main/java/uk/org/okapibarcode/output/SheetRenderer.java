@@ -0,0 +1,354 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.output;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+
+import uk.org.okapibarcode.backend.EncodedSymbol;
+import uk.org.okapibarcode.backend.Symbol;
+
+/**
+ * <p>Renders many symbols onto label sheets, in a single SVG, PostScript or PDF document. The symbols are placed in
+ * the cells of a {@link SheetLayout}, one symbol per cell, centered within the cell; symbols which are larger than
+ * the cells overflow into the neighboring cells.
+ *
+ * <p>The document header and the drawing definitions are written once per document, the font setup is only written
+ * when the font changes (and at the start of each page, so that the pages stay independent of each other), and each
+ * page is flushed to the output stream as soon as it is full, so memory use does not depend on the number of symbols
+ * or pages. The output stream is flushed, but is not closed.
+ *
+ * <p>SVG has no notion of pages, so in SVG output the pages are stacked vertically in a single drawing, whose height
+ * has to be written before any of the symbols; the number of symbols must therefore be known up front.
+ */
+public class SheetRenderer {
+
+    /** The supported output formats. */
+    public enum Format {
+        /** SVG, with the pages stacked vertically. */
+        SVG,
+        /**
+         * Multi-page PostScript, using the document structuring conventions (EPS is restricted to a single page, so
+         * this is the multi-page equivalent of the output of the {@link PostScriptRenderer}).
+         */
+        POSTSCRIPT,
+        /** PDF. */
+        PDF
+    }
+
+    /** The output stream to render to. */
+    private final OutputStream out;
+
+    /** The output format. */
+    private final Format format;
+
+    /** The label sheet layout. */
+    private final SheetLayout layout;
+
+    /** The magnification factor to apply. */
+    private final double magnification;
+
+    /** The paper (background) color, as an RGB value. */
+    private final int paper;
+
+    /** The ink (foreground) color, as an RGB value. */
+    private final int ink;
+
+    /**
+     * Creates a new label sheet renderer.
+     *
+     * @param out the output stream to render to
+     * @param format the output format
+     * @param layout the label sheet layout
+     * @param magnification the magnification factor to apply to each symbol
+     * @param paper the paper (background) color
+     * @param ink the ink (foreground) color
+     */
+    public SheetRenderer(OutputStream out, Format format, SheetLayout layout, double magnification, Color paper, Color ink) {
+        this(out, format, layout, magnification, paper.getRGB(), ink.getRGB());
+    }
+
+    /**
+     * Creates a new label sheet renderer, using RGB color values (e.g. <code>0xFFFFFF</code> for white) rather than
+     * {@link Color} instances, so that no AWT classes need to be loaded.
+     *
+     * @param out the output stream to render to
+     * @param format the output format
+     * @param layout the label sheet layout
+     * @param magnification the magnification factor to apply to each symbol
+     * @param paper the paper (background) color, as an RGB value
+     * @param ink the ink (foreground) color, as an RGB value
+     */
+    public SheetRenderer(OutputStream out, Format format, SheetLayout layout, double magnification, int paper, int ink) {
+        this.out = out;
+        this.format = format;
+        this.layout = layout;
+        this.magnification = magnification;
+        this.paper = paper & 0xFFFFFF;
+        this.ink = ink & 0xFFFFFF;
+    }
+
+    /**
+     * Renders the specified symbols as a single document, filling as many pages as necessary. The symbols are only
+     * iterated over once. SVG output requires the symbols to be provided as a {@link Collection}, whose size
+     * determines the document height; use {@link #render(Iterable, int)} to render other sources of symbols to SVG.
+     *
+     * @param symbols the symbols to render
+     * @return the number of pages written
+     * @throws IOException if there is an I/O error
+     * @throws IllegalArgumentException if the output format is SVG and the symbols are not a {@link Collection}
+     */
+    public int render(Iterable< ? extends Symbol > symbols) throws IOException {
+        if (symbols instanceof Collection) {
+            return render(symbols, ((Collection< ? >) symbols).size());
+        } else if (format == Format.SVG) {
+            throw new IllegalArgumentException("SVG output requires the number of symbols, use render(Iterable, int)");
+        } else {
+            return render(symbols, -1);
+        }
+    }
+
+    /**
+     * Renders the specified symbols as a single document, filling as many pages as necessary. The symbols are only
+     * iterated over once, so they may be produced on the fly (e.g. read from a file). The number of symbols is only
+     * used in SVG output, to determine the document height before any symbols are written.
+     *
+     * @param symbols the symbols to render
+     * @param count the number of symbols
+     * @return the number of pages written
+     * @throws IOException if there is an I/O error
+     * @throws IllegalArgumentException if the output format is SVG and the count is negative, or if the output format
+     *         is SVG and the symbols did not fit into the pages implied by the count (in which case the document has
+     *         been written, but the last pages lie outside of the drawing)
+     */
+    public int render(Iterable< ? extends Symbol > symbols, int count) throws IOException {
+
+        int perPage = layout.getCellsPerPage();
+
+        Sheet sheet;
+        switch (format) {
+            case SVG:
+                if (count < 0) {
+                    throw new IllegalArgumentException("Invalid symbol count: " + count);
+                }
+                sheet = new SvgSheet((count + perPage - 1) / perPage);
+                break;
+            case POSTSCRIPT:
+                sheet = new PostScriptSheet();
+                break;
+            case PDF:
+                sheet = new PdfSheet();
+                break;
+            default:
+                throw new IllegalStateException("Unknown format: " + format);
+        }
+
+        int cell = 0;
+        int pages = 0;
+
+        sheet.beginDocument();
+        for (Symbol symbol : symbols) {
+            if (cell == 0) {
+                sheet.beginPage(pages);
+                pages++;
+            }
+            EncodedSymbol encoded = EncodedSymbol.of(symbol);
+            double width = (int) (encoded.getWidth() * magnification);
+            double height = (int) (encoded.getHeight() * magnification);
+            double x = layout.getCellX(cell) + ((layout.getCellWidth() - width) / 2);
+            double y = layout.getCellY(cell) + ((layout.getCellHeight() - height) / 2);
+            sheet.place(encoded, x, y, height);
+            cell++;
+            if (cell == perPage) {
+                sheet.endPage();
+                cell = 0;
+            }
+        }
+        if (cell != 0) {
+            sheet.endPage();
+        }
+        sheet.endDocument(pages);
+        out.flush();
+
+        if (format == Format.SVG && pages > (count + perPage - 1) / perPage) {
+            throw new IllegalArgumentException("More than " + count + " symbols rendered, SVG document is too short");
+        }
+
+        return pages;
+    }
+
+    /** A document being written in one of the output formats. */
+    private interface Sheet {
+
+        void beginDocument() throws IOException;
+
+        void beginPage(int page) throws IOException;
+
+        /**
+         * Places the specified symbol on the current page, with its top left corner at the specified position
+         * (measured from the top left corner of the page).
+         */
+        void place(EncodedSymbol symbol, double x, double y, double height) throws IOException;
+
+        void endPage() throws IOException;
+
+        void endDocument(int pages) throws IOException;
+    }
+
+    /** SVG document, with the pages stacked vertically. */
+    private final class SvgSheet implements Sheet {
+
+        private final int pages;
+        private final SvgRenderer renderer = new SvgRenderer(out, magnification, paper, ink, true);
+        private final ExtendedOutputStreamWriter writer = new ExtendedOutputStreamWriter(out, 2);
+        private final String fgColour = SvgRenderer.toHex(ink);
+        private boolean hexagonDefinition = true;
+
+        SvgSheet(int pages) {
+            this.pages = pages;
+        }
+
+        @Override
+        public void beginDocument() throws IOException {
+            int width = (int) Math.ceil(layout.getPageWidth());
+            int height = (int) Math.ceil(layout.getPageHeight() * Math.max(pages, 1));
+            renderer.writeHeader(writer, width, height, "OkapiBarcode Label Sheet");
+        }
+
+        @Override
+        public void beginPage(int page) throws IOException {
+            writer.append("   <g id=\"page").appendInt(page + 1).append("\" transform=\"translate(0 ")
+                  .appendTrimmed(page * layout.getPageHeight()).append(")\">\n");
+        }
+
+        @Override
+        public void place(EncodedSymbol symbol, double x, double y, double height) throws IOException {
+            writer.append("   <g transform=\"translate(").appendTrimmed(x).append(" ").appendTrimmed(y)
+                  .append(")\" fill=\"#").append(fgColour).append("\">\n");
+            renderer.writeContent(writer, symbol, hexagonDefinition && !symbol.getHexagons().isEmpty());
+            hexagonDefinition &= symbol.getHexagons().isEmpty();
+            writer.append("   </g>\n");
+        }
+
+        @Override
+        public void endPage() throws IOException {
+            writer.append("   </g>\n");
+            writer.flush();
+        }
+
+        @Override
+        public void endDocument(int pages) throws IOException {
+            renderer.writeFooter(writer);
+            writer.flush();
+        }
+    }
+
+    /** Multi-page PostScript document. */
+    private final class PostScriptSheet implements Sheet {
+
+        private final PostScriptRenderer renderer = new PostScriptRenderer(out, magnification, paper, ink);
+        private final ExtendedOutputStreamWriter writer = new ExtendedOutputStreamWriter(out, 2);
+
+        /** The font selected on the current page (name and size), or <code>null</code> if none has been selected. */
+        private String font;
+
+        @Override
+        public void beginDocument() throws IOException {
+            writer.append("%!PS-Adobe-3.0\n");
+            writer.append("%%Creator: OkapiBarcode\n");
+            writer.append("%%Title: OkapiBarcode Label Sheet\n");
+            writer.append("%%Pages: (atend)\n");
+            writer.append("%%BoundingBox: 0 0 ").appendInt((int) Math.ceil(layout.getPageWidth())).append(" ")
+                  .appendInt((int) Math.ceil(layout.getPageHeight())).append("\n");
+            writer.append("%%EndComments\n");
+            writer.append("%%BeginProlog\n");
+            renderer.writeDefinitions(writer);
+            writer.append("%%EndProlog\n");
+        }
+
+        @Override
+        public void beginPage(int page) throws IOException {
+            writer.append("%%Page: ").appendInt(page + 1).append(" ").appendInt(page + 1).append("\n");
+            font = null;
+        }
+
+        @Override
+        public void place(EncodedSymbol symbol, double x, double y, double height) throws IOException {
+            // the font is selected outside of the symbol's gsave / grestore, so that it carries over to the next symbol
+            if (!symbol.getTexts().isEmpty()) {
+                String symbolFont = symbol.getFontName() + " " + symbol.getFontSize();
+                if (!symbolFont.equals(font)) {
+                    renderer.writeFont(writer, symbol);
+                    font = symbolFont;
+                }
+            }
+            // the symbol content may leave values on the operand stack, so we clear them when we're done
+            writer.append("gsave ").appendTrimmed(x).append(" ").appendTrimmed(layout.getPageHeight() - y - height)
+                  .append(" translate mark\n");
+            renderer.writeContent(writer, symbol, true);
+            writer.append("cleartomark grestore\n");
+        }
+
+        @Override
+        public void endPage() throws IOException {
+            writer.append("showpage\n");
+            writer.flush();
+        }
+
+        @Override
+        public void endDocument(int pages) throws IOException {
+            writer.append("%%Trailer\n");
+            writer.append("%%Pages: ").appendInt(pages).append("\n");
+            writer.append("%%EOF\n");
+            writer.flush();
+        }
+    }
+
+    /** PDF document. */
+    private final class PdfSheet implements Sheet {
+
+        private final PdfRenderer renderer = new PdfRenderer(out, magnification, paper, ink);
+
+        @Override
+        public void beginDocument() {
+            // the header is written with the first page
+        }
+
+        @Override
+        public void beginPage(int page) throws IOException {
+            renderer.beginPage(layout.getPageWidth(), layout.getPageHeight());
+        }
+
+        @Override
+        public void place(EncodedSymbol symbol, double x, double y, double height) throws IOException {
+            renderer.place(symbol, x, layout.getPageHeight() - y - height);
+        }
+
+        @Override
+        public void endPage() throws IOException {
+            renderer.endPage();
+            out.flush();
+        }
+
+        @Override
+        public void endDocument(int pages) throws IOException {
+            renderer.finish();
+        }
+    }
+}
@@ -17,26 +17,14 @@
 package uk.org.okapibarcode.output;
 
 import java.awt.Color;
-import java.awt.geom.Ellipse2D;
-import java.awt.geom.Rectangle2D;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.StringWriter;
-
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.TransformerFactoryConfigurationError;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-
-import org.w3c.dom.Document;
-import org.w3c.dom.Text;
+import java.util.List;
 
+import uk.org.okapibarcode.backend.Circle;
+import uk.org.okapibarcode.backend.EncodedSymbol;
 import uk.org.okapibarcode.backend.Hexagon;
+import uk.org.okapibarcode.backend.Rectangle;
 import uk.org.okapibarcode.backend.Symbol;
 import uk.org.okapibarcode.backend.TextBox;
 
@@ -46,7 +34,7 @@ import uk.org.okapibarcode.backend.TextBox;
  * @author <a href="mailto:rstuart114@gmail.com">Robin Stuart</a>
  * @author Daniel Gredler
  */
-public class SvgRenderer implements SymbolRenderer {
+public class SvgRenderer implements EncodedSymbolRenderer {
 
     /** The output stream to render to. */
     private final OutputStream out;
@@ -54,11 +42,14 @@ public class SvgRenderer implements SymbolRenderer {
     /** The magnification factor to apply. */
     private final double magnification;
 
-    /** The paper (background) color. */
-    private final Color paper;
+    /** The paper (background) color, as an RGB value. */
+    private final int paper;
+
+    /** The ink (foreground) color, as an RGB value. */
+    private final int ink;
 
-    /** The ink (foreground) color. */
-    private final Color ink;
+    /** Whether or not to use the compact output format. */
+    private final boolean compact;
 
     /**
      * Creates a new SVG renderer.
@@ -69,21 +60,57 @@ public class SvgRenderer implements SymbolRenderer {
      * @param ink the ink (foreground) color
      */
     public SvgRenderer(OutputStream out, double magnification, Color paper, Color ink) {
+        this(out, magnification, paper, ink, false);
+    }
+
+    /**
+     * Creates a new SVG renderer. In compact mode, all of the bars / modules are written as a single
+     * <code>&lt;path&gt;</code> element using relative path commands, MaxiCode hexagons are written as
+     * <code>&lt;use&gt;</code> references to a single shared hexagon definition, and trailing zeros are
+     * omitted from numbers.
+     *
+     * @param out the output stream to render to
+     * @param magnification the magnification factor to apply
+     * @param paper the paper (background) color
+     * @param ink the ink (foreground) color
+     * @param compact whether or not to use the compact output format
+     */
+    public SvgRenderer(OutputStream out, double magnification, Color paper, Color ink, boolean compact) {
+        this(out, magnification, paper.getRGB(), ink.getRGB(), compact);
+    }
+
+    /**
+     * Creates a new SVG renderer, using RGB color values (e.g. <code>0xFFFFFF</code> for white) rather than
+     * {@link Color} instances, so that no AWT classes need to be loaded.
+     *
+     * @param out the output stream to render to
+     * @param magnification the magnification factor to apply
+     * @param paper the paper (background) color, as an RGB value
+     * @param ink the ink (foreground) color, as an RGB value
+     * @param compact whether or not to use the compact output format
+     * @see #SvgRenderer(OutputStream, double, Color, Color, boolean)
+     */
+    public SvgRenderer(OutputStream out, double magnification, int paper, int ink, boolean compact) {
         this.out = out;
         this.magnification = magnification;
-        this.paper = paper;
-        this.ink = ink;
+        this.paper = paper & 0xFFFFFF;
+        this.ink = ink & 0xFFFFFF;
+        this.compact = compact;
     }
 
     /** {@inheritDoc} */
     @Override
     public void render(Symbol symbol) throws IOException {
+        render(EncodedSymbol.of(symbol));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void render(EncodedSymbol symbol) throws IOException {
 
         String content = symbol.getContent();
         int width = (int) (symbol.getWidth() * magnification);
         int height = (int) (symbol.getHeight() * magnification);
-        int marginX = (int) (symbol.getQuietZoneHorizontal() * magnification);
-        int marginY = (int) (symbol.getQuietZoneVertical() * magnification);
 
         String title;
         if (content == null || content.isEmpty()) {
@@ -92,89 +119,138 @@ public class SvgRenderer implements SymbolRenderer {
             title = content;
         }
 
-        String fgColour = String.format("%02X", ink.getRed())
-                        + String.format("%02X", ink.getGreen())
-                        + String.format("%02X", ink.getBlue());
-
-        String bgColour = String.format("%02X", paper.getRed())
-                        + String.format("%02X", paper.getGreen())
-                        + String.format("%02X", paper.getBlue());
-
-        try (ExtendedOutputStreamWriter writer = new ExtendedOutputStreamWriter(out, "%.2f")) {
-
-            // Header
-            writer.append("<?xml version=\"1.0\" standalone=\"no\"?>\n");
-            writer.append("<!DOCTYPE svg PUBLIC \"-//W3C//DTD SVG 1.1//EN\"\n");
-            writer.append("   \"http://www.w3.org/Graphics/SVG/1.1/DTD/svg11.dtd\">\n");
-            writer.append("<svg width=\"").appendInt(width)
-                  .append("\" height=\"").appendInt(height)
-                  .append("\" version=\"1.1")
-                  .append("\" xmlns=\"http://www.w3.org/2000/svg\">\n");
-            writer.append("   <desc>").append(clean(title)).append("</desc>\n");
-            writer.append("   <g id=\"barcode\" fill=\"#").append(fgColour).append("\">\n");
-            writer.append("      <rect x=\"0\" y=\"0\" width=\"").appendInt(width)
-                  .append("\" height=\"").appendInt(height)
-                  .append("\" fill=\"#").append(bgColour).append("\" />\n");
-
-            // Rectangles
-            for (int i = 0; i < symbol.getRectangles().size(); i++) {
-                Rectangle2D.Double rect = symbol.getRectangles().get(i);
+        try (ExtendedOutputStreamWriter writer = new ExtendedOutputStreamWriter(out, 2)) {
+            writeHeader(writer, width, height, title);
+            writer.append("   <g id=\"barcode\" fill=\"#").append(toHex(ink)).append("\">\n");
+            writeContent(writer, symbol, true);
+            writer.append("   </g>\n");
+            writeFooter(writer);
+        }
+    }
+
+    /**
+     * Writes the SVG document header, up to and including the document description.
+     *
+     * @param writer the writer to write to
+     * @param width the document width
+     * @param height the document height
+     * @param title the document description
+     * @throws IOException if there is an I/O error
+     */
+    void writeHeader(ExtendedOutputStreamWriter writer, int width, int height, String title) throws IOException {
+        writer.append("<?xml version=\"1.0\" standalone=\"no\"?>\n");
+        writer.append("<!DOCTYPE svg PUBLIC \"-//W3C//DTD SVG 1.1//EN\"\n");
+        writer.append("   \"http://www.w3.org/Graphics/SVG/1.1/DTD/svg11.dtd\">\n");
+        writer.append("<svg width=\"").appendInt(width)
+              .append("\" height=\"").appendInt(height)
+              .append("\" version=\"1.1")
+              .append("\" xmlns=\"http://www.w3.org/2000/svg\"")
+              .append(compact ? " xmlns:xlink=\"http://www.w3.org/1999/xlink\">\n" : ">\n");
+        writer.append("   <desc>").append(clean(title)).append("</desc>\n");
+    }
+
+    /**
+     * Writes the SVG document footer.
+     *
+     * @param writer the writer to write to
+     * @throws IOException if there is an I/O error
+     */
+    void writeFooter(ExtendedOutputStreamWriter writer) throws IOException {
+        writer.append("</svg>\n");
+    }
+
+    /**
+     * Writes the elements which make up the specified symbol (background, bars / modules, text, target and hexagons),
+     * with the symbol's top left corner at the origin. The elements are expected to be written within a group whose
+     * fill color is the ink color.
+     *
+     * @param writer the writer to write to
+     * @param symbol the symbol to write
+     * @param hexagonDefinition whether or not to write the shared hexagon definition, in compact mode (the definition
+     *        should be written only once per document, with the first symbol which contains hexagons)
+     * @throws IOException if there is an I/O error
+     */
+    void writeContent(ExtendedOutputStreamWriter writer, EncodedSymbol symbol, boolean hexagonDefinition) throws IOException {
+
+        int width = (int) (symbol.getWidth() * magnification);
+        int height = (int) (symbol.getHeight() * magnification);
+        int marginX = (int) (symbol.getQuietZoneHorizontal() * magnification);
+        int marginY = (int) (symbol.getQuietZoneVertical() * magnification);
+        String fgColour = toHex(ink);
+        String bgColour = toHex(paper);
+
+        writer.append("      <rect x=\"0\" y=\"0\" width=\"").appendInt(width)
+              .append("\" height=\"").appendInt(height)
+              .append("\" fill=\"#").append(bgColour).append("\" />\n");
+
+        // Rectangles
+        if (compact) {
+            writeCompactRectangles(writer, symbol, marginX, marginY);
+        } else {
+            List< Rectangle > rectangles = symbol.getRectangles();
+            for (int i = 0; i < rectangles.size(); i++) {
+                Rectangle rect = rectangles.get(i);
                 writer.append("      <rect x=\"").append((rect.x * magnification) + marginX)
                       .append("\" y=\"").append((rect.y * magnification) + marginY)
                       .append("\" width=\"").append(rect.width * magnification)
                       .append("\" height=\"").append(rect.height * magnification)
                       .append("\" />\n");
             }
+        }
 
-            // Text
-            for (int i = 0; i < symbol.getTexts().size(); i++) {
-                TextBox text = symbol.getTexts().get(i);
-                double x;
-                String anchor;
-                switch (symbol.getHumanReadableAlignment()) {
-                    case LEFT:
-                        x = (magnification * text.x) + marginX;
-                        anchor = "start";
-                        break;
-                    case RIGHT:
-                        x = (magnification * text.x) + (magnification * text.width) + marginX;
-                        anchor = "end";
-                        break;
-                    case CENTER:
-                        x = (magnification * text.x) + (magnification * text.width / 2) + marginX;
-                        anchor = "middle";
-                        break;
-                    default:
-                        throw new IllegalStateException("Unknown alignment: " + symbol.getHumanReadableAlignment());
-                }
-                writer.append("      <text x=\"").append(x)
-                      .append("\" y=\"").append((text.y * magnification) + marginY)
-                      .append("\" text-anchor=\"").append(anchor).append("\"\n");
-                writer.append("         font-family=\"").append(clean(symbol.getFontName()))
-                      .append("\" font-size=\"").append(symbol.getFontSize() * magnification)
-                      .append("\" fill=\"#").append(fgColour).append("\">\n");
-                writer.append("         ").append(clean(text.text)).append("\n");
-                writer.append("      </text>\n");
+        // Text
+        for (int i = 0; i < symbol.getTexts().size(); i++) {
+            TextBox text = symbol.getTexts().get(i);
+            double x;
+            String anchor;
+            switch (symbol.getHumanReadableAlignment()) {
+                case LEFT:
+                    x = (magnification * text.x) + marginX;
+                    anchor = "start";
+                    break;
+                case RIGHT:
+                    x = (magnification * text.x) + (magnification * text.width) + marginX;
+                    anchor = "end";
+                    break;
+                case CENTER:
+                    x = (magnification * text.x) + (magnification * text.width / 2) + marginX;
+                    anchor = "middle";
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown alignment: " + symbol.getHumanReadableAlignment());
             }
+            writer.append("      <text x=\"").append(x)
+                  .append("\" y=\"").append((text.y * magnification) + marginY)
+                  .append("\" text-anchor=\"").append(anchor).append("\"\n");
+            writer.append("         font-family=\"").append(clean(symbol.getFontName()))
+                  .append("\" font-size=\"").append(symbol.getFontSize() * magnification)
+                  .append("\" fill=\"#").append(fgColour).append("\">\n");
+            writer.append("         ").append(clean(text.text)).append("\n");
+            writer.append("      </text>\n");
+        }
 
-            // Circles
-            for (int i = 0; i < symbol.getTarget().size(); i++) {
-                Ellipse2D.Double ellipse = symbol.getTarget().get(i);
-                String color;
-                if ((i & 1) == 0) {
-                    color = fgColour;
-                } else {
-                    color = bgColour;
-                }
-                writer.append("      <circle cx=\"").append(((ellipse.x + (ellipse.width / 2)) * magnification) + marginX)
-                      .append("\" cy=\"").append(((ellipse.y + (ellipse.width / 2)) * magnification) + marginY)
-                      .append("\" r=\"").append((ellipse.width / 2) * magnification)
-                      .append("\" fill=\"#").append(color).append("\" />\n");
+        // Circles
+        for (int i = 0; i < symbol.getTarget().size(); i++) {
+            Circle circle = symbol.getTarget().get(i);
+            String color;
+            if ((i & 1) == 0) {
+                color = fgColour;
+            } else {
+                color = bgColour;
             }
+            writer.append("      <circle cx=\"").append((circle.centreX * magnification) + marginX)
+                  .append("\" cy=\"").append((circle.centreY * magnification) + marginY)
+                  .append("\" r=\"").append(circle.radius * magnification)
+                  .append("\" fill=\"#").append(color).append("\" />\n");
+        }
 
-            // Hexagons
-            for (int i = 0; i < symbol.getHexagons().size(); i++) {
-                Hexagon hexagon = symbol.getHexagons().get(i);
+        // Hexagons
+        if (compact) {
+            writeCompactHexagons(writer, symbol, marginX, marginY, hexagonDefinition);
+        } else {
+            List< Hexagon > hexagons = symbol.getHexagons();
+            for (int i = 0; i < hexagons.size(); i++) {
+                Hexagon hexagon = hexagons.get(i);
                 writer.append("      <path d=\"");
                 for (int j = 0; j < 6; j++) {
                     if (j == 0) {
@@ -187,32 +263,119 @@ public class SvgRenderer implements SymbolRenderer {
                 }
                 writer.append("Z\" />\n");
             }
+        }
+    }
 
-            // Footer
-            writer.append("   </g>\n");
-            writer.append("</svg>\n");
+    /** Returns the hexadecimal representation of the specified RGB color value. */
+    static String toHex(int rgb) {
+        return String.format("%06X", rgb & 0xFFFFFF);
+    }
+
+    /**
+     * Writes all of the rectangles in the specified symbol as a single path, with each rectangle positioned relative
+     * to the previous one.
+     */
+    private void writeCompactRectangles(ExtendedOutputStreamWriter writer, EncodedSymbol symbol, int marginX, int marginY)
+                    throws IOException {
+        List< Rectangle > rectangles = symbol.getRectangles();
+        if (rectangles.isEmpty()) {
+            return;
+        }
+        writer.append("      <path d=\"");
+        double lastX = 0;
+        double lastY = 0;
+        for (int i = 0; i < rectangles.size(); i++) {
+            Rectangle rect = rectangles.get(i);
+            double x = round((rect.x * magnification) + marginX);
+            double y = round((rect.y * magnification) + marginY);
+            double w = round(rect.width * magnification);
+            double h = round(rect.height * magnification);
+            if (i == 0) {
+                writer.append("M").appendTrimmed(x).append(" ").appendTrimmed(y);
+            } else {
+                writer.append("m").appendTrimmed(x - lastX).append(" ").appendTrimmed(y - lastY);
+            }
+            writer.append("h").appendTrimmed(w).append("v").appendTrimmed(h).append("h").appendTrimmed(-w).append("z");
+            lastX = x;
+            lastY = y;
         }
+        writer.append("\" />\n");
     }
 
-    /** A bit convoluted, but we're trying to do it without adding an external dependency just for this... */
-    protected String clean(String s) {
+    /**
+     * Writes all of the hexagons in the specified symbol as references to a single hexagon definition (all hexagons
+     * have the same shape, and differ only in their position).
+     */
+    private void writeCompactHexagons(ExtendedOutputStreamWriter writer, EncodedSymbol symbol, int marginX, int marginY,
+                    boolean definition) throws IOException {
+        List< Hexagon > hexagons = symbol.getHexagons();
+        if (hexagons.isEmpty()) {
+            return;
+        }
+        if (definition) {
+            Hexagon first = hexagons.get(0);
+            writer.append("      <defs>\n");
+            writer.append("         <path id=\"hexagon\" d=\"");
+            for (int j = 0; j < 6; j++) {
+                writer.append(j == 0 ? "M" : "L")
+                      .appendTrimmed((first.pointX[j] - first.centreX) * magnification).append(" ")
+                      .appendTrimmed((first.pointY[j] - first.centreY) * magnification);
+            }
+            writer.append("Z\" />\n");
+            writer.append("      </defs>\n");
+        }
+        for (int i = 0; i < hexagons.size(); i++) {
+            Hexagon hexagon = hexagons.get(i);
+            writer.append("      <use xlink:href=\"#hexagon\" x=\"").appendTrimmed((hexagon.centreX * magnification) + marginX)
+                  .append("\" y=\"").appendTrimmed((hexagon.centreY * magnification) + marginY)
+                  .append("\" />\n");
+        }
+    }
+
+    /** Rounds the specified number to two decimal places, so that relative coordinates do not accumulate errors. */
+    private static double round(double d) {
+        return Math.round(d * 100) / 100d;
+    }
 
-        // remove control characters
-        s = s.replaceAll("[\u0000-\u001f]", "");
-
-        // escape XML characters
-        try {
-            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
-            Text text = document.createTextNode(s);
-            Transformer transformer = TransformerFactory.newInstance().newTransformer();
-            DOMSource source = new DOMSource(text);
-            StringWriter writer = new StringWriter();
-            StreamResult result = new StreamResult(writer);
-            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-            transformer.transform(source, result);
-            return writer.toString();
-        } catch (ParserConfigurationException | TransformerException | TransformerFactoryConfigurationError e) {
-            return s;
+    /**
+     * Cleans the specified string for inclusion in the SVG output, removing control characters and escaping the
+     * XML special characters. The specified string is returned as-is (without any copying) if it needs no cleaning.
+     *
+     * @param s the string to clean
+     * @return the cleaned string
+     */
+    protected String clean(String s) {
+        StringBuilder sb = null;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            String replacement;
+            switch (c) {
+                case '&':
+                    replacement = "&amp;";
+                    break;
+                case '<':
+                    replacement = "&lt;";
+                    break;
+                case '>':
+                    replacement = "&gt;";
+                    break;
+                case '"':
+                    replacement = "&quot;";
+                    break;
+                default:
+                    replacement = (c < 0x20 ? "" : null);
+                    break;
+            }
+            if (replacement != null) {
+                if (sb == null) {
+                    sb = new StringBuilder(s.length() + 16);
+                    sb.append(s, 0, i);
+                }
+                sb.append(replacement);
+            } else if (sb != null) {
+                sb.append(c);
+            }
         }
+        return sb == null ? s : sb.toString();
     }
 }
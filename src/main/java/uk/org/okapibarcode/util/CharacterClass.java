@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.util;
+
+/**
+ * <p>An immutable set of characters in the range <code>U+0000</code> to <code>U+017F</code> (Latin-1 plus Latin
+ * Extended-A, which also covers the Code 128 function character placeholders), backed by a precomputed lookup table. Used to validate symbol input without compiling a regular expression on every encode:
+ * <code>CharacterClass.of("0123456789X").matches(s)</code> is equivalent to <code>s.matches("[0-9X]+")</code>.
+ *
+ * <p>Instances are intended to be created once and stored in static constants.
+ */
+public final class CharacterClass {
+
+    /** The digits <code>0</code> to <code>9</code>. */
+    public static final CharacterClass DIGITS = range('0', '9');
+
+    /** The upper case letters <code>A</code> to <code>Z</code>. */
+    public static final CharacterClass UPPER_CASE = range('A', 'Z');
+
+    /** The lower case letters <code>a</code> to <code>z</code>. */
+    public static final CharacterClass LOWER_CASE = range('a', 'z');
+
+    /** The characters in the ASCII character set (<code>U+0000</code> to <code>U+007F</code>). */
+    public static final CharacterClass ASCII = range('\u0000', '\u007F');
+
+    /** The characters in the ISO 8859-1 character set (<code>U+0000</code> to <code>U+00FF</code>). */
+    public static final CharacterClass LATIN_1 = range('\u0000', '\u00FF');
+
+    private static final char MAX = '\u017F';
+    private static final int WORDS = (MAX >> 6) + 1;
+
+    private final long[] bits;
+
+    private CharacterClass(long[] bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Returns a character class containing the specified characters.
+     *
+     * @param chars the characters to include
+     * @return a character class containing the specified characters
+     * @throws IllegalArgumentException if any of the characters is outside of the range <code>U+0000</code> to
+     *         <code>U+017F</code>
+     */
+    public static CharacterClass of(String chars) {
+        long[] bits = new long[WORDS];
+        for (int i = 0; i < chars.length(); i++) {
+            set(bits, chars.charAt(i));
+        }
+        return new CharacterClass(bits);
+    }
+
+    /**
+     * Returns a character class containing all of the characters between the specified characters, inclusive.
+     *
+     * @param first the first character to include
+     * @param last the last character to include
+     * @return a character class containing the specified range of characters
+     * @throws IllegalArgumentException if either of the characters is outside of the range <code>U+0000</code> to
+     *         <code>U+017F</code>
+     */
+    public static CharacterClass range(char first, char last) {
+        long[] bits = new long[WORDS];
+        for (int c = first; c <= last; c++) {
+            set(bits, (char) c);
+        }
+        return new CharacterClass(bits);
+    }
+
+    /**
+     * Returns a character class containing the characters in this class and the specified characters.
+     *
+     * @param chars the additional characters to include
+     * @return a character class containing the characters in this class and the specified characters
+     */
+    public CharacterClass with(String chars) {
+        return with(of(chars));
+    }
+
+    /**
+     * Returns a character class containing the characters in this class and the characters in the specified class.
+     *
+     * @param other the character class to combine with this one
+     * @return a character class containing the characters in both classes
+     */
+    public CharacterClass with(CharacterClass other) {
+        long[] union = new long[WORDS];
+        for (int i = 0; i < union.length; i++) {
+            union[i] = bits[i] | other.bits[i];
+        }
+        return new CharacterClass(union);
+    }
+
+    /**
+     * Returns whether or not this character class contains the specified character.
+     *
+     * @param c the character to check
+     * @return whether or not this character class contains the specified character
+     */
+    public boolean contains(char c) {
+        return c <= MAX && (bits[c >> 6] & (1L << c)) != 0;
+    }
+
+    /**
+     * Returns whether or not the specified text is non-empty and consists only of characters in this character class.
+     *
+     * @param s the text to check
+     * @return whether or not the specified text is non-empty and consists only of characters in this character class
+     */
+    public boolean matches(CharSequence s) {
+        int length = s.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!contains(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void set(long[] bits, char c) {
+        if (c > MAX) {
+            throw new IllegalArgumentException("Character out of range: " + (int) c);
+        }
+        bits[c >> 6] |= 1L << c;
+    }
+}
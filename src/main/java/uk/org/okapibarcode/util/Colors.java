@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.util;
+
+/**
+ * Helper methods for colors represented as RGB values (e.g. <code>0xFF8000</code> for orange), which allow renderers
+ * to work with colors without loading <code>java.awt.Color</code> and the native AWT libraries.
+ */
+public final class Colors {
+
+    private Colors() {
+        // utility class
+    }
+
+    /**
+     * Returns the red component of the specified RGB value.
+     *
+     * @param rgb the RGB value
+     * @return the red component, between 0 and 255
+     */
+    public static int red(int rgb) {
+        return (rgb >> 16) & 0xFF;
+    }
+
+    /**
+     * Returns the green component of the specified RGB value.
+     *
+     * @param rgb the RGB value
+     * @return the green component, between 0 and 255
+     */
+    public static int green(int rgb) {
+        return (rgb >> 8) & 0xFF;
+    }
+
+    /**
+     * Returns the blue component of the specified RGB value.
+     *
+     * @param rgb the RGB value
+     * @return the blue component, between 0 and 255
+     */
+    public static int blue(int rgb) {
+        return rgb & 0xFF;
+    }
+}
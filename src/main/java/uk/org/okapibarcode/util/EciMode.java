@@ -16,26 +16,157 @@
 
 package uk.org.okapibarcode.util;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
 
+/**
+ * <p>An ECI mode, together with the corresponding character set and the data encoded in that character set.
+ *
+ * <p>The character set used to encode some data is chosen by {@link #of(String)}, which picks the first of the
+ * supported character sets (in order of preference) able to encode all of the data. Data which only contains
+ * ISO 8859-1 characters (including all ASCII data) is recognized and encoded in a single pass, without using a
+ * {@link CharsetEncoder}. Other data is encoded directly by each candidate character set's encoder until one succeeds,
+ * so the data is only transcoded once. Encoders are cached per thread, and failures are detected via the encoder
+ * results rather than via exceptions.
+ */
 public class EciMode {
 
-    public static final EciMode NONE = new EciMode(-1, null);
+    public static final EciMode NONE = new EciMode(-1, null, new byte[0]);
+
+    /** The ECI mode of ISO 8859-1, the first choice. */
+    private static final int LATIN_1_MODE = 3;
+
+    /** The other candidate character sets, in order of preference. */
+    private static final String[] CHARSET_NAMES = {
+        "ISO8859_2",    "ISO8859_3",    "ISO8859_4",    "ISO8859_5",    "ISO8859_6",
+        "ISO8859_7",    "ISO8859_8",    "ISO8859_9",    "ISO8859_10",   "ISO8859_11",
+        "ISO8859_13",   "ISO8859_14",   "ISO8859_15",   "ISO8859_16",   "Windows_1250",
+        "Windows_1251", "Windows_1252", "Windows_1256", "SJIS",         "UTF8"
+    };
+
+    /** The ECI modes corresponding to the candidate character sets. */
+    private static final int[] MODES = {
+        4,  5,  6,  7,  8,
+        9,  10, 11, 12, 13,
+        15, 16, 17, 18, 21,
+        22, 23, 24, 20, 26
+    };
+
+    /** The candidate character sets, or <code>null</code> for character sets not supported by this platform. */
+    private static final Charset[] CHARSETS = new Charset[CHARSET_NAMES.length];
+
+    static {
+        for (int i = 0; i < CHARSET_NAMES.length; i++) {
+            try {
+                Charset charset = Charset.forName(CHARSET_NAMES[i]);
+                if (charset.canEncode()) {
+                    CHARSETS[i] = charset;
+                }
+            } catch (UnsupportedCharsetException e) {
+                // not available on this platform, skip it
+            }
+        }
+    }
+
+    /** The encoders for the candidate character sets, created lazily by each thread. */
+    private static final ThreadLocal< CharsetEncoder[] > ENCODERS = new ThreadLocal< CharsetEncoder[] >() {
+        @Override
+        protected CharsetEncoder[] initialValue() {
+            return new CharsetEncoder[CHARSETS.length];
+        }
+    };
 
     public final int mode;
     public final Charset charset;
 
-    private EciMode(int mode, Charset charset) {
+    /** The data encoded in this mode's character set. */
+    private final byte[] bytes;
+
+    private EciMode(int mode, Charset charset, byte[] bytes) {
         this.mode = mode;
         this.charset = charset;
+        this.bytes = bytes;
     }
 
+    /**
+     * Chooses the ECI mode to use for the specified data, and encodes the data in the corresponding character set.
+     *
+     * @param data the data to encode
+     * @return the ECI mode to use for the specified data, or {@link #NONE} if none of the supported character sets can
+     *         encode it
+     */
+    public static EciMode of(String data) {
+
+        int length = data.length();
+        byte[] latin1 = new byte[length];
+        int i = 0;
+        for (; i < length; i++) {
+            char c = data.charAt(i);
+            if (c > 0xFF) {
+                break;
+            }
+            latin1[i] = (byte) c;
+        }
+        if (i == length) {
+            return new EciMode(LATIN_1_MODE, StandardCharsets.ISO_8859_1, latin1);
+        }
+
+        CharsetEncoder[] encoders = ENCODERS.get();
+        CharBuffer in = CharBuffer.wrap(data);
+        ByteBuffer out = null;
+        for (int j = 0; j < CHARSETS.length; j++) {
+            if (CHARSETS[j] == null) {
+                continue;
+            }
+            CharsetEncoder encoder = encoders[j];
+            if (encoder == null) {
+                encoder = CHARSETS[j].newEncoder();
+                encoders[j] = encoder;
+            }
+            int capacity = (int) Math.ceil(length * encoder.maxBytesPerChar());
+            if (out == null || out.capacity() < capacity) {
+                out = ByteBuffer.allocate(capacity);
+            }
+            in.rewind();
+            out.clear();
+            encoder.reset();
+            CoderResult result = encoder.encode(in, out, true);
+            if (!result.isError()) {
+                result = encoder.flush(out);
+            }
+            if (result.isUnderflow()) {
+                byte[] bytes = new byte[out.position()];
+                out.flip();
+                out.get(bytes);
+                return new EciMode(MODES[j], CHARSETS[j], bytes);
+            }
+            // this character set cannot encode the data, try the next one
+        }
+
+        return NONE;
+    }
+
+    /**
+     * Returns the specified ECI mode if the specified character set can encode the specified data, or {@link #NONE}
+     * otherwise.
+     *
+     * @param data the data to encode
+     * @param charsetName the name of the character set to try
+     * @param mode the ECI mode corresponding to the character set
+     * @return the specified ECI mode, or {@link #NONE} if the character set cannot encode the data
+     * @deprecated use {@link #of(String)}, which tries all of the supported character sets in a single pass
+     */
+    @Deprecated
     public static EciMode of(String data, String charsetName, int mode) {
         try {
             Charset charset = Charset.forName(charsetName);
             if (charset.canEncode() && charset.newEncoder().canEncode(data)) {
-                return new EciMode(mode, charset);
+                return new EciMode(mode, charset, data.getBytes(charset));
             } else {
                 return NONE;
             }
@@ -44,6 +175,16 @@ public class EciMode {
         }
     }
 
+    /**
+     * Returns this ECI mode, or if this is {@link #NONE}, the result of {@link #of(String, String, int)}.
+     *
+     * @param data the data to encode
+     * @param charsetName the name of the character set to try
+     * @param mode the ECI mode corresponding to the character set
+     * @return this ECI mode, or the specified ECI mode if the specified character set can encode the data
+     * @deprecated use {@link #of(String)}, which tries all of the supported character sets in a single pass
+     */
+    @Deprecated
     public EciMode or(String data, String charsetName, int mode) {
         if (!this.equals(NONE)) {
             return this;
@@ -52,6 +193,15 @@ public class EciMode {
         }
     }
 
+    /**
+     * Returns a copy of the data encoded in this mode's character set (empty for {@link #NONE}).
+     *
+     * @return a copy of the data encoded in this mode's character set
+     */
+    public byte[] getBytes() {
+        return bytes.clone();
+    }
+
     @Override
     public boolean equals(Object other) {
         return other instanceof EciMode && ((EciMode) other).mode == this.mode;
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.beust.jcommander.JCommander;
+
+/**
+ * Tests for {@link BatchArchive}.
+ */
+public class BatchArchiveTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReadBack() throws IOException {
+
+        Settings settings = settings("/tmp/../x/a,\"b\"~~.svg");
+        File file = folder.newFile("out.zip");
+        try (BatchArchive archive = new BatchArchive(settings, file)) {
+            for (int line : new int[] { 1, 2, 4, 100 }) {
+                archive.add(line, OkapiBarcode.calcFileName(settings, line), ("symbol " + line).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        Map< String, String > entries = read(file);
+        assertEquals(5, entries.size());
+        assertEquals("symbol 1", entries.get("x/a,\"b\"01.svg"));
+        assertEquals("symbol 2", entries.get("x/a,\"b\"02.svg"));
+        assertEquals("symbol 4", entries.get("x/a,\"b\"04.svg"));
+        assertEquals("symbol 100", entries.get("x/a,\"b\"100.svg"));
+        assertEquals("line,entry\n" +
+                     "1,\"x/a,\"\"b\"\"01.svg\"\n" +
+                     "2,\"x/a,\"\"b\"\"02.svg\"\n" +
+                     "4,\"x/a,\"\"b\"\"04.svg\"\n" +
+                     "100,\"x/a,\"\"b\"\"100.svg\"\n", entries.get(BatchArchive.INDEX));
+    }
+
+    @Test
+    public void testAbort() throws IOException {
+        Settings settings = settings("symbol~.svg");
+        File file = folder.newFile("out.zip");
+        try (BatchArchive archive = new BatchArchive(settings, file)) {
+            archive.add(1, OkapiBarcode.calcFileName(settings, 1), "symbol 1".getBytes(StandardCharsets.UTF_8));
+            archive.abort();
+        }
+        Map< String, String > entries = read(file);
+        assertEquals(1, entries.size());
+        assertEquals("symbol 1", entries.get("symbol1.svg"));
+        assertFalse(entries.containsKey(BatchArchive.INDEX));
+    }
+
+    @Test
+    public void testDuplicateEntry() throws IOException {
+        Settings settings = settings("symbol.png");
+        try (BatchArchive archive = new BatchArchive(settings, folder.newFile("out.zip"))) {
+            archive.add(1, "symbol.png", new byte[1]);
+            try {
+                archive.add(2, "./symbol.png", new byte[1]);
+                fail("Expected a duplicate entry error");
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains("duplicate"));
+            }
+        }
+    }
+
+    @Test
+    public void testEntryName() {
+        assertEquals("out.png", BatchArchive.entryName("out.png"));
+        assertEquals("dir/out.png", BatchArchive.entryName("dir/out.png"));
+        assertEquals("tmp/out.png", BatchArchive.entryName("/tmp/out.png"));
+        assertEquals("out.png", BatchArchive.entryName("../../out.png"));
+        assertEquals("b/out.png", BatchArchive.entryName("a/../b/./out.png"));
+        assertEquals("Users/out.png", BatchArchive.entryName("C:\\Users\\out.png"));
+        assertEquals("share/out.png", BatchArchive.entryName("\\\\share\\out.png"));
+    }
+
+    private static Settings settings(String template) {
+        Settings settings = new Settings();
+        new JCommander(settings, "-b", "20", "--batch", "-o", template);
+        return settings;
+    }
+
+    private static Map< String, String > read(File file) throws IOException {
+        Map< String, String > entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new FileInputStream(file))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), new String(readAll(zip), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        for (int n; (n = in.read(buffer)) != -1; ) {
+            baos.write(buffer, 0, n);
+        }
+        return baos.toByteArray();
+    }
+}
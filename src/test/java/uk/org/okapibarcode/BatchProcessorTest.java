@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.beust.jcommander.JCommander;
+
+/**
+ * Tests for {@link BatchProcessor}.
+ */
+public class BatchProcessorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSameOutputAsSequential() throws Exception {
+
+        StringBuilder input = new StringBuilder();
+        for (int i = 1; i <= 200; i++) {
+            input.append(i % 17 == 0 ? "" : "LINE" + i).append('\n'); // includes some lines which cannot be encoded
+        }
+
+        for (String extension : new String[] { "png", "svg", "gif" }) {
+
+            File sequential = folder.newFolder("sequential-" + extension);
+            Settings settings = settings(sequential, extension);
+            BufferedReader in = new BufferedReader(new StringReader(input.toString()));
+            String inputData;
+            int counter = 0;
+            while ((inputData = in.readLine()) != null) {
+                counter++;
+                new MakeBarcode().process(settings, inputData, OkapiBarcode.calcFileName(settings, counter));
+            }
+
+            File parallel = folder.newFolder("parallel-" + extension);
+            settings = settings(parallel, extension);
+            new BatchProcessor(settings, 4).process(new BufferedReader(new StringReader(input.toString())));
+
+            String[] expected = sequential.list();
+            String[] actual = parallel.list();
+            Arrays.sort(expected);
+            Arrays.sort(actual);
+            assertEquals(200 - 11, expected.length);
+            assertArrayEquals(expected, actual);
+            for (String name : expected) {
+                byte[] expectedBytes = Files.readAllBytes(new File(sequential, name).toPath());
+                byte[] actualBytes = Files.readAllBytes(new File(parallel, name).toPath());
+                assertArrayEquals(name, expectedBytes, actualBytes);
+            }
+        }
+    }
+
+    @Test
+    public void testStageFailure() throws Exception {
+
+        final Error error = new Error("test failure");
+        Settings settings = settings(folder.getRoot(), "svg");
+        BatchArchive archive = new BatchArchive(settings, folder.newFile("out.zip")) {
+            @Override
+            void add(int line, String name, byte[] data) throws IOException {
+                if (line == 5) {
+                    throw error;
+                }
+                super.add(line, name, data);
+            }
+        };
+
+        StringBuilder input = new StringBuilder();
+        for (int i = 1; i <= 10_000; i++) {
+            input.append("LINE").append(i).append('\n');
+        }
+
+        try {
+            new BatchProcessor(settings, 2, archive).process(new BufferedReader(new StringReader(input.toString())));
+            fail("Expected the batch to fail");
+        } catch (ExecutionException e) {
+            assertSame(error, e.getCause());
+            assertTrue(e.getMessage().contains("test failure"));
+        } finally {
+            archive.close();
+        }
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    private static Settings settings(File dir, String extension) {
+        Settings settings = new Settings();
+        new JCommander(settings, "-b", "20", "-o", new File(dir, "~~~~~." + extension).getPath());
+        return settings;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link CoProcess}.
+ */
+public class CoProcessTest {
+
+    @Test
+    public void testPipelinedRequests() throws IOException {
+
+        String requests =
+            "58\t-o x.svg\tHello\n" +           // QR Code, SVG
+            "20\t\tA\tB\n" +                    // Code 128, data containing a literal tab
+            "not a request\n" +                 // missing fields
+            "20\t--binary\tA\tB\n" +            // Code 128, data containing a literal tab, no escape processing
+            "20\t--height @secret\tA\n" +       // file expansion attempt
+            "20\t-o x.xyz\tA\n" +               // unsupported output format
+            "20\t\t\n" +                        // no data
+            "20\t\tA\tB\n";                     // repeated request, uses cached settings
+
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CoProcess(new ByteArrayInputStream(requests.getBytes(StandardCharsets.UTF_8)), out).run();
+        assertSame(stdout, System.out);
+
+        List< Response > responses = parse(out.toByteArray());
+        assertEquals(8, responses.size());
+
+        assertEquals("OK", responses.get(0).status);
+        assertTrue(responses.get(0).text().contains("<svg"));
+
+        assertEquals("OK", responses.get(1).status);
+        assertArrayEquals(render("A\tB", "-b", "20"), responses.get(1).content);
+
+        assertEquals("ERR", responses.get(2).status);
+        assertTrue(responses.get(2).text().startsWith("Invalid request"));
+
+        assertEquals("OK", responses.get(3).status);
+        assertArrayEquals(responses.get(1).content, responses.get(3).content);
+
+        assertEquals("ERR", responses.get(4).status);
+        assertEquals("Options and values may not start with '@'", responses.get(4).text());
+
+        assertEquals("ERR", responses.get(5).status);
+        assertEquals("Unsupported output format", responses.get(5).text());
+
+        assertEquals("ERR", responses.get(6).status);
+        assertEquals("No data received, no symbol generated", responses.get(6).text());
+
+        assertEquals("OK", responses.get(7).status);
+        assertArrayEquals(responses.get(1).content, responses.get(7).content);
+    }
+
+    @Test
+    public void testSystemOutRestoredAfterError() throws IOException {
+        PrintStream stdout = System.out;
+        try {
+            new CoProcess(new ByteArrayInputStream("20\t\tA\n".getBytes(StandardCharsets.UTF_8)), new FailingOutputStream()).run();
+        } catch (IOException e) {
+            assertEquals("closed", e.getMessage());
+        }
+        assertSame(stdout, System.out);
+    }
+
+    /** Renders the specified data directly, as a PNG image. */
+    private static byte[] render(String data, String... args) throws IOException {
+        Settings settings = OkapiBarcode.parseClientSettings(args);
+        MakeBarcode mb = new MakeBarcode();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        mb.write(settings, mb.encode(settings, data), "png", baos);
+        return baos.toByteArray();
+    }
+
+    /** Splits the co-process output into responses, checking the framing. */
+    private static List< Response > parse(byte[] output) {
+        List< Response > responses = new ArrayList<>();
+        int i = 0;
+        while (i < output.length) {
+            int eol = i;
+            while (output[eol] != '\n') {
+                eol++;
+            }
+            String[] header = new String(output, i, eol - i, StandardCharsets.US_ASCII).split(" ");
+            assertEquals(2, header.length);
+            int length = Integer.parseInt(header[1]);
+            byte[] content = new byte[length];
+            System.arraycopy(output, eol + 1, content, 0, length);
+            responses.add(new Response(header[0], content));
+            i = eol + 1 + length;
+        }
+        assertEquals(output.length, i);
+        return responses;
+    }
+
+    private static final class Response {
+
+        final String status;
+        final byte[] content;
+
+        Response(String status, byte[] content) {
+            this.status = status;
+            this.content = content;
+        }
+
+        String text() {
+            return new String(content, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    private static final class FailingOutputStream extends OutputStream {
+        @Override
+        public void write(int b) throws IOException {
+            throw new IOException("closed");
+        }
+    }
+}
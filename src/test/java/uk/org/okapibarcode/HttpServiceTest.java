@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link HttpService}.
+ */
+public class HttpServiceTest {
+
+    private HttpService service;
+
+    @Before
+    public void before() throws IOException {
+        service = new HttpService("", 0, 2);
+        service.start();
+    }
+
+    @After
+    public void after() {
+        service.stop();
+    }
+
+    @Test
+    public void testListensOnLoopbackByDefault() throws IOException {
+        assertTrue(InetAddress.getByName(service.getHost()).isLoopbackAddress());
+    }
+
+    @Test
+    public void testRender() throws IOException {
+        HttpURLConnection connection = open("b=58&d=Hello&format=svg");
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("image/svg+xml", connection.getContentType());
+        assertNotNull(connection.getHeaderField("ETag"));
+        assertTrue(new String(read(connection.getInputStream()), StandardCharsets.UTF_8).contains("<svg"));
+    }
+
+    @Test
+    public void testNotModified() throws IOException {
+        HttpURLConnection first = open("b=58&d=Hello");
+        assertEquals(200, first.getResponseCode());
+        String etag = first.getHeaderField("ETag");
+        byte[] png = read(first.getInputStream());
+
+        HttpURLConnection second = open("b=58&d=Hello");
+        second.setRequestProperty("If-None-Match", etag);
+        assertEquals(304, second.getResponseCode());
+        assertEquals(etag, second.getHeaderField("ETag"));
+
+        HttpURLConnection third = open("b=58&d=Hello");
+        third.setRequestProperty("If-None-Match", "\"other\"");
+        assertEquals(200, third.getResponseCode());
+        assertEquals(png.length, read(third.getInputStream()).length);
+    }
+
+    @Test
+    public void testForbiddenOptions() throws IOException {
+        for (String query : new String[] { "d=Hi&o=out.png", "d=Hi&i=in.txt", "d=Hi&batch", "d=Hi&http-address=0.0.0.0" }) {
+            HttpURLConnection connection = open(query);
+            assertEquals(query, 400, connection.getResponseCode());
+            assertTrue(query, error(connection).startsWith("Option not allowed"));
+        }
+    }
+
+    @Test
+    public void testFileExpansionRejected() throws IOException {
+        File file = File.createTempFile("okapi", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "secret-file-content".getBytes(StandardCharsets.UTF_8));
+        String path = URLEncoder.encode("@" + file.getAbsolutePath(), "UTF-8");
+
+        for (String query : new String[] { "d=Hi&b=" + path, "d=Hi&" + path, "d=Hi&height=" + path }) {
+            HttpURLConnection connection = open(query);
+            assertEquals(query, 400, connection.getResponseCode());
+            assertFalse(query, error(connection).contains("secret"));
+        }
+    }
+
+    @Test
+    public void testMethodNotAllowed() throws IOException {
+        HttpURLConnection connection = open("b=58&d=Hello");
+        connection.setRequestMethod("DELETE");
+        assertEquals(405, connection.getResponseCode());
+        assertEquals("GET, HEAD", connection.getHeaderField("Allow"));
+    }
+
+    @Test
+    public void testCacheEviction() {
+        HttpService.Cache cache = new HttpService.Cache(10);
+        HttpService.Rendered a = new HttpService.Rendered(new byte[4], "image/png", "\"a\"");
+        HttpService.Rendered b = new HttpService.Rendered(new byte[4], "image/png", "\"b\"");
+        HttpService.Rendered c = new HttpService.Rendered(new byte[4], "image/png", "\"c\"");
+        HttpService.Rendered big = new HttpService.Rendered(new byte[11], "image/png", "\"big\"");
+
+        cache.put("a", a);
+        cache.put("b", b);
+        assertSame(a, cache.get("a")); // a is now the most recently used entry
+        cache.put("c", c);
+        assertSame(a, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertSame(c, cache.get("c"));
+
+        cache.put("big", big);
+        assertNull(cache.get("big"));
+        assertSame(a, cache.get("a"));
+        assertSame(c, cache.get("c"));
+    }
+
+    private HttpURLConnection open(String query) throws IOException {
+        URL url = new URL("http://" + service.getHost() + ":" + service.getPort() + HttpService.PATH + "?" + query);
+        return (HttpURLConnection) url.openConnection();
+    }
+
+    private static String error(HttpURLConnection connection) throws IOException {
+        return new String(read(connection.getErrorStream()), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] read(InputStream in) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        for (int n; (n = in.read(buffer)) != -1; ) {
+            baos.write(buffer, 0, n);
+        }
+        in.close();
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.backend;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * <p>
+ * Tests for {@link ChannelCode}, checking the patterns generated by unranking against the patterns generated by the
+ * original exhaustive enumeration: every value for 3 to 6 channels, and a sample of values for 7 and 8 channels.
+ */
+public class ChannelCodeTest {
+
+    private static final int[] MAX_VALUES = { 0, 0, 0, 26, 292, 3493, 44072, 576688, 7742862 };
+
+    @Test
+    public void testAllValues() {
+        for (int channels = 3; channels <= 6; channels++) {
+            Map< Integer, String > expected = enumerate(channels, 1);
+            assertEquals(MAX_VALUES[channels] + 1, expected.size());
+            for (int value = 0; value <= MAX_VALUES[channels]; value++) {
+                assertEquals(channels + ": " + value, expected.get(value), encode(channels, value));
+            }
+        }
+    }
+
+    @Test
+    public void testSampledValues() {
+        for (int channels = 7; channels <= 8; channels++) {
+            int step = 997;
+            Map< Integer, String > expected = enumerate(channels, step);
+            for (int value = 0; value <= MAX_VALUES[channels]; value += step) {
+                assertEquals(channels + ": " + value, expected.get(value), encode(channels, value));
+            }
+            assertEquals(channels + ": max", expected.get(MAX_VALUES[channels]), encode(channels, MAX_VALUES[channels]));
+        }
+    }
+
+    private static String encode(int channels, int value) {
+        ChannelCode code = new ChannelCode();
+        code.setNumberOfChannels(channels);
+        code.setContent(String.valueOf(value));
+        return code.pattern[0];
+    }
+
+    /**
+     * Returns the patterns generated by the original exhaustive enumeration for every <code>step</code>-th value, as
+     * well as for the highest value.
+     */
+    private static Map< Integer, String > enumerate(int channels, int step) {
+        Enumerator enumerator = new Enumerator(channels, step);
+        enumerator.run();
+        return enumerator.patterns;
+    }
+
+    /** The original exhaustive enumeration. */
+    private static final class Enumerator {
+
+        private final int channels;
+        private final int step;
+        private final int[] space = new int[11];
+        private final int[] bar = new int[11];
+        private final Map< Integer, String > patterns = new HashMap<>();
+        private int currentValue;
+
+        Enumerator(int channels, int step) {
+            this.channels = channels;
+            this.step = step;
+        }
+
+        void run() {
+            bar[0] = space[1] = bar[1] = space[2] = bar[2] = 1;
+            nextSpace(3, channels, channels);
+        }
+
+        private void nextSpace(int i, int maxSpace, int maxBar) {
+            for (int s = (i < channels + 2) ? 1 : maxSpace; s <= maxSpace; s++) {
+                space[i] = s;
+                nextBar(i, maxBar, maxSpace + 1 - s);
+            }
+        }
+
+        private void nextBar(int i, int maxBar, int maxSpace) {
+            int b = (space[i] + bar[i - 1] + space[i - 1] + bar[i - 2] > 4) ? 1 : 2;
+            if (i < channels + 2) {
+                for (; b <= maxBar; b++) {
+                    bar[i] = b;
+                    nextSpace(i + 1, maxSpace, maxBar + 1 - b);
+                }
+            } else if (b <= maxBar) {
+                bar[i] = maxBar;
+                if (currentValue % step == 0 || currentValue == MAX_VALUES[channels]) {
+                    StringBuilder sb = new StringBuilder();
+                    sb.append("11110");
+                    for (int j = 0; j < 11; j++) {
+                        sb.append((char) (space[j] + '0'));
+                        sb.append((char) (bar[j] + '0'));
+                    }
+                    patterns.put(currentValue, sb.toString());
+                }
+                currentValue++;
+            }
+        }
+    }
+}
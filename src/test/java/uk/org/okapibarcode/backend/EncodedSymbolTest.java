@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link EncodedSymbol} and {@link Symbol#encode(String)}.
+ */
+public class EncodedSymbolTest {
+
+    @Test
+    public void testEncodeDoesNotModifySymbol() {
+        Code128 code128 = new Code128();
+        code128.setQuietZoneHorizontal(5);
+        EncodedSymbol encoded = code128.encode("ABC123");
+        assertNull(code128.getContent());
+        assertTrue(code128.getRectangles().isEmpty());
+        assertEquals("ABC123", encoded.getContent());
+        assertEquals("ABC123", encoded.getReadable());
+        assertEquals(5, encoded.getQuietZoneHorizontal());
+        assertEquals(Code128.class, encoded.getSymbolType());
+
+        code128.setContent("ABC123");
+        assertEquals(code128.getWidth(), encoded.getWidth());
+        assertEquals(code128.getHeight(), encoded.getHeight());
+        assertEquals(code128.getRectangles(), encoded.getRectangles());
+        assertEquals(code128.getTexts().size(), encoded.getTexts().size());
+    }
+
+    @Test
+    public void testSnapshotSharesNoState() {
+
+        QrCode qr = new QrCode();
+        qr.setContent("ABC123");
+        EncodedSymbol snapshot = EncodedSymbol.of(qr);
+        List< Rectangle > expected = new ArrayList<>();
+        for (Rectangle rect : qr.getRectangles()) {
+            expected.add(new Rectangle(rect));
+        }
+
+        qr.getRectangles().get(0).width = 99;
+        assertEquals(expected, snapshot.getRectangles());
+        qr.setContent("XYZ789");
+        assertEquals(expected, snapshot.getRectangles());
+        assertEquals("ABC123", snapshot.getContent());
+    }
+
+    @Test
+    public void testModulesCannotBeModified() {
+        EncodedSymbol encoded = new QrCode().encode("ABC123");
+        ModuleMatrix modules = encoded.getModules();
+        int x = modules.nextLight(0, 0);
+        modules.set(x, 0);
+        assertTrue(modules.get(x, 0));
+        assertFalse(encoded.getModules().get(x, 0));
+    }
+
+    @Test
+    public void testGeometryCannotBeModified() {
+        EncodedSymbol qr = new QrCode().encode("ABC123");
+        qr.getRectangles().get(0).width = 99;
+        assertNotEquals(99, qr.getRectangles().get(0).width, 0);
+        MaxiCode maxiCode = new MaxiCode();
+        maxiCode.setMode(4);
+        EncodedSymbol maxi = maxiCode.encode("123456789");
+        maxi.getHexagons().get(0).pointX[0] = -1;
+        assertNotEquals(-1, maxi.getHexagons().get(0).pointX[0], 0);
+    }
+
+    /**
+     * Checks that the working copy used by {@link Symbol#encode(String)} does not share any mutable objects with the
+     * original symbol. If this test fails after adding a field to a symbol type, the field needs to be reset in that
+     * symbol type's {@link Symbol#resetWorkingState()} method.
+     */
+    @Test
+    public void testWorkingCopySharesNoMutableState() throws Exception {
+        File dir = new File(Symbol.class.getResource("Symbol.class").toURI()).getParentFile();
+        int checked = 0;
+        for (String name : dir.list()) {
+            if (!name.endsWith(".class") || name.contains("$")) {
+                continue;
+            }
+            Class< ? > type = Class.forName(Symbol.class.getPackage().getName() + "." + name.substring(0, name.length() - 6));
+            if (!Symbol.class.isAssignableFrom(type) || Modifier.isAbstract(type.getModifiers())) {
+                continue;
+            }
+            Constructor< ? > constructor = type.getConstructor();
+            Symbol symbol = (Symbol) constructor.newInstance();
+            try {
+                symbol.setContent("12345678"); // populate any lazily allocated state
+            } catch (RuntimeException e) {
+                // not valid for this symbol type, the initial state is checked instead
+            }
+            Symbol copy = symbol.newWorkingCopy();
+            for (Class< ? > c = type; c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    Object value = field.get(symbol);
+                    if (value != null && !isImmutable(value)) {
+                        assertNotSame(type.getSimpleName() + "." + field.getName(), value, field.get(copy));
+                    }
+                }
+            }
+            checked++;
+        }
+        assertTrue(checked > 40);
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Character ||
+               value instanceof Boolean || value instanceof Enum;
+    }
+
+    @Test
+    public void testConcurrentEncoding() throws Exception {
+
+        final QrCode qr = new QrCode();
+        qr.setEccMode(QrCode.EccMode.M);
+
+        List< String > data = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            data.add("https://example.com/ticket/" + i + "/" + (i * 7919));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List< Future< EncodedSymbol > > futures = new ArrayList<>();
+            for (final String s : data) {
+                futures.add(executor.submit(new Callable< EncodedSymbol >() {
+                    @Override
+                    public EncodedSymbol call() {
+                        return qr.encode(s);
+                    }
+                }));
+            }
+            for (int i = 0; i < data.size(); i++) {
+                QrCode expected = new QrCode();
+                expected.setEccMode(QrCode.EccMode.M);
+                expected.setContent(data.get(i));
+                EncodedSymbol actual = futures.get(i).get();
+                assertEquals(data.get(i), actual.getContent());
+                assertEquals(expected.getRectangles(), actual.getRectangles());
+                assertEquals(expected.getEncodeInfo(), actual.getEncodeInfo());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
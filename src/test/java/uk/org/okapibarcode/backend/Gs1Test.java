@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link Gs1}.
+ */
+public class Gs1Test {
+
+    @Test
+    public void testVerify() {
+        // predefined length AIs are not followed by FNC1
+        assertEquals("0112345678901231" + "17251231" + "10ABC123",
+            Gs1.verify("[01]12345678901231[17]251231[10]ABC123"));
+        // variable length AIs are followed by FNC1, unless they come last
+        assertEquals("10ABC123[" + "21SERIAL0001[" + "3103001250",
+            Gs1.verify("[10]ABC123[21]SERIAL0001[3103]001250"));
+        assertEquals("00012345678901234567", Gs1.verify("[00]012345678901234567"));
+        assertEquals("2531234567890123ABC[" + "99x", Gs1.verify("[253]1234567890123ABC[99]x"));
+        // variable length AIs in a predefined length group are followed by FNC1
+        assertEquals("235ABC[" + "10XYZ", Gs1.verify("[235]ABC[10]XYZ"));
+    }
+
+    @Test
+    public void testUnknownAis() {
+        // AIs missing from the dictionary are accepted without checking their data, as long as they are well formed
+        assertEquals("4309ABC", Gs1.verify("[4309]ABC"));
+        assertEquals("4330123456", Gs1.verify("[4330]123456"));
+        assertEquals("725020200101", Gs1.verify("[7250]20200101"));
+        assertEquals("8030ABC", Gs1.verify("[8030]ABC"));
+        assertEquals("716IT", Gs1.verify("[716]IT"));
+        assertEquals("05ABC", Gs1.verify("[05]ABC"));
+        // unknown AIs are followed by FNC1 unless their group has a predefined length
+        assertEquals("716IT[" + "0112345678901231", Gs1.verify("[716]IT[01]12345678901231"));
+        assertEquals("05ABC[" + "0112345678901231", Gs1.verify("[05]ABC[01]12345678901231"));
+    }
+
+    @Test
+    public void testInvalid() {
+        assertInvalid("", "Data does not start with an AI");
+        assertInvalid("01]12345678901231", "Data does not start with an AI");
+        assertInvalid("[01]1234567890123\u00E9", "Extended ASCII characters are not supported by GS1");
+        assertInvalid("[10]AB\tC", "Control characters are not supported by GS1");
+        assertInvalid("[01", "Malformed AI in input data (brackets don't match)");
+        assertInvalid("[10]AB]C", "Malformed AI in input data (brackets don't match)");
+        assertInvalid("[1[0]ABC", "Found nested brackets in input data");
+        assertInvalid("[12345]ABC", "Invalid AI in input data (AI too long)");
+        assertInvalid("[1]ABC", "Invalid AI in input data (AI too short)");
+        assertInvalid("[1A]ABC", "Invalid AI in input data (non-numeric characters in AI)");
+        assertInvalid("[10][01]12345678901231", "Empty data field in input data");
+        assertInvalid("[23]ABC", "Invalid AI value");
+        assertInvalid("[9000]ABC", "Invalid AI value");
+        assertInvalid("[3106]12345", "Invalid data length for AI");
+        assertInvalid("[01]123456789", "Invalid data length for AI");
+        assertInvalid("[10]123456789012345678901", "Invalid data length for AI");
+        assertInvalid("[01]1234567890123A", "Invalid characters in data for AI");
+        assertInvalid("[10]ABC 123", "Invalid characters in data for AI");
+        assertInvalid("[253]123456789012AB", "Invalid characters in data for AI");
+    }
+
+    private static void assertInvalid(String data, String message) {
+        try {
+            Gs1.verify(data);
+            fail(data);
+        } catch (OkapiException e) {
+            assertEquals(data, message, e.getMessage());
+        }
+    }
+}
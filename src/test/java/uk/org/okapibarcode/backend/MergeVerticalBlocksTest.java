@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.backend;
+
+import static org.junit.Assert.assertEquals;
+import static uk.org.okapibarcode.util.Doubles.roughlyEqual;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * <p>
+ * Tests for {@link Symbol#mergeVerticalBlocks(List)}, checking the results against the original quadratic implementation
+ * on some of the largest symbols we can generate, on small and irregular symbols, and on random rectangles.
+ */
+public class MergeVerticalBlocksTest {
+
+    @Test
+    public void testSimple() {
+        List< Rectangle > rects = new ArrayList<>(Arrays.asList(
+            new Rectangle(0, 0, 1, 1),
+            new Rectangle(2, 0, 1, 1),
+            new Rectangle(0, 1, 1, 1),
+            new Rectangle(2, 1, 2, 1),
+            new Rectangle(0, 2, 1, 3)));
+        Symbol.mergeVerticalBlocks(rects);
+        assertEquals(3, rects.size());
+        assertEquals(new Rectangle(0, 0, 1, 5), rects.get(0));
+        assertEquals(new Rectangle(2, 0, 1, 1), rects.get(1));
+        assertEquals(new Rectangle(2, 1, 2, 1), rects.get(2));
+    }
+
+    @Test
+    public void testSkipAfterMerge() {
+        // the original implementation skips the rectangle which follows each merged rectangle
+        List< Rectangle > rects = new ArrayList<>(Arrays.asList(
+            new Rectangle(0, 0, 1, 1),
+            new Rectangle(5, 0, 1, 1),
+            new Rectangle(0, 1, 1, 1),
+            new Rectangle(5, 1, 1, 1),
+            new Rectangle(0, 2, 1, 1),
+            new Rectangle(5, 2, 1, 1)));
+        Symbol.mergeVerticalBlocks(rects);
+        assertEquals(Arrays.asList(
+            new Rectangle(0, 0, 1, 3),
+            new Rectangle(5, 0, 1, 2),
+            new Rectangle(5, 2, 1, 1)), rects);
+    }
+
+    @Test
+    public void testLargeSymbols() {
+        for (Symbol symbol : largeSymbols()) {
+            List< Rectangle > merged = copy(symbol.rectangles);
+            List< Rectangle > expected = check(symbol);
+            assertEquals(symbol.getClass().getSimpleName(), expected, merged);
+        }
+    }
+
+    @Test
+    public void testSmallSymbols() {
+
+        MicroQrCode microQr = new MicroQrCode();
+        microQr.setContent("A");
+        assertEquals(29, microQr.rectangles.size());
+        check(microQr);
+
+        Code16k code16k = new Code16k();
+        code16k.setContent("ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789");
+        check(code16k);
+
+        CodablockF codablock = new CodablockF();
+        codablock.setContent("ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789abcdefghij");
+        check(codablock);
+    }
+
+    @Test
+    public void testRandomRectangles() {
+        Random random = new Random(42);
+        for (int n = 0; n < 500; n++) {
+            List< Rectangle > rects = new ArrayList<>();
+            int count = 1 + random.nextInt(40);
+            for (int i = 0; i < count; i++) {
+                rects.add(new Rectangle(random.nextInt(3), random.nextInt(6), 1 + random.nextInt(2), 1 + random.nextInt(3)));
+            }
+            List< Rectangle > expected = copy(rects);
+            mergeQuadratic(expected);
+            Symbol.mergeVerticalBlocks(rects);
+            assertEquals(expected, rects);
+        }
+    }
+
+    @Test
+    public void testRoughlyEqualEdges() {
+        // coordinates within the roughlyEqual tolerance, including pairs which straddle the edge grid cell boundaries
+        double[] offsets = { 0, 0.00004, -0.00004, 0.00009, -0.00009, 0.00011, -0.00011, 0.0001, 0.00015, -0.00015 };
+        Random random = new Random(7);
+        for (int n = 0; n < 2000; n++) {
+            List< Rectangle > rects = new ArrayList<>();
+            int count = 1 + random.nextInt(30);
+            for (int i = 0; i < count; i++) {
+                rects.add(new Rectangle(
+                    (random.nextInt(3) * 0.5) + offsets[random.nextInt(offsets.length)],
+                    random.nextInt(6) + offsets[random.nextInt(offsets.length)],
+                    1 + offsets[random.nextInt(offsets.length)],
+                    1 + random.nextInt(2)));
+            }
+            List< Rectangle > expected = copy(rects);
+            mergeQuadratic(expected);
+            Symbol.mergeVerticalBlocks(rects);
+            assertEquals(expected, rects);
+        }
+    }
+
+    /**
+     * Re-plots the specified symbol and checks the merged rectangles against the original implementation, returning
+     * the expected rectangles.
+     */
+    private static List< Rectangle > check(Symbol symbol) {
+        List< Rectangle > expected = unmerged(symbol);
+        List< Rectangle > actual = copy(expected);
+        mergeQuadratic(expected);
+        Symbol.mergeVerticalBlocks(actual);
+        assertEquals(symbol.getClass().getSimpleName(), expected, actual);
+        return expected;
+    }
+
+    private static List< Symbol > largeSymbols() {
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            sb.append((char) ('A' + (i * 7 % 26)));
+        }
+        String data = sb.toString();
+
+        QrCode qr = new QrCode();
+        qr.setPreferredVersion(40);
+        qr.setContent(data);
+
+        DataMatrix dm = new DataMatrix();
+        dm.setPreferredSize(24); // 144 x 144
+        dm.setContent(data);
+
+        Pdf417 pdf = new Pdf417();
+        pdf.setDataColumns(30);
+        pdf.setContent(data);
+
+        return Arrays.< Symbol > asList(qr, dm, pdf);
+    }
+
+    /** Re-plots the specified symbol without merging its rectangles. */
+    private static List< Rectangle > unmerged(Symbol symbol) {
+        symbol.plotSymbol();
+        return copy(symbol.rectangles);
+    }
+
+    private static List< Rectangle > copy(List< Rectangle > rects) {
+        List< Rectangle > copy = new ArrayList<>(rects.size());
+        for (Rectangle rect : rects) {
+            copy.add(new Rectangle(rect));
+        }
+        return copy;
+    }
+
+    /** The original O(n^2) implementation. */
+    private static void mergeQuadratic(List< Rectangle > rectangles) {
+        for (int i = 0; i < rectangles.size() - 1; i++) {
+            for (int j = i + 1; j < rectangles.size(); j++) {
+                Rectangle firstRect = rectangles.get(i);
+                Rectangle secondRect = rectangles.get(j);
+                if (roughlyEqual(firstRect.x, secondRect.x) && roughlyEqual(firstRect.width, secondRect.width)) {
+                    if (roughlyEqual(firstRect.y + firstRect.height, secondRect.y)) {
+                        firstRect.height += secondRect.height;
+                        rectangles.remove(j);
+                    }
+                }
+            }
+        }
+    }
+}
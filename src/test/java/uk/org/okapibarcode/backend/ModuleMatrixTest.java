@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ModuleMatrix}.
+ */
+public class ModuleMatrixTest {
+
+    @Test
+    public void testSetAndGet() {
+        ModuleMatrix matrix = new ModuleMatrix(130, 2);
+        matrix.set(0, 0);
+        matrix.set(63, 0);
+        matrix.set(64, 0);
+        matrix.set(129, 1);
+        assertTrue(matrix.get(0, 0));
+        assertTrue(matrix.get(63, 0));
+        assertTrue(matrix.get(64, 0));
+        assertFalse(matrix.get(65, 0));
+        assertFalse(matrix.get(129, 0));
+        assertTrue(matrix.get(129, 1));
+        matrix.set(63, 0, false);
+        assertFalse(matrix.get(63, 0));
+        assertEquals(3, matrix.getWordsPerRow());
+    }
+
+    @Test
+    public void testRuns() {
+        ModuleMatrix matrix = new ModuleMatrix(200, 1);
+        matrix.setRun(10, 0, 150);
+        assertEquals(10, matrix.nextDark(0, 0));
+        assertEquals(160, matrix.nextLight(10, 0));
+        assertEquals(200, matrix.nextDark(160, 0));
+        assertEquals(200, matrix.nextLight(200, 0));
+        assertFalse(matrix.get(9, 0));
+        assertTrue(matrix.get(159, 0));
+        assertFalse(matrix.get(160, 0));
+    }
+
+    @Test
+    public void testGetPattern() {
+        assertEquals("0121", pattern("0110"));
+        assertEquals("3", pattern("111"));
+        assertEquals("03", pattern("000"));
+        assertEquals("1", pattern("1"));
+        assertEquals("0", pattern(""));
+        assertEquals("11342", pattern("10111000011"));
+    }
+
+    private static String pattern(String row) {
+        ModuleMatrix matrix = new ModuleMatrix(row.length(), 1);
+        for (int x = 0; x < row.length(); x++) {
+            matrix.set(x, 0, row.charAt(x) == '1');
+        }
+        return matrix.getPattern(0);
+    }
+}
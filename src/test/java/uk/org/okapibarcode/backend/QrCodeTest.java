@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.backend;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * {@link QrCode} tests that can't be run via the {@link SymbolTest}.
+ */
+public class QrCodeTest {
+
+    @Test
+    public void testParallelMaskEvaluation() {
+        for (int version : new int[] { 5, 21, 33, 40 }) {
+            for (int i = 0; i < 5; i++) {
+                String data = "Parallel mask evaluation test " + version + "-" + i;
+
+                QrCode sequential = new QrCode();
+                sequential.setPreferredVersion(version);
+                sequential.setContent(data);
+
+                QrCode parallel = new QrCode();
+                parallel.setPreferredVersion(version);
+                parallel.setParallelMaskEvaluation(true);
+                parallel.setContent(data);
+
+                assertEquals(sequential.getEncodeInfo(), parallel.getEncodeInfo());
+                assertEquals(sequential.getRectangles(), parallel.getRectangles());
+            }
+        }
+    }
+}
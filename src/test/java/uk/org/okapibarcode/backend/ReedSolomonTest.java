@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.backend;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ReedSolomon}, checking the results against a straightforward implementation of the original
+ * modulo-based encoding algorithm.
+ */
+public class ReedSolomonTest {
+
+    /** The Galois fields used by the various symbologies. */
+    private static final int[] POLYS = { 0x13, 0x25, 0x43, 0x89, 0x11d, 0x12d, 0x409, 0x1069 };
+
+    @Test
+    public void testEncode() {
+        Random random = new Random(42);
+        for (int poly : POLYS) {
+            int size = Integer.highestOneBit(poly);
+            for (int index = 0; index <= 1; index++) {
+                for (int nsym : new int[] { 1, 2, 5, 10, 30, 68 }) {
+                    if (nsym >= size - 1) {
+                        continue; // too many error correction codewords for this field
+                    }
+                    int len = 1 + random.nextInt(Math.min(size - nsym - 1, 100));
+                    int[] data = new int[len];
+                    for (int i = 0; i < len; i++) {
+                        data[i] = (i % 7 == 0 ? 0 : random.nextInt(size));
+                    }
+
+                    int[] expected = reference(poly, nsym, index, len, data);
+
+                    ReedSolomon rs = new ReedSolomon();
+                    rs.init_gf(poly);
+                    rs.init_code(nsym, index);
+                    rs.encode(len, data);
+                    assertArrayEquals(expected, rs.res);
+
+                    int[] out = new int[nsym + 3];
+                    rs.encode(len, data, out);
+                    int[] actual = new int[nsym];
+                    System.arraycopy(out, 0, actual, 0, nsym);
+                    assertArrayEquals(expected, actual);
+                }
+            }
+        }
+    }
+
+    /** The original implementation, which rebuilt the tables on each call and used modulo arithmetic. */
+    private static int[] reference(int poly, int nsym, int index, int len, int[] data) {
+
+        int m, b, p, v, i, k;
+        for (b = 1, m = 0; b <= poly; b <<= 1) {
+            m++;
+        }
+        b >>= 1;
+        m--;
+        int logmod = (1 << m) - 1;
+        int[] logt = new int[logmod + 1];
+        int[] alog = new int[logmod];
+        for (p = 1, v = 0; v < logmod; v++) {
+            alog[v] = p;
+            logt[p] = v;
+            p <<= 1;
+            if ((p & b) != 0) {
+                p ^= poly;
+            }
+        }
+
+        int[] rspoly = new int[nsym + 1];
+        rspoly[0] = 1;
+        for (i = 1; i <= nsym; i++) {
+            rspoly[i] = 1;
+            for (k = i - 1; k > 0; k--) {
+                if (rspoly[k] != 0) {
+                    rspoly[k] = alog[(logt[rspoly[k]] + index) % logmod];
+                }
+                rspoly[k] ^= rspoly[k - 1];
+            }
+            rspoly[0] = alog[(logt[rspoly[0]] + index) % logmod];
+            index++;
+        }
+
+        int[] res = new int[nsym];
+        for (i = 0; i < len; i++) {
+            m = res[nsym - 1] ^ data[i];
+            for (k = nsym - 1; k > 0; k--) {
+                if ((m != 0) && (rspoly[k] != 0)) {
+                    res[k] = res[k - 1] ^ alog[(logt[m] + logt[rspoly[k]]) % logmod];
+                } else {
+                    res[k] = res[k - 1];
+                }
+            }
+            if ((m != 0) && (rspoly[0] != 0)) {
+                res[0] = alog[(logt[m] + logt[rspoly[0]]) % logmod];
+            } else {
+                res[0] = 0;
+            }
+        }
+        return res;
+    }
+}
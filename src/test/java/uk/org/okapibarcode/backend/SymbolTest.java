@@ -206,7 +206,7 @@ public class SymbolTest {
             }
         } catch (UnsupportedOperationException e) {
             // codewords aren't supported, try to verify patterns
-            String[] actualPatterns = symbol.pattern;
+            String[] actualPatterns = symbol.getPatterns();
             assertEquals(expectedList.size(), actualPatterns.length);
             for (int i = 0; i < actualPatterns.length; i++) {
                 String expected = expectedList.get(i);
@@ -388,7 +388,7 @@ public class SymbolTest {
                     writer.println(codeword);
                 }
             } catch (UnsupportedOperationException e) {
-                for (String pattern : symbol.pattern) {
+                for (String pattern : symbol.getPatterns()) {
                     writer.println(pattern);
                 }
             }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.junit.Test;
+
+import uk.org.okapibarcode.backend.Symbol.DataType;
+
+/**
+ * Tests for {@link Symbol#isValid(String)} and {@link Symbol#validate(java.util.List)}.
+ */
+public class ValidationTest {
+
+    @Test
+    public void testIsValid() {
+        Code3Of9 code39 = new Code3Of9();
+        assertTrue(code39.isValid("ABC-123"));
+        assertFalse(code39.isValid("abc"));
+        assertFalse(code39.isValid(""));
+        assertNull(code39.getContent());
+
+        Ean ean = new Ean();
+        assertTrue(ean.isValid("123456789012+12"));
+        assertFalse(ean.isValid("12345678901A"));
+
+        KixCode kix = new KixCode();
+        assertTrue(kix.isValid("2500gg30250"));
+        assertFalse(kix.isValid("2500-GG"));
+
+        Code128 code128 = new Code128();
+        assertTrue(code128.isValid("anything \u00E9"));
+        assertTrue(code128.isValid("ABC" + Code128.FNC1 + "123" + Code128.FNC4));
+        assertFalse(code128.isValid("anything \u20AC"));
+    }
+
+    @Test
+    public void testIsValidDependsOnMode() {
+        Telepen telepen = new Telepen();
+        assertTrue(telepen.isValid("ABC"));
+        telepen.setMode(Telepen.Mode.NUMERIC);
+        assertFalse(telepen.isValid("ABC"));
+        assertTrue(telepen.isValid("123X"));
+    }
+
+    @Test
+    public void testIsValidDependsOnDataType() {
+        Code3Of9 code39 = new Code3Of9();
+        code39.setDataType(DataType.HIBC);
+        assertTrue(code39.isValid("a123"));
+        assertFalse(code39.isValid("A_123"));
+
+        Code128 code128 = new Code128();
+        code128.setDataType(DataType.GS1);
+        assertTrue(code128.isValid("[01]12345678901231"));
+        assertFalse(code128.isValid("01]12345678901231"));
+
+        DataBarExpanded expanded = new DataBarExpanded();
+        assertTrue(expanded.isValid("[01]12345678901231[4309]AB"));
+        assertFalse(expanded.isValid("[01]12345678901231[4309]A#B"));
+    }
+
+    @Test
+    public void testValidate() {
+        Pharmacode pharmacode = new Pharmacode();
+        BitSet invalid = pharmacode.validate(Arrays.asList("123", "12a", "", "456", "-1"));
+        assertEquals(3, invalid.cardinality());
+        assertTrue(invalid.get(1));
+        assertTrue(invalid.get(2));
+        assertTrue(invalid.get(4));
+    }
+
+    @Test
+    public void testValidCharactersMatchEncoding() {
+        String[] data = { "123", "ABC", "abc", "A1-B2", "A123B", "12+34", "[]12", "\u00E9" };
+        Symbol[] symbols = { new Code3Of9(), new Code11(), new Codabar(), new Code93(), new MsiPlessey(),
+            new UspsPackage(), new RoyalMail4State(), new Code16k() };
+        for (Symbol symbol : symbols) {
+            for (String s : data) {
+                if (!symbol.isValid(s)) {
+                    try {
+                        symbol.setContent(s);
+                        throw new AssertionError(symbol.getClass().getSimpleName() + " encoded invalid data: " + s);
+                    } catch (OkapiException e) {
+                        // expected
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.output;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+import uk.org.okapibarcode.backend.Code93;
+import uk.org.okapibarcode.backend.DataMatrix;
+import uk.org.okapibarcode.backend.HumanReadableLocation;
+import uk.org.okapibarcode.backend.QrCode;
+import uk.org.okapibarcode.backend.Symbol;
+
+/**
+ * Tests for {@link BitmapRenderer}, checking the results against the output of the {@link Java2DRenderer} without
+ * antialiasing.
+ */
+public class BitmapRendererTest {
+
+    @Test
+    public void testQrCode() {
+        QrCode qr = new QrCode();
+        qr.setQuietZoneHorizontal(4);
+        qr.setQuietZoneVertical(4);
+        qr.setContent("https://example.com/1234567890");
+        for (int scale = 1; scale <= 4; scale++) {
+            test(qr, scale);
+        }
+    }
+
+    @Test
+    public void testDataMatrix() {
+        DataMatrix dm = new DataMatrix();
+        dm.setQuietZoneHorizontal(3);
+        dm.setContent("ABCDEFGHIJ0123456789");
+        test(dm, 1);
+        test(dm, 5);
+    }
+
+    @Test
+    public void testCode93() {
+        Code93 code93 = new Code93();
+        code93.setHumanReadableLocation(HumanReadableLocation.NONE);
+        code93.setQuietZoneHorizontal(10);
+        code93.setContent("123456789");
+        test(code93, 1);
+        test(code93, 3);
+    }
+
+    @Test
+    public void testByteArray() {
+        QrCode qr = new QrCode();
+        qr.setContent("ABC");
+        int scale = 3;
+        int width = qr.getWidth() * scale;
+        int height = qr.getHeight() * scale;
+        int stride = (width + 7) / 8;
+        byte[] data = new byte[stride * height];
+        new BitmapRenderer(data, width, height, scale).render(qr);
+        BufferedImage expected = java2d(qr, scale);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean ink = (data[(y * stride) + (x >> 3)] & (0x80 >> (x & 7))) != 0;
+                assertEquals(x + "," + y, expected.getRGB(x, y) == Color.BLACK.getRGB(), ink);
+            }
+        }
+    }
+
+    private static void test(Symbol symbol, int scale) {
+        BufferedImage expected = java2d(symbol, scale);
+        BufferedImage actual = BitmapRenderer.createImage(symbol, scale, Color.WHITE, Color.BLACK);
+        new BitmapRenderer(actual, scale).render(symbol);
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(scale + ": " + x + "," + y, expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    private static BufferedImage java2d(Symbol symbol, int scale) {
+        BufferedImage image = new BufferedImage(symbol.getWidth() * scale, symbol.getHeight() * scale, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+        new Java2DRenderer(g2d, scale, Color.WHITE, Color.BLACK).render(symbol);
+        g2d.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.output;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ExtendedOutputStreamWriter}, checking the number formatting against {@link String#format}.
+ */
+public class ExtendedOutputStreamWriterTest {
+
+    private static final double[] SPECIAL = {
+        0, -0.0, 0.001, -0.001, 0.005, -0.005, 0.125, -0.125, 1.005, 2.675, 0.5, 1.5, 2.5, -2.5, 9.995, 99.999,
+        123456.785, 1e14, 1e15, 1e20, -1e20, Double.MIN_VALUE, Double.MAX_VALUE, Double.NaN,
+        Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+    };
+
+    @Test
+    public void testAppendDouble() throws IOException {
+        Random random = new Random(7);
+        for (int decimals = 0; decimals <= 4; decimals++) {
+            for (double d : SPECIAL) {
+                test(d, decimals);
+            }
+            for (int i = 0; i < 5_000; i++) {
+                test((random.nextDouble() - 0.5) * 2000, decimals);
+                test(random.nextInt(100_000) / 1000d, decimals); // lots of exact ties
+                test(random.nextInt(1000) * 0.005, decimals);
+            }
+        }
+    }
+
+    @Test
+    public void testAppendInt() throws IOException {
+        int[] values = { 0, 1, -1, 9, 10, -10, 12345, Integer.MAX_VALUE, Integer.MIN_VALUE };
+        for (int i : values) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (ExtendedOutputStreamWriter writer = new ExtendedOutputStreamWriter(baos, 2)) {
+                writer.appendInt(i);
+            }
+            assertEquals(String.valueOf(i), new String(baos.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void test(double d, int decimals) throws IOException {
+
+        String expected = String.format(Locale.ROOT, "%." + decimals + "f", d);
+        String expectedTrimmed = expected;
+        if (expected.indexOf('.') != -1) {
+            expectedTrimmed = expectedTrimmed.replaceAll("\\.?0+$", "");
+        }
+        if (expectedTrimmed.equals("-0")) {
+            expectedTrimmed = "0";
+        }
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ExtendedOutputStreamWriter writer = new ExtendedOutputStreamWriter(baos, decimals)) {
+            writer.append(d).append(" ").appendTrimmed(d);
+        }
+        String actual = new String(baos.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals(d + " (" + decimals + ")", expected + " " + expectedTrimmed, actual);
+    }
+}
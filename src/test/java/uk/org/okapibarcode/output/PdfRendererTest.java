@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.output;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.junit.Test;
+
+import uk.org.okapibarcode.backend.Code93;
+import uk.org.okapibarcode.backend.EncodedSymbol;
+import uk.org.okapibarcode.backend.MaxiCode;
+import uk.org.okapibarcode.backend.QrCode;
+import uk.org.okapibarcode.backend.Symbol;
+
+/**
+ * Tests for {@link PdfRenderer}, checking the document structure and the decompressed page content.
+ */
+public class PdfRendererTest {
+
+    @Test
+    public void testCode93() throws Exception {
+        Code93 code93 = new Code93();
+        code93.setContent("(12)\\34");
+        String pdf = render(code93);
+        checkStructure(pdf, 1);
+        List< String > contents = getContents(pdf);
+        assertEquals(1, contents.size());
+        String content = contents.get(0);
+        assertEquals(code93.getRectangles().size() + 1, count(content, " re\n") + count(content, " re f\n"));
+        assertTrue(content, content.contains("Td (\\(12\\)\\\\34"));
+        assertTrue(pdf.contains("/MediaBox [0 0 " + code93.getWidth() + " " + code93.getHeight() + "]"));
+    }
+
+    @Test
+    public void testMaxiCode() throws Exception {
+        MaxiCode maxicode = new MaxiCode();
+        maxicode.setMode(4);
+        maxicode.setContent("123456789");
+        String pdf = render(maxicode);
+        checkStructure(pdf, 1);
+        String content = getContents(pdf).get(0);
+        assertEquals(maxicode.getHexagons().size(), count(content, " h\n"));
+        assertEquals(maxicode.getTarget().size() * 4, count(content, " c\n"));
+    }
+
+    @Test
+    public void testMultiplePages() throws Exception {
+
+        QrCode qr = new QrCode();
+        qr.setContent("ABC");
+        EncodedSymbol symbol = EncodedSymbol.of(qr);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfRenderer renderer = new PdfRenderer(baos, 2, Color.WHITE, Color.BLACK);
+        renderer.addPage(symbol);
+        renderer.beginPage(595, 842);
+        for (int i = 0; i < 10; i++) {
+            renderer.place(symbol, 20 + (i * 50), 700);
+        }
+        renderer.endPage();
+        renderer.addPage(symbol);
+        renderer.finish();
+
+        String pdf = new String(baos.toByteArray(), StandardCharsets.ISO_8859_1);
+        checkStructure(pdf, 3);
+        List< String > contents = getContents(pdf);
+        assertEquals(1, count(contents.get(0), " cm\n"));
+        assertEquals(10, count(contents.get(1), " cm\n"));
+        assertTrue(contents.get(1).contains("q 1 0 0 1 470 700 cm\n"));
+        assertEquals(contents.get(0), contents.get(2));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPlaceWithoutPage() throws IOException {
+        QrCode qr = new QrCode();
+        qr.setContent("ABC");
+        new PdfRenderer(new ByteArrayOutputStream(), 1, Color.WHITE, Color.BLACK).place(EncodedSymbol.of(qr), 0, 0);
+    }
+
+    private static String render(Symbol symbol) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new PdfRenderer(baos, 1, Color.WHITE, Color.BLACK).render(symbol);
+        return new String(baos.toByteArray(), StandardCharsets.ISO_8859_1);
+    }
+
+    /** Checks that the cross-reference table points to the right objects, and that the page count is correct. */
+    private static void checkStructure(String pdf, int pageCount) {
+        assertTrue(pdf.startsWith("%PDF-1.4\n"));
+        assertTrue(pdf.endsWith("%%EOF\n"));
+        int startxref = Integer.parseInt(pdf.substring(pdf.lastIndexOf("startxref\n") + 10, pdf.lastIndexOf("\n%%EOF")));
+        assertTrue(pdf.startsWith("xref\n", startxref));
+        Matcher m = Pattern.compile("(\\d{10}) 00000 n \n").matcher(pdf.substring(startxref));
+        int object = 1;
+        while (m.find()) {
+            int offset = Integer.parseInt(m.group(1));
+            assertTrue("Object " + object, pdf.startsWith(object + " 0 obj\n", offset));
+            object++;
+        }
+        assertTrue(pdf.contains("/Size " + object + " "));
+        assertTrue(pdf.contains("/Type /Pages /Kids [ "));
+        assertTrue(pdf.contains("/Count " + pageCount + " >>"));
+    }
+
+    /** Returns the decompressed content streams, in order. */
+    private static List< String > getContents(String pdf) throws DataFormatException {
+        List< String > contents = new ArrayList<>();
+        Matcher m = Pattern.compile("/Length (\\d+) 0 R /Filter /FlateDecode >>\nstream\n").matcher(pdf);
+        while (m.find()) {
+            int start = m.end();
+            int end = pdf.indexOf("\nendstream", start);
+            byte[] compressed = pdf.substring(start, end).getBytes(StandardCharsets.ISO_8859_1);
+            Matcher length = Pattern.compile("\n" + m.group(1) + " 0 obj\n(\\d+)\nendobj").matcher(pdf);
+            assertTrue(length.find());
+            assertEquals(compressed.length, Integer.parseInt(length.group(1)));
+            Inflater inflater = new Inflater();
+            inflater.setInput(compressed);
+            byte[] buffer = new byte[1024 * 1024];
+            int n = inflater.inflate(buffer);
+            assertTrue(inflater.finished());
+            inflater.end();
+            contents.add(new String(buffer, 0, n, StandardCharsets.ISO_8859_1));
+        }
+        return contents;
+    }
+
+    private static int count(String s, String sub) {
+        int count = 0;
+        for (int i = s.indexOf(sub); i != -1; i = s.indexOf(sub, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.output;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+import uk.org.okapibarcode.backend.AztecCode;
+import uk.org.okapibarcode.backend.Code128;
+import uk.org.okapibarcode.backend.CodeOne;
+import uk.org.okapibarcode.backend.DataMatrix;
+import uk.org.okapibarcode.backend.GridMatrix;
+import uk.org.okapibarcode.backend.HumanReadableLocation;
+import uk.org.okapibarcode.backend.MaxiCode;
+import uk.org.okapibarcode.backend.Pdf417;
+import uk.org.okapibarcode.backend.QrCode;
+import uk.org.okapibarcode.backend.Symbol;
+
+/**
+ * Tests for {@link PngRenderer}, checking that the PNG images it creates can be read by {@link ImageIO}, and that they
+ * match the output of the {@link BitmapRenderer}.
+ */
+public class PngRendererTest {
+
+    @Test
+    public void testQrCode() throws IOException {
+        QrCode qr = new QrCode();
+        qr.setQuietZoneHorizontal(4);
+        qr.setQuietZoneVertical(4);
+        qr.setPreferredVersion(40);
+        qr.setContent("https://example.com/1234567890");
+        test(qr, 1, Color.WHITE, Color.BLACK);
+        test(qr, 6, Color.WHITE, Color.BLACK);
+    }
+
+    @Test
+    public void testMatrixVariants() throws IOException {
+        QrCode qr = new QrCode();
+        qr.setModuleWidth(3);
+        qr.setQuietZoneHorizontal(5);
+        qr.setContent("module width");
+        test(qr, 2, Color.WHITE, Color.BLACK);
+        qr.setModuleWidth(1);
+        qr.setHumanReadableLocation(HumanReadableLocation.TOP);
+        qr.setContent("space above");
+        test(qr, 1, Color.WHITE, Color.BLACK);
+        AztecCode aztec = new AztecCode();
+        aztec.setQuietZoneVertical(3);
+        aztec.setContent("Aztec 1234567890");
+        test(aztec, 3, Color.WHITE, Color.BLACK);
+        CodeOne codeOne = new CodeOne();
+        codeOne.setContent("Code One 1234567890");
+        test(codeOne, 2, Color.WHITE, Color.BLACK);
+        GridMatrix gridMatrix = new GridMatrix();
+        gridMatrix.setContent("Grid Matrix 1234567890");
+        test(gridMatrix, 2, Color.WHITE, Color.BLACK);
+    }
+
+    @Test
+    public void testCode128() throws IOException {
+        Code128 code128 = new Code128();
+        code128.setContent("ABC123");
+        test(code128, 2, Color.YELLOW, Color.BLUE);
+    }
+
+    @Test
+    public void testCode128WithoutText() throws IOException {
+        Code128 code128 = new Code128();
+        code128.setHumanReadableLocation(HumanReadableLocation.NONE);
+        code128.setQuietZoneHorizontal(7);
+        code128.setQuietZoneVertical(3);
+        code128.setContent("ABC123");
+        test(code128, 1, Color.WHITE, Color.BLACK);
+        test(code128, 3, Color.WHITE, Color.BLACK);
+    }
+
+    @Test
+    public void testPdf417() throws IOException {
+        Pdf417 pdf417 = new Pdf417();
+        pdf417.setQuietZoneVertical(2);
+        pdf417.setContent("PDF417 data 1234567890 abcdefghijklmnopqrstuvwxyz");
+        test(pdf417, 1, Color.WHITE, Color.BLACK);
+        test(pdf417, 5, Color.WHITE, Color.BLACK);
+    }
+
+    @Test
+    public void testDataMatrix() throws IOException {
+        DataMatrix dataMatrix = new DataMatrix();
+        dataMatrix.setQuietZoneHorizontal(1);
+        dataMatrix.setQuietZoneVertical(1);
+        dataMatrix.setContent("Data Matrix 1234567890");
+        test(dataMatrix, 1, Color.WHITE, Color.BLACK);
+        test(dataMatrix, 7, Color.WHITE, Color.BLACK);
+    }
+
+    @Test
+    public void testMaxiCode() throws IOException {
+        MaxiCode maxiCode = new MaxiCode();
+        maxiCode.setMode(4);
+        maxiCode.setContent("123456789");
+        test(maxiCode, 2, Color.WHITE, Color.BLACK);
+    }
+
+    private static void test(Symbol symbol, int scale, Color paper, Color ink) throws IOException {
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new PngRenderer(baos, scale, paper, ink).render(symbol);
+        BufferedImage actual = ImageIO.read(new ByteArrayInputStream(baos.toByteArray()));
+
+        BufferedImage expected = BitmapRenderer.createImage(symbol, scale, paper, ink);
+        new BitmapRenderer(expected, scale).render(symbol);
+
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(x + "," + y, expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.output;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import uk.org.okapibarcode.backend.Code128;
+import uk.org.okapibarcode.backend.MaxiCode;
+import uk.org.okapibarcode.backend.QrCode;
+import uk.org.okapibarcode.backend.Symbol;
+
+/**
+ * Tests for {@link SheetRenderer}.
+ */
+public class SheetRendererTest {
+
+    /** US Letter page, with 3 columns and 4 rows of labels. */
+    private static final SheetLayout LAYOUT = new SheetLayout(612, 792, 36, 36, 180, 180);
+
+    @Test
+    public void testLayout() {
+        assertEquals(3, LAYOUT.getColumns());
+        assertEquals(4, LAYOUT.getRows());
+        assertEquals(12, LAYOUT.getCellsPerPage());
+        assertEquals(36, LAYOUT.getCellX(0), 0);
+        assertEquals(216, LAYOUT.getCellX(1), 0);
+        assertEquals(36, LAYOUT.getCellX(3), 0);
+        assertEquals(216, LAYOUT.getCellY(3), 0);
+        assertEquals(576, LAYOUT.getCellY(11), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLayoutTooSmall() {
+        new SheetLayout(100, 100, 10, 10, 90, 90);
+    }
+
+    @Test
+    public void testSvg() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        SheetRenderer renderer = new SheetRenderer(baos, SheetRenderer.Format.SVG, LAYOUT, 2, Color.WHITE, Color.BLACK);
+        assertEquals(3, renderer.render(oneShot(createSymbols(25)), 25));
+        String svg = new String(baos.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(svg.contains("<svg width=\"612\" height=\"2376\""));
+        assertEquals(1, count(svg, "<?xml"));
+        assertEquals(3, count(svg, "<g id=\"page"));
+        assertTrue(svg.contains("<g id=\"page3\" transform=\"translate(0 1584)\">"));
+        assertEquals(25, count(svg, "<g transform=\"translate("));
+        assertEquals(1, count(svg, "<defs>"));
+        assertEquals(3 + 25, count(svg, "</g>"));
+        assertTrue(svg.endsWith("</svg>\n"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSvgWithoutCount() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        SheetRenderer renderer = new SheetRenderer(baos, SheetRenderer.Format.SVG, LAYOUT, 2, Color.WHITE, Color.BLACK);
+        renderer.render(oneShot(createSymbols(2)));
+    }
+
+    @Test
+    public void testPostScriptFonts() throws IOException {
+        List< Symbol > symbols = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            Code128 code128 = new Code128();
+            code128.setFontSize(i < 13 ? 8 : 10);
+            code128.setContent("Label " + i);
+            symbols.add(code128);
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        SheetRenderer renderer = new SheetRenderer(baos, SheetRenderer.Format.POSTSCRIPT, LAYOUT, 1, Color.WHITE, Color.BLACK);
+        assertEquals(2, renderer.render(oneShot(symbols)));
+        String ps = new String(baos.toByteArray(), StandardCharsets.UTF_8);
+        // once on the first page, and on the second page once for each of the two font sizes
+        assertEquals(3, count(ps, " findfont\n"));
+        assertEquals(14, count(ps, ") show\n"));
+    }
+
+    @Test
+    public void testPostScript() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        SheetRenderer renderer = new SheetRenderer(baos, SheetRenderer.Format.POSTSCRIPT, LAYOUT, 2, Color.WHITE, Color.BLACK);
+        assertEquals(3, renderer.render(createSymbols(25)));
+        String ps = new String(baos.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(ps.startsWith("%!PS-Adobe-3.0\n"));
+        assertEquals(1, count(ps, "/TR {"));
+        assertEquals(3, count(ps, "%%Page: "));
+        assertEquals(3, count(ps, "showpage"));
+        assertEquals(25, count(ps, " translate mark\n"));
+        assertEquals(25, count(ps, "cleartomark grestore\n"));
+        assertTrue(ps.endsWith("%%Trailer\n%%Pages: 3\n%%EOF\n"));
+    }
+
+    @Test
+    public void testPdf() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        SheetRenderer renderer = new SheetRenderer(baos, SheetRenderer.Format.PDF, LAYOUT, 2, Color.WHITE, Color.BLACK);
+        assertEquals(2, renderer.render(createSymbols(24)));
+        String pdf = new String(baos.toByteArray(), StandardCharsets.ISO_8859_1);
+        assertEquals(1, count(pdf, "%PDF-"));
+        assertEquals(2, count(pdf, "/MediaBox [0 0 612 792]"));
+        assertTrue(pdf.contains("/Count 2 >>"));
+        assertTrue(pdf.endsWith("%%EOF\n"));
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        SheetRenderer renderer = new SheetRenderer(baos, SheetRenderer.Format.PDF, LAYOUT, 1, Color.WHITE, Color.BLACK);
+        assertEquals(0, renderer.render(new ArrayList< Symbol >()));
+        String pdf = new String(baos.toByteArray(), StandardCharsets.ISO_8859_1);
+        assertTrue(pdf.contains("/Count 0 >>"));
+    }
+
+    /** Returns an iterable which can only be iterated over once, like a stream of symbols read from a file. */
+    private static Iterable< Symbol > oneShot(List< Symbol > symbols) {
+        final Iterator< Symbol > iterator = symbols.iterator();
+        return new Iterable< Symbol >() {
+            private boolean used;
+            @Override
+            public Iterator< Symbol > iterator() {
+                assertFalse(used);
+                used = true;
+                return iterator;
+            }
+        };
+    }
+
+    /** Creates the specified number of symbols: mostly QR Code symbols, plus a few MaxiCode symbols. */
+    private static List< Symbol > createSymbols(int count) {
+        List< Symbol > symbols = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i % 10 == 5) {
+                MaxiCode maxicode = new MaxiCode();
+                maxicode.setMode(4);
+                maxicode.setContent("Label " + i);
+                symbols.add(maxicode);
+            } else {
+                QrCode qr = new QrCode();
+                qr.setContent("Label " + i);
+                symbols.add(qr);
+            }
+        }
+        return symbols;
+    }
+
+    private static int count(String s, String sub) {
+        int count = 0;
+        for (int i = s.indexOf(sub); i != -1; i = s.indexOf(sub, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -124,13 +124,33 @@ public class SvgRendererTest {
         test(maxicode, 1, Color.WHITE, Color.BLACK, 5, "maxicode-nasty-chars.svg");
     }
 
+    @Test
+    public void testCode93Compact() throws IOException {
+        Code93 code93 = new Code93();
+        code93.setContent("123456789");
+        test(code93, 1.5, Color.WHITE, Color.BLACK, 5, true, "code93-compact.svg");
+    }
+
+    @Test
+    public void testMaxiCodeCompact() throws IOException {
+        MaxiCode maxicode = new MaxiCode();
+        maxicode.setMode(4);
+        maxicode.setContent("123456789");
+        test(maxicode, 1, Color.WHITE, Color.BLACK, 5, true, "maxicode-compact.svg");
+    }
+
     private void test(Symbol symbol, double magnification, Color paper, Color ink, int margin, String expectationFile) throws IOException {
+        test(symbol, magnification, paper, ink, margin, false, expectationFile);
+    }
+
+    private void test(Symbol symbol, double magnification, Color paper, Color ink, int margin, boolean compact,
+                    String expectationFile) throws IOException {
 
         symbol.setQuietZoneHorizontal(margin);
         symbol.setQuietZoneVertical(margin);
 
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        SvgRenderer renderer = new SvgRenderer(baos, magnification, paper, ink);
+        SvgRenderer renderer = new SvgRenderer(baos, magnification, paper, ink, compact);
         renderer.render(symbol);
         String actual = new String(baos.toByteArray(), StandardCharsets.UTF_8);
         BufferedReader actualReader = new BufferedReader(new StringReader(actual));
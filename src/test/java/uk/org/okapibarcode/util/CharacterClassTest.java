@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static uk.org.okapibarcode.util.CharacterClass.ASCII;
+import static uk.org.okapibarcode.util.CharacterClass.DIGITS;
+import static uk.org.okapibarcode.util.CharacterClass.LATIN_1;
+import static uk.org.okapibarcode.util.CharacterClass.LOWER_CASE;
+import static uk.org.okapibarcode.util.CharacterClass.UPPER_CASE;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link CharacterClass}, checking each character class against the equivalent regular expression.
+ */
+public class CharacterClassTest {
+
+    @Test
+    public void testMatchesRegularExpressions() {
+        assertEquivalent("[0-9]+", DIGITS);
+        assertEquivalent("[A-Z]+", UPPER_CASE);
+        assertEquivalent("[a-z]+", LOWER_CASE);
+        assertEquivalent("[\u0000-\u007F]+", ASCII);
+        assertEquivalent("[\u0000-\u00FF]+", LATIN_1);
+        assertEquivalent("[0-9X]+", DIGITS.with("X"));
+        assertEquivalent("[0-9A-Za-z #]+", DIGITS.with(UPPER_CASE).with(LOWER_CASE).with(" #"));
+        assertEquivalent("[0-9A-Z\\. \\-$/+%]+", DIGITS.with(UPPER_CASE).with("-. $/+%"));
+        assertEquivalent("[0-9\\[\\]]+", DIGITS.with("[]"));
+    }
+
+    @Test
+    public void testMatches() {
+        assertTrue(DIGITS.matches("0123456789"));
+        assertFalse(DIGITS.matches(""));
+        assertFalse(DIGITS.matches("123A"));
+        assertFalse(LATIN_1.matches("abc\u0100"));
+        assertTrue(LATIN_1.matches("abc\u00FF"));
+        assertTrue(LATIN_1.with("\u017F").matches("abc\u017F"));
+        assertFalse(LATIN_1.with("\u017F").matches("abc\u0180"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutOfRange() {
+        CharacterClass.of("\u0180");
+    }
+
+    private static void assertEquivalent(String regex, CharacterClass characterClass) {
+        for (char c = 0; c < 0x200; c++) {
+            String s = "0" + c;
+            assertEquals(regex + ": " + (int) c, s.matches(regex), characterClass.matches(s));
+            s = String.valueOf(c);
+            assertEquals(regex + ": " + (int) c, s.matches(regex), characterClass.matches(s));
+        }
+        assertFalse(characterClass.matches(""));
+    }
+}
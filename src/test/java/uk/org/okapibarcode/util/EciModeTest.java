@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Okapi Barcode contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.org.okapibarcode.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link EciMode}.
+ */
+public class EciModeTest {
+
+    @Test
+    public void testOf() {
+        assertEciMode("ABC 123", 3, "ISO-8859-1");
+        assertEciMode("caf\u00E9 \u00FF", 3, "ISO-8859-1");
+        assertEciMode("\u0141\u00F3d\u017A", 4, "ISO-8859-2");
+        assertEciMode("\u0416\u0449", 7, "ISO-8859-5");
+        assertEciMode("\u03B1\u03B2\u03A9", 9, "ISO-8859-7");
+        assertEciMode("\u0152uvre", 17, "ISO-8859-15");
+        assertEciMode("\u65E5\u672C\u8A9E", 20, "Shift_JIS");
+        assertEciMode("\u4E2D\u6587 \u0E01", 26, "UTF-8");
+    }
+
+    @Test
+    public void testNone() {
+        assertSame(EciMode.NONE, EciMode.of("abc\uD800"));
+        assertEquals(0, EciMode.NONE.getBytes().length);
+    }
+
+    @Test
+    public void testBytesCannotBeModified() {
+        EciMode eci = EciMode.of("ABC");
+        eci.getBytes()[0] = 'X';
+        assertArrayEquals(new byte[] { 'A', 'B', 'C' }, eci.getBytes());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedChain() {
+        EciMode eci = EciMode.of("\u0416", "ISO8859_1", 3).or("\u0416", "ISO8859_5", 7).or("\u0416", "UTF8", 26);
+        assertEquals(7, eci.mode);
+        assertArrayEquals("\u0416".getBytes(Charset.forName("ISO-8859-5")), eci.getBytes());
+        assertSame(EciMode.NONE, EciMode.of("\u0416", "NoSuchCharset", 99));
+    }
+
+    private static void assertEciMode(String data, int mode, String charsetName) {
+        EciMode eci = EciMode.of(data);
+        Charset charset = Charset.forName(charsetName);
+        assertEquals(mode, eci.mode);
+        assertEquals(charset, eci.charset);
+        assertArrayEquals(data.getBytes(charset), eci.getBytes());
+    }
+}